@@ -0,0 +1,48 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+/**
+ * The pending result of an operation run asynchronously on behalf of a Session, such as
+ * {@link Query#listAsync}.  Until the operation completes, the Session may not be used by any other thread.
+ * <p/>
+ * Cancelling never interrupts an operation which already started: {@link #cancel} only prevents an operation
+ * from starting, and an operation already running keeps the Session until it finishes.
+ *
+ * @param <T> The type of the result
+ */
+public interface AsyncResult<T> extends Future<T> {
+	/**
+	 * Register a listener to be run, through the given executor, once the operation has completed
+	 * (normally, exceptionally or by cancellation), and the Session is available again.  A listener
+	 * registered after completion is run immediately.
+	 *
+	 * @param listener The listener
+	 * @param executor The executor running the listener
+	 */
+	public void addListener(Runnable listener, Executor executor);
+}
@@ -23,6 +23,9 @@
  */
 package org.hibernate;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Loads an entity by its natural identifier.
  * 
@@ -90,4 +93,18 @@ public interface NaturalIdLoadAccess {
 	 */
 	public Object load();
 
+	/**
+	 * Return the persistent instances with the given natural ids, in the order they were given; {@code null} is
+	 * returned in place of non-existing instances.  Each map holds the natural-id attribute values of one instance,
+	 * keyed by attribute name as for {@link #using}.
+	 * <p/>
+	 * Natural ids already resolved by this session or the second-level cache are not queried; the others are
+	 * resolved together with as few queries as possible.  Attribute values defined by {@link #using} are ignored.
+	 *
+	 * @param naturalIds The natural id values of each instance
+	 *
+	 * @return The persistent instances, or {@code null} for the non-existing ones
+	 */
+	public List multiLoad(List<Map<String, Object>> naturalIds);
+
 }
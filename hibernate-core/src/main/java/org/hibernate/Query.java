@@ -33,6 +33,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.Type;
@@ -292,6 +293,26 @@ public interface Query extends BasicQueryContract {
 	 */
 	public Object uniqueResult();
 
+	/**
+	 * Asynchronous variant of {@link #list()}, executing the query through the given executor.  The session of
+	 * this query may not be used by any other thread until the returned result has completed.
+	 *
+	 * @param executor The executor executing the query
+	 *
+	 * @return The pending result list
+	 */
+	public AsyncResult<List> listAsync(Executor executor);
+
+	/**
+	 * Asynchronous variant of {@link #uniqueResult()}, executing the query through the given executor.  The
+	 * session of this query may not be used by any other thread until the returned result has completed.
+	 *
+	 * @param executor The executor executing the query
+	 *
+	 * @return The pending single result or <tt>null</tt>
+	 */
+	public AsyncResult<Object> uniqueResultAsync(Executor executor);
+
 	/**
 	 * Execute the update or delete statement.
 	 *
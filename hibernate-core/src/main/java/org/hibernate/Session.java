@@ -25,6 +25,8 @@ package org.hibernate;
 
 import java.io.Serializable;
 import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.jdbc.Work;
@@ -589,6 +591,19 @@ public interface Session extends SharedSessionContract {
 	 */
 	public LockRequest buildLockRequest(LockOptions lockOptions);
 
+	/**
+	 * Initialize all the uninitialized collections of the given role associated with this session, loading them
+	 * together in a single query (or as few queries as the limit the dialect puts on IN-lists allows), rather than
+	 * one by one or in batches of the mapped batch size.
+	 * <p/>
+	 * Collections which can be initialized from the second-level cache are left uninitialized.
+	 *
+	 * @param role The collection role: the owning entity name and the collection property name, separated by a dot
+	 *
+	 * @throws org.hibernate.MappingException If the role is unknown
+	 */
+	public void initializeCollections(String role);
+
 	/**
 	 * Re-read the state of the given instance from the underlying database. It is
 	 * inadvisable to use this to implement long-running sessions that span many
@@ -740,6 +755,46 @@ public interface Session extends SharedSessionContract {
 	 */
 	public Object get(String entityName, Serializable id);
 
+	/**
+	 * Asynchronous variant of {@link #get(Class, Serializable)}, loading the instance through the given executor.
+	 * This session may not be used by any other thread until the returned result has completed.
+	 *
+	 * @param clazz a persistent class
+	 * @param id an identifier
+	 * @param executor The executor performing the load
+	 *
+	 * @return The pending persistent instance or null
+	 */
+	public AsyncResult<Object> getAsync(Class clazz, Serializable id, Executor executor);
+
+	/**
+	 * Asynchronous variant of {@link #get(String, Serializable)}, loading the instance through the given executor.
+	 * This session may not be used by any other thread until the returned result has completed.
+	 *
+	 * @param entityName the entity name
+	 * @param id an identifier
+	 * @param executor The executor performing the load
+	 *
+	 * @return The pending persistent instance or null
+	 */
+	public AsyncResult<Object> getAsync(String entityName, Serializable id, Executor executor);
+
+	/**
+	 * Execute the given read-only HQL queries, all created by this session, concurrently through the given executor.
+	 * Each query is executed through a session, and so a JDBC connection, of its own; it therefore only sees
+	 * committed data, and none of the changes pending in this session.
+	 * <p/>
+	 * The entities returned are associated with this session as if returned by {@link Query#list()}: an instance
+	 * already associated with this session (possibly through one of the other queries) is returned in place of the
+	 * one just loaded.
+	 *
+	 * @param executor The executor executing the queries
+	 * @param queries The queries to execute
+	 *
+	 * @return The results of each of the queries, in the order of the queries
+	 */
+	public List<List> parallel(Executor executor, Query... queries);
+
 	/**
 	 * Return the persistent instance of the given entity class with the given identifier,
 	 * or null if there is no such persistent instance. (If the instance is already associated
@@ -804,6 +859,30 @@ public interface Session extends SharedSessionContract {
 	 */
 	public IdentifierLoadAccess byId(Class entityClass);
 
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} instance to retrieve multiple entities of the specified type
+	 * by primary key at once.
+	 *
+	 * @param entityName The entity name of the entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by primary keys
+	 *
+	 * @throws HibernateException If the specified entity name cannot be resolved as an entity name
+	 */
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName);
+
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} instance to retrieve multiple entities of the specified type
+	 * by primary key at once.
+	 *
+	 * @param entityClass The entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by primary keys
+	 *
+	 * @throws HibernateException If the specified Class cannot be resolved as a mapped entity
+	 */
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass);
+
 	/**
 	 * Create an {@link NaturalIdLoadAccess} instance to retrieve the specified entity by
 	 * its natural id.
@@ -23,6 +23,8 @@
  */
 package org.hibernate;
 
+import java.util.List;
+
 /**
  * Loads an entity by its natural identifier.
  * 
@@ -80,4 +82,17 @@ public interface SimpleNaturalIdLoadAccess {
 	 */
 	public Object load(Object naturalIdValue);
 
+	/**
+	 * Return the persistent instances with the given natural id values, in the order they were given;
+	 * {@code null} is returned in place of non-existing instances.
+	 * <p/>
+	 * Natural ids already resolved by this session or the second-level cache are not queried; the others are
+	 * resolved together with as few queries as possible.
+	 *
+	 * @param naturalIdValues The value of the natural id of each instance
+	 *
+	 * @return The persistent instances, or {@code null} for the non-existing ones
+	 */
+	public List multiLoad(List<?> naturalIdValues);
+
 }
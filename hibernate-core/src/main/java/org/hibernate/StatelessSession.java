@@ -171,6 +171,41 @@ public interface StatelessSession extends SharedSessionContract {
 	 */
 	public void refresh(String entityName, Object entity, LockMode lockMode);
 
+	/**
+	 * Execute the insert, update and delete statements this session has queued for JDBC batching.
+	 * <p/>
+	 * When {@code hibernate.jdbc.batch_size} is set, consecutive operations sharing the same SQL are
+	 * grouped in a JDBC batch rather than executed one by one.  Such a batch is executed automatically
+	 * when a statement with different SQL is issued, before queries and loads, at transaction completion
+	 * and when the session is closed; this method executes it on demand, for example to surface
+	 * constraint violations at a known point.
+	 */
+	public void flushBatch();
+
+	/**
+	 * Should {@link ScrollableResults} subsequently obtained from this session recycle their entity
+	 * instances?
+	 * <p/>
+	 * When enabled, each row read through the scrollable results is hydrated into the instances used for
+	 * the previous row (one per entity name and position within the row) rather than into newly
+	 * instantiated ones.  This suits streaming reads which process each row and then discard it; an
+	 * instance obtained from one row is overwritten as soon as the results advance, so it must never be
+	 * retained or compared across rows.
+	 *
+	 * @param recycle {@code true} to recycle entity instances; {@code false}, the default, to instantiate
+	 * them for every row
+	 */
+	public void setRecycleScrolledEntities(boolean recycle);
+
+	/**
+	 * Do {@link ScrollableResults} obtained from this session recycle their entity instances?
+	 *
+	 * @return {@code true} if entity instances are recycled from row to row
+	 *
+	 * @see #setRecycleScrolledEntities
+	 */
+	public boolean isRecycleScrolledEntities();
+
 	/**
 	 * Returns the current JDBC connection associated with this
 	 * instance.<br>
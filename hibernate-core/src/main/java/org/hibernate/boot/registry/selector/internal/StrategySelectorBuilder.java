@@ -97,6 +97,8 @@ import org.hibernate.event.internal.EntityCopyAllowedLoggedObserver;
 import org.hibernate.event.internal.EntityCopyAllowedObserver;
 import org.hibernate.event.internal.EntityCopyNotAllowedObserver;
 import org.hibernate.event.spi.EntityCopyObserver;
+import org.hibernate.hql.spi.ChunkedPersistentTableBulkIdStrategy;
+import org.hibernate.hql.spi.InlineIdsBulkIdStrategy;
 import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.hql.spi.PersistentTableBulkIdStrategy;
 import org.hibernate.hql.spi.TemporaryTableBulkIdStrategy;
@@ -376,6 +378,16 @@ public class StrategySelectorBuilder {
 				TemporaryTableBulkIdStrategy.SHORT_NAME,
 				TemporaryTableBulkIdStrategy.class
 		);
+		strategySelector.registerStrategyImplementor(
+				MultiTableBulkIdStrategy.class,
+				ChunkedPersistentTableBulkIdStrategy.SHORT_NAME,
+				ChunkedPersistentTableBulkIdStrategy.class
+		);
+		strategySelector.registerStrategyImplementor(
+				MultiTableBulkIdStrategy.class,
+				InlineIdsBulkIdStrategy.SHORT_NAME,
+				InlineIdsBulkIdStrategy.class
+		);
 	}
 
 	private void addEntityCopyObserverStrategies(StrategySelectorImpl strategySelector) {
@@ -0,0 +1,229 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.enhance.spi;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.LazyInitializationException;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * A {@link PersistentAttributeInterceptor} resolving the lazy to-one associations of an enhanced entity on the
+ * first read of the attribute, instead of through a proxy.
+ * <p/>
+ * Until it is read (or written), an unfetched association holds {@code null} and its slot in the loaded state of
+ * the entity holds {@link org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer#UNFETCHED_PROPERTY};
+ * the association is then loaded through the session, which batch-fetches it along with the other references
+ * waiting in the batch fetch queue.
+ */
+public class LazyToOneAttributeInterceptor implements PersistentAttributeInterceptor, Serializable {
+	private transient SessionImplementor session;
+	private final Map<String, UnfetchedReference> unfetchedReferences = new HashMap<String, UnfetchedReference>();
+
+	public LazyToOneAttributeInterceptor(SessionImplementor session) {
+		this.session = session;
+	}
+
+	/**
+	 * Extract the interceptor of the given entity, if it has any unfetched to-one association.
+	 *
+	 * @param entity The entity
+	 *
+	 * @return The interceptor, or {@code null} if all the to-one associations of the entity are fetched
+	 */
+	public static LazyToOneAttributeInterceptor extractUnfetched(Object entity) {
+		if ( !( entity instanceof PersistentAttributeInterceptable ) ) {
+			return null;
+		}
+		final PersistentAttributeInterceptor interceptor = ( (PersistentAttributeInterceptable) entity ).$$_hibernate_getInterceptor();
+		if ( interceptor instanceof LazyToOneAttributeInterceptor
+				&& ( (LazyToOneAttributeInterceptor) interceptor ).hasUnfetchedReferences() ) {
+			return (LazyToOneAttributeInterceptor) interceptor;
+		}
+		return null;
+	}
+
+	/**
+	 * Record a to-one association left unfetched.
+	 *
+	 * @param attributeName The name of the association attribute
+	 * @param propertyIndex The index of the attribute in the state of the owning entity
+	 * @param entityKey The key of the associated entity
+	 */
+	public void addUnfetchedReference(String attributeName, int propertyIndex, EntityKey entityKey) {
+		unfetchedReferences.put( attributeName, new UnfetchedReference( propertyIndex, entityKey ) );
+	}
+
+	public boolean isUnfetched(String attributeName) {
+		return unfetchedReferences.containsKey( attributeName );
+	}
+
+	public boolean hasUnfetchedReferences() {
+		return !unfetchedReferences.isEmpty();
+	}
+
+	public void setSession(SessionImplementor session) {
+		this.session = session;
+	}
+
+	private Object fetch(Object target, String attributeName, UnfetchedReference reference) {
+		if ( session == null ) {
+			throw new LazyInitializationException( "entity with lazy to-one association is not associated with a session" );
+		}
+		else if ( !session.isOpen() || !session.isConnected() ) {
+			throw new LazyInitializationException( "session is not connected" );
+		}
+
+		final Object value = session.internalLoad(
+				reference.entityKey.getEntityName(),
+				reference.entityKey.getIdentifier(),
+				true,
+				false
+		);
+		unfetchedReferences.remove( attributeName );
+
+		final EntityEntry entry = session.getPersistenceContext().getEntry( target );
+		if ( entry != null && entry.getLoadedState() != null ) {
+			entry.getLoadedState()[ reference.propertyIndex ] = value;
+		}
+		return value;
+	}
+
+	@Override
+	public Object readObject(Object obj, String name, Object oldValue) {
+		final UnfetchedReference reference = unfetchedReferences.get( name );
+		return reference == null ? oldValue : fetch( obj, name, reference );
+	}
+
+	@Override
+	public Object writeObject(Object obj, String name, Object oldValue, Object newValue) {
+		final UnfetchedReference reference = unfetchedReferences.get( name );
+		if ( reference != null ) {
+			// the loaded state must know the value being replaced
+			fetch( obj, name, reference );
+		}
+		return newValue;
+	}
+
+	@Override
+	public boolean readBoolean(Object obj, String name, boolean oldValue) {
+		return oldValue;
+	}
+
+	@Override
+	public boolean writeBoolean(Object obj, String name, boolean oldValue, boolean newValue) {
+		return newValue;
+	}
+
+	@Override
+	public byte readByte(Object obj, String name, byte oldValue) {
+		return oldValue;
+	}
+
+	@Override
+	public byte writeByte(Object obj, String name, byte oldValue, byte newValue) {
+		return newValue;
+	}
+
+	@Override
+	public char readChar(Object obj, String name, char oldValue) {
+		return oldValue;
+	}
+
+	@Override
+	public char writeChar(Object obj, String name, char oldValue, char newValue) {
+		return newValue;
+	}
+
+	@Override
+	public short readShort(Object obj, String name, short oldValue) {
+		return oldValue;
+	}
+
+	@Override
+	public short writeShort(Object obj, String name, short oldValue, short newValue) {
+		return newValue;
+	}
+
+	@Override
+	public int readInt(Object obj, String name, int oldValue) {
+		return oldValue;
+	}
+
+	@Override
+	public int writeInt(Object obj, String name, int oldValue, int newValue) {
+		return newValue;
+	}
+
+	@Override
+	public float readFloat(Object obj, String name, float oldValue) {
+		return oldValue;
+	}
+
+	@Override
+	public float writeFloat(Object obj, String name, float oldValue, float newValue) {
+		return newValue;
+	}
+
+	@Override
+	public double readDouble(Object obj, String name, double oldValue) {
+		return oldValue;
+	}
+
+	@Override
+	public double writeDouble(Object obj, String name, double oldValue, double newValue) {
+		return newValue;
+	}
+
+	@Override
+	public long readLong(Object obj, String name, long oldValue) {
+		return oldValue;
+	}
+
+	@Override
+	public long writeLong(Object obj, String name, long oldValue, long newValue) {
+		return newValue;
+	}
+
+	@Override
+	public String toString() {
+		return "LazyToOneAttributeInterceptor(unfetched=" + unfetchedReferences.keySet() + ')';
+	}
+
+	private static final class UnfetchedReference implements Serializable {
+		private final int propertyIndex;
+		private final EntityKey entityKey;
+
+		private UnfetchedReference(int propertyIndex, EntityKey entityKey) {
+			this.propertyIndex = propertyIndex;
+			this.entityKey = entityKey;
+		}
+	}
+}
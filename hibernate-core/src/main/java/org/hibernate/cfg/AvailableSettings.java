@@ -351,7 +351,8 @@ public interface AvailableSettings {
 	String USE_IDENTIFIER_ROLLBACK = "hibernate.use_identifier_rollback";
 
 	/**
-	 * Use bytecode libraries optimized property access
+	 * Use bytecode libraries optimized property access.  Enabled by default; set to {@code false} to
+	 * use plain reflection, which can be useful when troubleshooting.
 	 */
 	String USE_REFLECTION_OPTIMIZER = "hibernate.bytecode.use_reflection_optimizer";
 
@@ -490,6 +491,37 @@ public interface AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
 
+	/**
+	 * Path of a file in which {@link org.hibernate.engine.query.spi.QueryPlanCache} records the HQL queries it
+	 * compiles, each appended as soon as it is compiled.  If the file exists when a SessionFactory is built, the
+	 * queries it lists, along with all named HQL queries, are compiled into the query plan cache before the
+	 * SessionFactory is returned.  Not set by default.
+	 * <p/>
+	 * The query strings are stored as plain text.  Queries holding inline string or numeric literals are not
+	 * recorded, but the file still reveals the structure of the queries the application runs, and should be
+	 * protected accordingly.
+	 *
+	 * @since 5.0
+	 */
+	String QUERY_PLAN_CACHE_MANIFEST = "hibernate.query.plan_cache_manifest";
+
+	/**
+	 * The number of threads compiling query plans when warming up the query plan cache from the
+	 * {@link #QUERY_PLAN_CACHE_MANIFEST}.  Default is the number of available processors.
+	 *
+	 * @since 5.0
+	 */
+	String QUERY_PLAN_CACHE_WARM_UP_THREADS = "hibernate.query.plan_cache_warm_up_threads";
+
+	/**
+	 * Should the loaders built for {@link org.hibernate.Criteria} queries be cached in the query plan cache, keyed
+	 * by the structure of the criteria (its restrictions, projection, orderings, joins, fetch modes and aliases, but
+	 * not its values)?  Criteria of the same structure then skip SQL generation.  Default is {@code false}.
+	 *
+	 * @since 5.0
+	 */
+	String QUERY_PLAN_CACHE_CRITERIA_ENABLED = "hibernate.query.plan_cache_criteria_enabled";
+
 	/**
 	 * Should we not use contextual LOB creation (aka based on {@link java.sql.Connection#createBlob()} et al).
 	 */
@@ -678,6 +710,76 @@ public interface AvailableSettings {
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * Should (unsorted) {@link java.util.Set}, {@link java.util.List} and bag collections with immutable elements track the
+	 * elements added and removed since they were loaded (or last flushed), rather than keeping a full copy of
+	 * their state for dirty checking?  The flush-time diff is then proportional to the number of changes rather
+	 * than to the size of the collection.
+	 * <p/>
+	 * Integrations reading the collection snapshot directly (Envers, e.g.) expect the full snapshot, and should
+	 * not be combined with this setting.  Default is {@code false}.
+	 *
+	 * @since 5.0
+	 */
+	String USE_COLLECTION_OPERATION_LOG = "hibernate.collection.use_operation_log";
+
+	/**
+	 * When greater than zero, iterating an uninitialized extra-lazy (unsorted and unordered) {@link java.util.Set} or
+	 * bag reads its elements from the database in pages of this many rows, using the dialect's
+	 * {@link org.hibernate.dialect.pagination.LimitHandler}, rather than initializing the whole collection.  Default
+	 * is {@code 0}, meaning iteration initializes the collection.
+	 *
+	 * @since 5.0
+	 */
+	String EXTRA_LAZY_COLLECTION_PAGE_SIZE = "hibernate.collection.extra_lazy_page_size";
+
+	/**
+	 * Enables incremental flushing.  Rather than dirty checking every entity in the persistence context, a flush then
+	 * only dirty checks entities registered as possibly dirty (newly saved, reattached, merged into or deleted since
+	 * the last flush), owners of dirty collections and entities unable to report their own dirtiness.  Entities
+	 * implementing {@link org.hibernate.engine.spi.SelfDirtinessTracker} or instrumented with a
+	 * {@link org.hibernate.bytecode.instrumentation.spi.FieldInterceptor} which report no changes are skipped.
+	 * <p/>
+	 * A flush still walks every entry of the persistence context, and still cascades from every entity, so its cost
+	 * remains proportional to the number of managed entities; what is saved for each skipped entity is the
+	 * extraction of its state and its comparison against the loaded state.
+	 * Default is {@code false}.
+	 *
+	 * @since 5.0
+	 */
+	String INCREMENTAL_FLUSH = "hibernate.flush.incremental";
+
+	/**
+	 * When enabled, an automatic flush before query execution only dirty checks (and cascades from) managed entities
+	 * whose tables, or whose possibly dirty collections' tables, are among the query spaces of the query; changes
+	 * to other entities are left for a later flush.  Flush mode {@link org.hibernate.FlushMode#ALWAYS} and pending
+	 * deletions still lead to a full flush.  Default is {@code false}.
+	 *
+	 * @since 5.0
+	 */
+	String QUERY_SPACE_AWARE_AUTO_FLUSH = "hibernate.flush.query_space_aware_auto_flush";
+
+	/**
+	 * The maximum number of natural-id to identifier cross-references a session keeps per entity type.  When
+	 * exceeded, the least recently used cross-references of entities no longer managed by the session are discarded
+	 * and resolved again (against the second-level natural-id cache or the database) when next needed.  Those of
+	 * managed entities are always kept.  Default is {@code 0}, meaning unbounded.
+	 *
+	 * @since 5.0
+	 */
+	String NATURAL_ID_RESOLUTION_CACHE_MAX_SIZE = "hibernate.naturalid.resolution_cache_max_size";
+
+	/**
+	 * Should lazy many-to-one associations of entities enhanced with a
+	 * {@link org.hibernate.engine.spi.PersistentAttributeInterceptor} be resolved through that interceptor, on
+	 * first read of the attribute, rather than through a proxy?  Entity types stored in the second-level cache,
+	 * using {@code all} or {@code dirty} optimistic locking, or cascading to the association keep using proxies.
+	 * Default is {@code false}.
+	 *
+	 * @since 5.0
+	 */
+	String ENHANCED_LAZY_TO_ONE = "hibernate.bytecode.enhanced_lazy_to_one";
+
 	/**
 	 * Enable nationalized character support on all string / clob based attribute ( string, char, clob, text etc ).
 	 *
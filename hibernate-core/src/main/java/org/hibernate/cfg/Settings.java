@@ -97,6 +97,12 @@ public final class Settings {
 	private MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 	private BatchFetchStyle batchFetchStyle;
 	private boolean directReferenceCacheEntriesEnabled;
+	private boolean collectionOperationLogEnabled;
+	private int extraLazyCollectionPageSize;
+	private boolean incrementalFlushEnabled;
+	private boolean querySpaceAwareAutoFlushEnabled;
+	private int naturalIdResolutionCacheMaxSize;
+	private boolean enhancedLazyToOneEnabled;
 	
 	private boolean jtaTrackByThread;
 	private BaselineSessionEventsListenerBuilder baselineSessionEventsListenerBuilder;
@@ -513,6 +519,54 @@ public final class Settings {
 		this.defaultNullPrecedence = defaultNullPrecedence;
 	}
 
+	public boolean isCollectionOperationLogEnabled() {
+		return collectionOperationLogEnabled;
+	}
+
+	void setCollectionOperationLogEnabled(boolean collectionOperationLogEnabled) {
+		this.collectionOperationLogEnabled = collectionOperationLogEnabled;
+	}
+
+	public int getExtraLazyCollectionPageSize() {
+		return extraLazyCollectionPageSize;
+	}
+
+	void setExtraLazyCollectionPageSize(int extraLazyCollectionPageSize) {
+		this.extraLazyCollectionPageSize = extraLazyCollectionPageSize;
+	}
+
+	public boolean isIncrementalFlushEnabled() {
+		return incrementalFlushEnabled;
+	}
+
+	void setIncrementalFlushEnabled(boolean incrementalFlushEnabled) {
+		this.incrementalFlushEnabled = incrementalFlushEnabled;
+	}
+
+	public boolean isQuerySpaceAwareAutoFlushEnabled() {
+		return querySpaceAwareAutoFlushEnabled;
+	}
+
+	void setQuerySpaceAwareAutoFlushEnabled(boolean querySpaceAwareAutoFlushEnabled) {
+		this.querySpaceAwareAutoFlushEnabled = querySpaceAwareAutoFlushEnabled;
+	}
+
+	public int getNaturalIdResolutionCacheMaxSize() {
+		return naturalIdResolutionCacheMaxSize;
+	}
+
+	void setNaturalIdResolutionCacheMaxSize(int naturalIdResolutionCacheMaxSize) {
+		this.naturalIdResolutionCacheMaxSize = naturalIdResolutionCacheMaxSize;
+	}
+
+	public boolean isEnhancedLazyToOneEnabled() {
+		return enhancedLazyToOneEnabled;
+	}
+
+	void setEnhancedLazyToOneEnabled(boolean enhancedLazyToOneEnabled) {
+		this.enhancedLazyToOneEnabled = enhancedLazyToOneEnabled;
+	}
+
 	public boolean isJtaTrackByThread() {
 		return jtaTrackByThread;
 	}
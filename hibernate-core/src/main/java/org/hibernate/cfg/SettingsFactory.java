@@ -327,6 +327,54 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setDirectReferenceCacheEntriesEnabled( useDirectReferenceCacheEntries );
 
+		boolean useCollectionOperationLog = ConfigurationHelper.getBoolean(
+				AvailableSettings.USE_COLLECTION_OPERATION_LOG,
+				properties,
+				false
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Collection operation log dirty tracking: %s", enabledDisabled( useCollectionOperationLog ) );
+		}
+		settings.setCollectionOperationLogEnabled( useCollectionOperationLog );
+
+		int extraLazyPageSize = ConfigurationHelper.getInt( AvailableSettings.EXTRA_LAZY_COLLECTION_PAGE_SIZE, properties, 0 );
+		if ( debugEnabled ) {
+			LOG.debugf( "Extra-lazy collection iteration page size: %s", extraLazyPageSize );
+		}
+		settings.setExtraLazyCollectionPageSize( extraLazyPageSize );
+
+		boolean incrementalFlush = ConfigurationHelper.getBoolean( AvailableSettings.INCREMENTAL_FLUSH, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Incremental flush: %s", enabledDisabled( incrementalFlush ) );
+		}
+		settings.setIncrementalFlushEnabled( incrementalFlush );
+
+		boolean querySpaceAwareAutoFlush = ConfigurationHelper.getBoolean(
+				AvailableSettings.QUERY_SPACE_AWARE_AUTO_FLUSH,
+				properties,
+				false
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Query space aware auto-flush: %s", enabledDisabled( querySpaceAwareAutoFlush ) );
+		}
+		settings.setQuerySpaceAwareAutoFlushEnabled( querySpaceAwareAutoFlush );
+
+		int naturalIdResolutionCacheMaxSize = ConfigurationHelper.getInt(
+				AvailableSettings.NATURAL_ID_RESOLUTION_CACHE_MAX_SIZE,
+				properties,
+				0
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Natural-id resolution cache maximum size per entity: %s", naturalIdResolutionCacheMaxSize );
+		}
+		settings.setNaturalIdResolutionCacheMaxSize( naturalIdResolutionCacheMaxSize );
+
+		boolean enhancedLazyToOne = ConfigurationHelper.getBoolean( AvailableSettings.ENHANCED_LAZY_TO_ONE, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Proxy-free lazy to-one resolution for enhanced entities: %s", enabledDisabled( enhancedLazyToOne ) );
+		}
+		settings.setEnhancedLazyToOneEnabled( enhancedLazyToOne );
+
 		boolean autoEvictCollectionCache = ConfigurationHelper.getBoolean( AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, properties, false);
 		if ( debugEnabled ) {
 			LOG.debugf( "Automatic eviction of collection cache: %s", enabledDisabled(autoEvictCollectionCache) );
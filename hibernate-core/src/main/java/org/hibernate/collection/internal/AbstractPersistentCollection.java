@@ -31,6 +31,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 import javax.naming.NamingException;
 
@@ -86,6 +87,8 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	// themselves as dirty as a performance optimization
 	private boolean dirty;
 	private Serializable storedSnapshot;
+	// when tracking operations instead of snapshotting, the log changes get recorded to
+	private CollectionOperationLog operationLog;
 
 	private String sessionFactoryUuid;
 	private boolean allowLoadOutsideTransaction;
@@ -388,6 +391,43 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 
 	}
 
+	/**
+	 * Called by the {@link Collection#iterator} method of unordered collections.
+	 *
+	 * @return An iterator reading the elements of an uninitialized extra-lazy collection a page at a time, or
+	 * {@code null} if the collection should be initialized instead
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#EXTRA_LAZY_COLLECTION_PAGE_SIZE
+	 */
+	protected Iterator readPaged() {
+		if ( initialized || !isConnectedToSession() || !session.isConnected() ) {
+			// a temporary session would not outlive the first page
+			return null;
+		}
+		final int pageSize = session.getFactory().getSettings().getExtraLazyCollectionPageSize();
+		if ( pageSize <= 0 ) {
+			return null;
+		}
+		final CollectionEntry entry = session.getPersistenceContext().getCollectionEntry( this );
+		final CollectionPersister persister = entry.getLoadedPersister();
+		if ( persister == null || !persister.isExtraLazy() || persister.hasOrdering() || !isPagedIterationApplicable() ) {
+			return null;
+		}
+		if ( hasQueuedOperations() ) {
+			session.flush();
+		}
+		return new PagedIterator( persister, entry.getLoadedKey(), pageSize );
+	}
+
+	/**
+	 * Can the elements be iterated in the order they are read from the database?
+	 *
+	 * @return {@code true} by default; {@code false} for sorted collections
+	 */
+	protected boolean isPagedIterationApplicable() {
+		return true;
+	}
+
 	protected int getCachedSize() {
 		return cachedSize;
 	}
@@ -404,6 +444,99 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 	protected final void write() {
 		initialize( true );
 		dirty();
+		if ( operationLog != null ) {
+			// the change about to be made is not going to be recorded
+			operationLog.materialize();
+		}
+	}
+
+	/**
+	 * Called by writer methods which record the change they are about to make in the operation log
+	 * themselves, instead of {@link #write()}
+	 */
+	protected final void loggedWrite() {
+		initialize( true );
+		dirty();
+	}
+
+	/**
+	 * Should the snapshot of this collection be an operation log, rather than a copy of its state?  That
+	 * requires immutable elements, and all changes to go through this wrapper.
+	 *
+	 * @param persister The collection persister
+	 *
+	 * @return {@code true} if the changes to the collection should be tracked as operations
+	 */
+	protected boolean isOperationLogApplicable(CollectionPersister persister) {
+		return !isDirectlyAccessible()
+				&& !persister.getElementType().isMutable()
+				&& persister.getFactory().getSettings().isCollectionOperationLogEnabled();
+	}
+
+	/**
+	 * Start recording the changes made to the given contents, to be used as the collection snapshot.
+	 *
+	 * @param nature The kind of collection
+	 * @param contents The underlying collection
+	 * @param persister The collection persister
+	 *
+	 * @return The snapshot
+	 */
+	protected final Serializable startOperationLog(
+			CollectionOperationLog.Nature nature,
+			Collection contents,
+			CollectionPersister persister) {
+		operationLog = new CollectionOperationLog(
+				nature,
+				contents,
+				persister.getElementType().isAssociationType()
+		);
+		return operationLog;
+	}
+
+	/**
+	 * Record an element addition in the operation log, if there is one
+	 *
+	 * @param element The added element
+	 */
+	protected final void logAddition(Object element) {
+		if ( operationLog != null ) {
+			operationLog.recordAddition( element );
+		}
+	}
+
+	/**
+	 * Record an element removal in the operation log, if there is one
+	 *
+	 * @param element The removed element
+	 */
+	protected final void logRemoval(Object element) {
+		if ( operationLog != null ) {
+			operationLog.recordRemoval( element );
+		}
+	}
+
+	/**
+	 * Record the list positions about to change in the operation log, if there is one
+	 *
+	 * @param from The first position about to change
+	 * @param to The position after the last one about to change
+	 */
+	protected final void logPositions(int from, int to) {
+		if ( operationLog != null ) {
+			operationLog.recordPositions( from, to );
+		}
+	}
+
+	/**
+	 * Get the given snapshot as operation log, unless it is a full snapshot.
+	 *
+	 * @param snapshot The snapshot
+	 *
+	 * @return The operation log, or {@code null}
+	 */
+	protected static CollectionOperationLog asOperationLog(Serializable snapshot) {
+		return snapshot instanceof CollectionOperationLog ? (CollectionOperationLog) snapshot : null;
 	}
 
 	/**
@@ -692,11 +825,12 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 
 
 	/**
-	 * Get the current snapshot from the session
+	 * Get the current snapshot from the session.  This is either the full snapshot, or an
+	 * {@link CollectionOperationLog} which still tracks the changes
 	 */
 	@SuppressWarnings({"JavaDoc"})
 	protected final Serializable getSnapshot() {
-		return session.getPersistenceContext().getSnapshot( this );
+		return CollectionOperationLog.resolve( session.getPersistenceContext().getSnapshot( this ) );
 	}
 
 	@Override
@@ -802,6 +936,94 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 		}
 	}
 
+	/**
+	 * An iterator proxy which records removals in the operation log; for sets and bags.
+	 */
+	protected final class LoggingIteratorProxy implements Iterator {
+		private final Iterator itr;
+		private Object last;
+
+		public LoggingIteratorProxy(Iterator itr) {
+			this.itr = itr;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return itr.hasNext();
+		}
+
+		@Override
+		public Object next() {
+			last = itr.next();
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			loggedWrite();
+			itr.remove();
+			logRemoval( last );
+		}
+	}
+
+	/**
+	 * Iterates the elements of an uninitialized extra-lazy collection, reading them a page at a time.  Elements
+	 * are read as they are in the database: changes made to the collection while iterating are not seen.
+	 */
+	private final class PagedIterator implements Iterator {
+		private final CollectionPersister persister;
+		private final Serializable key;
+		private final int pageSize;
+
+		private List page = Collections.EMPTY_LIST;
+		private int pagePosition;
+		private int nextPageStart;
+		private boolean exhausted;
+		private Object last;
+		private boolean hasLast;
+
+		private PagedIterator(CollectionPersister persister, Serializable key, int pageSize) {
+			this.persister = persister;
+			this.key = key;
+			this.pageSize = pageSize;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if ( pagePosition < page.size() ) {
+				return true;
+			}
+			if ( exhausted ) {
+				return false;
+			}
+			throwLazyInitializationExceptionIfNotConnected();
+			page = persister.getElements( key, nextPageStart, pageSize, session, getOwner() );
+			pagePosition = 0;
+			nextPageStart += page.size();
+			exhausted = page.size() < pageSize;
+			return !page.isEmpty();
+		}
+
+		@Override
+		public Object next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			last = page.get( pagePosition++ );
+			hasLast = true;
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			if ( !hasLast ) {
+				throw new IllegalStateException();
+			}
+			hasLast = false;
+			( (Collection) AbstractPersistentCollection.this ).remove( last );
+		}
+	}
+
 	protected final class ListIteratorProxy implements ListIterator {
 		protected final ListIterator itr;
 
@@ -0,0 +1,373 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.collection.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A compact stand-in for the full snapshot of a {@link PersistentSet}, {@link PersistentBag} or
+ * {@link PersistentList}.  Rather than copying the collection state when it is loaded or flushed, the collection
+ * records the changes made to it afterwards, so that the work done to diff the collection against the database
+ * state is proportional to the number of changes instead of to the collection size.
+ * <p/>
+ * For sets and bags the log keeps the (net) elements added and removed.  For lists it keeps the original element
+ * of every position which has been changed, structurally or not, since positions are what get written.
+ * <p/>
+ * Writes which the owning collection cannot describe to the log (through iterators and views, mainly) force
+ * the log to reconstruct the full snapshot in the legacy format, which is then used for the rest of the flush
+ * cycle.  Since that reconstruction uses the current collection state, it must happen <b>before</b> such a
+ * write is applied.
+ * <p/>
+ * Only usable when the elements are immutable, as in-place changes to elements are not visible to the log.  Set
+ * elements must also keep a stable {@code hashCode()}, which rules out entities.
+ */
+final class CollectionOperationLog implements Serializable {
+	enum Nature {
+		SET,
+		BAG,
+		LIST
+	}
+
+	private final Nature nature;
+	private final Collection contents;
+	private final boolean identityElements;
+	private final int snapshotSize;
+
+	// SET/BAG : net element additions and removals, with their number of occurrences
+	private Map<Object,Integer> additions;
+	private Map<Object,Integer> removals;
+
+	// LIST : the snapshot element for each position changed so far
+	private SortedMap<Integer,Object> originals;
+
+	private Serializable materializedSnapshot;
+
+	/**
+	 * Creates the log for the given collection contents.
+	 *
+	 * @param nature The kind of collection being logged
+	 * @param contents The underlying (live) contents of the collection; its current state is the "snapshot" state
+	 * @param identityElements Whether the elements are told apart by identity (associations) rather than by
+	 * {@code equals()}
+	 */
+	CollectionOperationLog(Nature nature, Collection contents, boolean identityElements) {
+		this.nature = nature;
+		this.contents = contents;
+		this.identityElements = identityElements;
+		this.snapshotSize = contents.size();
+	}
+
+	/**
+	 * If the given snapshot is a log which had to be materialized, return the materialized snapshot; otherwise
+	 * the given snapshot is returned.
+	 *
+	 * @param snapshot The snapshot, as kept by the {@link org.hibernate.engine.spi.CollectionEntry}
+	 *
+	 * @return The resolved snapshot
+	 */
+	static Serializable resolve(Serializable snapshot) {
+		if ( snapshot instanceof CollectionOperationLog ) {
+			final CollectionOperationLog log = (CollectionOperationLog) snapshot;
+			if ( log.isMaterialized() ) {
+				return log.materializedSnapshot;
+			}
+		}
+		return snapshot;
+	}
+
+	public boolean isMaterialized() {
+		return materializedSnapshot != null;
+	}
+
+	/**
+	 * The number of elements in the collection when the log was started.
+	 *
+	 * @return The snapshot size
+	 */
+	public int getSnapshotSize() {
+		return snapshotSize;
+	}
+
+	/**
+	 * Did the log record any change?
+	 *
+	 * @return {@code true} if changes were recorded
+	 */
+	public boolean hasChanges() {
+		if ( isMaterialized() ) {
+			throw new IllegalStateException( "Operation log has been materialized" );
+		}
+		return ( additions != null && !additions.isEmpty() )
+				|| ( removals != null && !removals.isEmpty() )
+				|| ( originals != null && !originals.isEmpty() )
+				// positions appended to a list are not recorded, as they have no snapshot element
+				|| ( nature == Nature.LIST && contents.size() != snapshotSize );
+	}
+
+
+	// SET/BAG ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Record that the given element has been added to the collection.
+	 *
+	 * @param element The added element
+	 */
+	public void recordAddition(Object element) {
+		if ( isMaterialized() ) {
+			return;
+		}
+		if ( !decrement( removals, element ) ) {
+			additions = increment( additions, element );
+		}
+	}
+
+	/**
+	 * Record that the given element has been removed from the collection.
+	 *
+	 * @param element The removed element
+	 */
+	public void recordRemoval(Object element) {
+		if ( isMaterialized() ) {
+			return;
+		}
+		if ( !decrement( additions, element ) ) {
+			removals = increment( removals, element );
+		}
+	}
+
+	/**
+	 * Was the given element added since the log was started?
+	 *
+	 * @param element The element to check
+	 *
+	 * @return {@code true} if the element is a (net) addition
+	 */
+	public boolean isAddition(Object element) {
+		return additions != null && additions.containsKey( element );
+	}
+
+	/**
+	 * The elements added since the log was started, one entry per added occurrence.
+	 *
+	 * @return The added elements
+	 */
+	public List getAdditions() {
+		return expand( additions );
+	}
+
+	/**
+	 * The snapshot elements removed since the log was started, one entry per removed occurrence.
+	 *
+	 * @return The removed elements
+	 */
+	public List getRemovals() {
+		return expand( removals );
+	}
+
+	private Map<Object,Integer> increment(Map<Object,Integer> counts, Object element) {
+		if ( counts == null ) {
+			counts = newCounts();
+		}
+		final Integer count = counts.get( element );
+		counts.put( element, count == null ? 1 : count + 1 );
+		return counts;
+	}
+
+	private Map<Object,Integer> newCounts() {
+		// associations are compared by identity, values rely on equals()
+		return identityElements
+				? new IdentityHashMap<Object,Integer>()
+				: new HashMap<Object,Integer>();
+	}
+
+	private static boolean decrement(Map<Object,Integer> counts, Object element) {
+		if ( counts == null ) {
+			return false;
+		}
+		final Integer count = counts.get( element );
+		if ( count == null ) {
+			return false;
+		}
+		if ( count == 1 ) {
+			counts.remove( element );
+		}
+		else {
+			counts.put( element, count - 1 );
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List expand(Map<Object,Integer> counts) {
+		if ( counts == null || counts.isEmpty() ) {
+			return Collections.EMPTY_LIST;
+		}
+		final List result = new ArrayList( counts.size() );
+		for ( Map.Entry<Object,Integer> entry : counts.entrySet() ) {
+			for ( int i = 0; i < entry.getValue(); i++ ) {
+				result.add( entry.getKey() );
+			}
+		}
+		return result;
+	}
+
+
+	// LIST ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Record the snapshot elements of the list positions between {@code from} (inclusive) and {@code to}
+	 * (exclusive) which are about to change.  Must be called <b>before</b> applying the change.
+	 *
+	 * @param from The first position about to change
+	 * @param to The position after the last one about to change
+	 */
+	public void recordPositions(int from, int to) {
+		if ( isMaterialized() ) {
+			return;
+		}
+		final List list = (List) contents;
+		final int end = Math.min( Math.min( to, snapshotSize ), list.size() );
+		for ( int i = from; i < end; i++ ) {
+			if ( originals == null ) {
+				originals = new TreeMap<Integer,Object>();
+			}
+			if ( !originals.containsKey( i ) ) {
+				originals.put( i, list.get( i ) );
+			}
+		}
+	}
+
+	/**
+	 * Record all positions of the list as about to change.
+	 */
+	public void recordAllPositions() {
+		recordPositions( 0, snapshotSize );
+	}
+
+	/**
+	 * Was the given position changed since the log was started?
+	 *
+	 * @param index The list position
+	 *
+	 * @return {@code true} if the position was changed
+	 */
+	public boolean isRecordedPosition(int index) {
+		return originals != null && originals.containsKey( index );
+	}
+
+	/**
+	 * The snapshot element at the given position.
+	 *
+	 * @param index The list position
+	 *
+	 * @return The snapshot element, or {@code null} if the position was beyond the snapshot size
+	 */
+	public Object getOriginal(int index) {
+		if ( index >= snapshotSize ) {
+			return null;
+		}
+		return isRecordedPosition( index ) ? originals.get( index ) : ( (List) contents ).get( index );
+	}
+
+	/**
+	 * The snapshot elements of all changed positions, keyed by position.
+	 *
+	 * @return The changed positions
+	 */
+	public SortedMap<Integer,Object> getOriginals() {
+		if ( originals == null ) {
+			return new TreeMap<Integer,Object>();
+		}
+		return originals;
+	}
+
+
+	// materialization ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Reconstruct the full snapshot, in the format the owning collection uses when not tracking operations,
+	 * from the current collection state and the recorded changes.  Any later change goes unrecorded.
+	 *
+	 * @return The full snapshot
+	 */
+	@SuppressWarnings("unchecked")
+	public Serializable materialize() {
+		if ( isMaterialized() ) {
+			return materializedSnapshot;
+		}
+
+		switch ( nature ) {
+			case SET: {
+				final HashMap snapshot = new HashMap( snapshotSize );
+				for ( Object element : contents ) {
+					if ( !isAddition( element ) ) {
+						snapshot.put( element, element );
+					}
+				}
+				for ( Object element : getRemovals() ) {
+					snapshot.put( element, element );
+				}
+				materializedSnapshot = snapshot;
+				break;
+			}
+			case BAG: {
+				final ArrayList snapshot = new ArrayList( snapshotSize );
+				Map<Object,Integer> pendingAdditions = null;
+				if ( additions != null ) {
+					pendingAdditions = newCounts();
+					pendingAdditions.putAll( additions );
+				}
+				for ( Object element : contents ) {
+					if ( !decrement( pendingAdditions, element ) ) {
+						snapshot.add( element );
+					}
+				}
+				snapshot.addAll( getRemovals() );
+				materializedSnapshot = snapshot;
+				break;
+			}
+			default: {
+				final ArrayList snapshot = new ArrayList( snapshotSize );
+				for ( int i = 0; i < snapshotSize; i++ ) {
+					snapshot.add( getOriginal( i ) );
+				}
+				materializedSnapshot = snapshot;
+			}
+		}
+
+		additions = null;
+		removals = null;
+		originals = null;
+		return materializedSnapshot;
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.collection.internal;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.type.Type;
+
+/**
+ * Counts occurrences of collection elements, using the element {@link Type} to decide which elements are the
+ * same, so that bag snapshots can be compared in linear rather than quadratic time.
+ * <p/>
+ * Associations are compared by identity (see {@link Type#isSame}), and so are hashed by identity too; this also
+ * avoids initializing proxies through their {@code hashCode()}.
+ */
+final class ElementMultiset {
+	private final Type elementType;
+	private final boolean hashByIdentity;
+	private final Map<Key,int[]> counts;
+
+	ElementMultiset(Type elementType, Collection elements) {
+		this.elementType = elementType;
+		this.hashByIdentity = elementType.isAssociationType();
+		this.counts = new HashMap<Key,int[]>( Math.max( (int) ( elements.size() / .75f ) + 1, 16 ) );
+		for ( Object element : elements ) {
+			add( element );
+		}
+	}
+
+	void add(Object element) {
+		final Key key = new Key( element );
+		final int[] count = counts.get( key );
+		if ( count == null ) {
+			counts.put( key, new int[] { 1 } );
+		}
+		else {
+			count[0]++;
+		}
+	}
+
+	/**
+	 * Removes one occurrence of the element.
+	 *
+	 * @return {@code false} if there was no occurrence left to remove
+	 */
+	boolean remove(Object element) {
+		final Key key = new Key( element );
+		final int[] count = counts.get( key );
+		if ( count == null ) {
+			return false;
+		}
+		if ( --count[0] == 0 ) {
+			counts.remove( key );
+		}
+		return true;
+	}
+
+	boolean contains(Object element) {
+		return counts.containsKey( new Key( element ) );
+	}
+
+	private final class Key {
+		private final Object element;
+		private final int hash;
+
+		private Key(Object element) {
+			this.element = element;
+			if ( element == null ) {
+				hash = 0;
+			}
+			else if ( hashByIdentity ) {
+				hash = System.identityHashCode( element );
+			}
+			else {
+				hash = elementType.getHashCode( element );
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if ( this == other ) {
+				return true;
+			}
+			final Key that = (Key) other;
+			if ( element == null || that.element == null ) {
+				return element == that.element;
+			}
+			return hash == that.hash && elementType.isSame( element, that.element );
+		}
+	}
+}
@@ -34,6 +34,7 @@ import java.util.ListIterator;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.collections.EmptyIterator;
 import org.hibernate.loader.CollectionAliases;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.type.Type;
@@ -50,6 +51,10 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	protected List bag;
 
+	private transient ElementMultiset snapshotElements;
+	private transient List snapshotElementsSource;
+	private transient ElementMultiset pendingInsertions;
+
 	/**
 	 * Constructs a PersistentBag.  Needed for SOAP libraries, etc
 	 */
@@ -124,13 +129,18 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	@Override
 	public boolean equalsSnapshot(CollectionPersister persister) throws HibernateException {
 		final Type elementType = persister.getElementType();
-		final List sn = (List) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			return !operationLog.hasChanges();
+		}
+		final List sn = (List) snapshot;
 		if ( sn.size() != bag.size() ) {
 			return false;
 		}
+		final ElementMultiset snapshotElements = new ElementMultiset( elementType, sn );
 		for ( Object elt : bag ) {
-			final boolean unequal = countOccurrences( elt, bag, elementType ) != countOccurrences( elt, sn, elementType );
-			if ( unequal ) {
+			if ( !snapshotElements.remove( elt ) ) {
 				return false;
 			}
 		}
@@ -139,25 +149,21 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	@Override
 	public boolean isSnapshotEmpty(Serializable snapshot) {
-		return ( (Collection) snapshot ).isEmpty();
-	}
-
-	private int countOccurrences(Object element, List list, Type elementType)
-			throws HibernateException {
-		final Iterator iter = list.iterator();
-		int result = 0;
-		while ( iter.hasNext() ) {
-			if ( elementType.isSame( element, iter.next() ) ) {
-				result++;
-			}
+		final Serializable resolved = CollectionOperationLog.resolve( snapshot );
+		final CollectionOperationLog operationLog = asOperationLog( resolved );
+		if ( operationLog != null ) {
+			return operationLog.getSnapshotSize() == 0;
 		}
-		return result;
+		return ( (Collection) resolved ).isEmpty();
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public Serializable getSnapshot(CollectionPersister persister)
 			throws HibernateException {
+		if ( isOperationLogApplicable( persister ) ) {
+			return startOperationLog( CollectionOperationLog.Nature.BAG, bag, persister );
+		}
 		final ArrayList clonedList = new ArrayList( bag.size() );
 		for ( Object item : bag ) {
 			clonedList.add( persister.getElementType().deepCopy( item, persister.getFactory() ) );
@@ -167,7 +173,12 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	@Override
 	public Collection getOrphans(Serializable snapshot, String entityName) throws HibernateException {
-		final List sn = (List) snapshot;
+		final Serializable resolved = CollectionOperationLog.resolve( snapshot );
+		final CollectionOperationLog operationLog = asOperationLog( resolved );
+		if ( operationLog != null ) {
+			return getOrphans( operationLog.getRemovals(), bag, entityName, getSession() );
+		}
+		final List sn = (List) resolved;
 		return getOrphans( sn, bag, entityName, getSession() );
 	}
 
@@ -199,7 +210,32 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	@Override
 	public boolean needsRecreate(CollectionPersister persister) {
-		return !persister.isOneToMany();
+		pendingInsertions = null;
+		if ( persister.isOneToMany() ) {
+			return false;
+		}
+		// the rows of a bag cannot be told apart, so removing an element means recreating
+		// the whole collection; when elements were only added, insert just the new occurrences
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			if ( !operationLog.getRemovals().isEmpty() ) {
+				return true;
+			}
+			pendingInsertions = new ElementMultiset( persister.getElementType(), operationLog.getAdditions() );
+			return false;
+		}
+		if ( ( (List) snapshot ).size() > bag.size() ) {
+			return true;
+		}
+		final ElementMultiset insertions = new ElementMultiset( persister.getElementType(), bag );
+		for ( Object old : (List) snapshot ) {
+			if ( !insertions.remove( old ) ) {
+				return true;
+			}
+		}
+		pendingInsertions = insertions;
+		return false;
 	}
 
 
@@ -215,29 +251,29 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	@SuppressWarnings("unchecked")
 	public Iterator getDeletes(CollectionPersister persister, boolean indexIsFormula) throws HibernateException {
 		final Type elementType = persister.getElementType();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			return operationLog.getRemovals().iterator();
+		}
+		if ( pendingInsertions != null ) {
+			return EmptyIterator.INSTANCE;
+		}
 		final ArrayList deletes = new ArrayList();
-		final List sn = (List) getSnapshot();
-		final Iterator olditer = sn.iterator();
+		final List sn = (List) snapshot;
+		ElementMultiset currentElements = null;
 		int i=0;
-		while ( olditer.hasNext() ) {
-			final Object old = olditer.next();
-			final Iterator newiter = bag.iterator();
-			boolean found = false;
+		for ( Object old : sn ) {
 			if ( bag.size()>i && elementType.isSame( old, bag.get( i++ ) ) ) {
-			//a shortcut if its location didn't change!
-				found = true;
+				//a shortcut if its location didn't change!
+				continue;
 			}
-			else {
-				//search for it
-				//note that this code is incorrect for other than one-to-many
-				while ( newiter.hasNext() ) {
-					if ( elementType.isSame( old, newiter.next() ) ) {
-						found = true;
-						break;
-					}
-				}
+			//search for it
+			//note that this code is incorrect for other than one-to-many
+			if ( currentElements == null ) {
+				currentElements = new ElementMultiset( elementType, bag );
 			}
-			if ( !found ) {
+			if ( !currentElements.contains( old ) ) {
 				deletes.add( old );
 			}
 		}
@@ -246,7 +282,16 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	@Override
 	public boolean needsInserting(Object entry, int i, Type elemType) throws HibernateException {
-		final List sn = (List) getSnapshot();
+		if ( pendingInsertions != null ) {
+			// null elements are never written, see entryExists()
+			return entry != null && pendingInsertions.remove( entry );
+		}
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			return operationLog.isAddition( entry );
+		}
+		final List sn = (List) snapshot;
 		if ( sn.size() > i && elemType.isSame( sn.get( i ), entry ) ) {
 			//a shortcut if its location didn't change!
 			return false;
@@ -254,15 +299,23 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 		else {
 			//search for it
 			//note that this code is incorrect for other than one-to-many
-			for ( Object old : sn ) {
-				if ( elemType.isSame( old, entry ) ) {
-					return false;
-				}
+			if ( snapshotElements == null || snapshotElementsSource != sn ) {
+				// needsInserting() is called once per entry, so index the snapshot only once per flush
+				snapshotElements = new ElementMultiset( elemType, sn );
+				snapshotElementsSource = sn;
 			}
-			return true;
+			return !snapshotElements.contains( entry );
 		}
 	}
 
+	@Override
+	public void postAction() {
+		super.postAction();
+		snapshotElements = null;
+		snapshotElementsSource = null;
+		pendingInsertions = null;
+	}
+
 	@Override
 	public boolean isRowUpdatePossible() {
 		return false;
@@ -291,8 +344,12 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	@Override
 	public Iterator iterator() {
+		final Iterator paged = readPaged();
+		if ( paged != null ) {
+			return paged;
+		}
 		read();
-		return new IteratorProxy( bag.iterator() );
+		return new LoggingIteratorProxy( bag.iterator() );
 	}
 
 	@Override
@@ -311,7 +368,8 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	@SuppressWarnings("unchecked")
 	public boolean add(Object object) {
 		if ( !isOperationQueueEnabled() ) {
-			write();
+			loggedWrite();
+			logAddition( object );
 			return bag.add( object );
 		}
 		else {
@@ -323,7 +381,9 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	@Override
 	public boolean remove(Object o) {
 		initialize( true );
-		if ( bag.remove( o ) ) {
+		final int index = bag.indexOf( o );
+		if ( index >= 0 ) {
+			logRemoval( bag.remove( index ) );
 			dirty();
 			return true;
 		}
@@ -346,7 +406,10 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 			return false;
 		}
 		if ( !isOperationQueueEnabled() ) {
-			write();
+			loggedWrite();
+			for ( Object value : values ) {
+				logAddition( value );
+			}
 			return bag.addAll( values );
 		}
 		else {
@@ -362,7 +425,7 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	public boolean removeAll(Collection c) {
 		if ( c.size()>0 ) {
 			initialize( true );
-			if ( bag.removeAll( c ) ) {
+			if ( removeElements( c, true ) ) {
 				dirty();
 				return true;
 			}
@@ -379,7 +442,7 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	@SuppressWarnings("unchecked")
 	public boolean retainAll(Collection c) {
 		initialize( true );
-		if ( bag.retainAll( c ) ) {
+		if ( removeElements( c, false ) ) {
 			dirty();
 			return true;
 		}
@@ -388,6 +451,28 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 		}
 	}
 
+	/**
+	 * Remove the elements which are (or are not) contained in the given collection, recording each removal
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean removeElements(Collection c, boolean contained) {
+		final List retained = new ArrayList( bag.size() );
+		for ( Object element : bag ) {
+			if ( c.contains( element ) == contained ) {
+				logRemoval( element );
+			}
+			else {
+				retained.add( element );
+			}
+		}
+		if ( retained.size() == bag.size() ) {
+			return false;
+		}
+		bag.clear();
+		bag.addAll( retained );
+		return true;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public void clear() {
@@ -397,6 +482,9 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 		else {
 			initialize( true );
 			if ( ! bag.isEmpty() ) {
+				for ( Object element : bag ) {
+					logRemoval( element );
+				}
 				bag.clear();
 				dirty();
 			}
@@ -415,7 +503,9 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 
 	@Override
 	public Object getSnapshotElement(Object entry, int i) {
-		final List sn = (List) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		final List sn = (List) ( operationLog == null ? snapshot : operationLog.materialize() );
 		return sn.get( i );
 	}
 
@@ -444,7 +534,8 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	@Override
 	@SuppressWarnings("unchecked")
 	public void add(int i, Object o) {
-		write();
+		loggedWrite();
+		logAddition( o );
 		bag.add( i, o );
 	}
 
@@ -452,7 +543,10 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	@SuppressWarnings("unchecked")
 	public boolean addAll(int i, Collection c) {
 		if ( c.size() > 0 ) {
-			write();
+			loggedWrite();
+			for ( Object element : c ) {
+				logAddition( element );
+			}
 			return bag.addAll( i, c );
 		}
 		else {
@@ -498,15 +592,20 @@ public class PersistentBag extends AbstractPersistentCollection implements List
 	@Override
 	@SuppressWarnings("unchecked")
 	public Object remove(int i) {
-		write();
-		return bag.remove( i );
+		loggedWrite();
+		final Object old = bag.remove( i );
+		logRemoval( old );
+		return old;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public Object set(int i, Object o) {
-		write();
-		return bag.set( i, o );
+		loggedWrite();
+		final Object old = bag.set( i, o );
+		logRemoval( old );
+		logAddition( o );
+		return old;
 	}
 
 	@Override
@@ -79,6 +79,9 @@ public class PersistentList extends AbstractPersistentCollection implements List
 	@Override
 	@SuppressWarnings( {"unchecked"})
 	public Serializable getSnapshot(CollectionPersister persister) throws HibernateException {
+		if ( isOperationLogApplicable( persister ) ) {
+			return startOperationLog( CollectionOperationLog.Nature.LIST, list, persister );
+		}
 		final ArrayList clonedList = new ArrayList( list.size() );
 		for ( Object element : list ) {
 			final Object deepCopy = persister.getElementType().deepCopy( element, persister.getFactory() );
@@ -89,14 +92,31 @@ public class PersistentList extends AbstractPersistentCollection implements List
 
 	@Override
 	public Collection getOrphans(Serializable snapshot, String entityName) throws HibernateException {
-		final List sn = (List) snapshot;
+		final Serializable resolved = CollectionOperationLog.resolve( snapshot );
+		final CollectionOperationLog operationLog = asOperationLog( resolved );
+		if ( operationLog != null ) {
+			// only the elements of changed positions can have been removed
+			final List changed = new ArrayList();
+			for ( Object original : operationLog.getOriginals().values() ) {
+				if ( original != null ) {
+					changed.add( original );
+				}
+			}
+			return getOrphans( changed, list, entityName, getSession() );
+		}
+		final List sn = (List) resolved;
 		return getOrphans( sn, list, entityName, getSession() );
 	}
 
 	@Override
 	public boolean equalsSnapshot(CollectionPersister persister) throws HibernateException {
 		final Type elementType = persister.getElementType();
-		final List sn = (List) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			return !operationLog.hasChanges();
+		}
+		final List sn = (List) snapshot;
 		if ( sn.size()!=this.list.size() ) {
 			return false;
 		}
@@ -112,7 +132,12 @@ public class PersistentList extends AbstractPersistentCollection implements List
 
 	@Override
 	public boolean isSnapshotEmpty(Serializable snapshot) {
-		return ( (Collection) snapshot ).isEmpty();
+		final Serializable resolved = CollectionOperationLog.resolve( snapshot );
+		final CollectionOperationLog operationLog = asOperationLog( resolved );
+		if ( operationLog != null ) {
+			return operationLog.getSnapshotSize() == 0;
+		}
+		return ( (Collection) resolved ).isEmpty();
 	}
 
 	@Override
@@ -165,7 +190,8 @@ public class PersistentList extends AbstractPersistentCollection implements List
 	@SuppressWarnings("unchecked")
 	public boolean add(Object object) {
 		if ( !isOperationQueueEnabled() ) {
-			write();
+			loggedWrite();
+			logPositions( list.size(), list.size() + 1 );
 			return list.add( object );
 		}
 		else {
@@ -179,7 +205,10 @@ public class PersistentList extends AbstractPersistentCollection implements List
 		final Boolean exists = isPutQueueEnabled() ? readElementExistence( value ) : null;
 		if ( exists == null ) {
 			initialize( true );
-			if ( list.remove( value ) ) {
+			final int index = list.indexOf( value );
+			if ( index >= 0 ) {
+				logPositions( index, list.size() );
+				list.remove( index );
 				dirty();
 				return true;
 			}
@@ -210,7 +239,8 @@ public class PersistentList extends AbstractPersistentCollection implements List
 			return false;
 		}
 		if ( !isOperationQueueEnabled() ) {
-			write();
+			loggedWrite();
+			logPositions( list.size(), list.size() + values.size() );
 			return list.addAll( values );
 		}
 		else {
@@ -225,7 +255,8 @@ public class PersistentList extends AbstractPersistentCollection implements List
 	@SuppressWarnings("unchecked")
 	public boolean addAll(int index, Collection coll) {
 		if ( coll.size()>0 ) {
-			write();
+			loggedWrite();
+			logPositions( index, list.size() + coll.size() );
 			return list.addAll( index,  coll );
 		}
 		else {
@@ -238,6 +269,7 @@ public class PersistentList extends AbstractPersistentCollection implements List
 	public boolean removeAll(Collection coll) {
 		if ( coll.size()>0 ) {
 			initialize( true );
+			logPositions( 0, list.size() );
 			if ( list.removeAll( coll ) ) {
 				dirty();
 				return true;
@@ -255,6 +287,7 @@ public class PersistentList extends AbstractPersistentCollection implements List
 	@SuppressWarnings("unchecked")
 	public boolean retainAll(Collection coll) {
 		initialize( true );
+		logPositions( 0, list.size() );
 		if ( list.retainAll( coll ) ) {
 			dirty();
 			return true;
@@ -273,6 +306,7 @@ public class PersistentList extends AbstractPersistentCollection implements List
 		else {
 			initialize( true );
 			if ( ! list.isEmpty() ) {
+				logPositions( 0, list.size() );
 				list.clear();
 				dirty();
 			}
@@ -299,7 +333,8 @@ public class PersistentList extends AbstractPersistentCollection implements List
 		final Object old = isPutQueueEnabled() ? readElementByIndex( index ) : UNKNOWN;
 
 		if ( old==UNKNOWN ) {
-			write();
+			loggedWrite();
+			logPositions( index, index + 1 );
 			return list.set( index, value );
 		}
 		else {
@@ -316,7 +351,8 @@ public class PersistentList extends AbstractPersistentCollection implements List
 		}
 		final Object old = isPutQueueEnabled() ? readElementByIndex( index ) : UNKNOWN;
 		if ( old == UNKNOWN ) {
-			write();
+			loggedWrite();
+			logPositions( index, list.size() );
 			return list.remove( index );
 		}
 		else {
@@ -332,7 +368,8 @@ public class PersistentList extends AbstractPersistentCollection implements List
 			throw new ArrayIndexOutOfBoundsException( "negative index" );
 		}
 		if ( !isOperationQueueEnabled() ) {
-			write();
+			loggedWrite();
+			logPositions( index, list.size() + 1 );
 			list.add( index, value );
 		}
 		else {
@@ -435,7 +472,19 @@ public class PersistentList extends AbstractPersistentCollection implements List
 	@SuppressWarnings("unchecked")
 	public Iterator getDeletes(CollectionPersister persister, boolean indexIsFormula) throws HibernateException {
 		final List deletes = new ArrayList();
-		final List sn = (List) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			// positions beyond the current size, or nulled out, can only be among the changed ones
+			for ( java.util.Map.Entry<Integer,Object> entry : operationLog.getOriginals().entrySet() ) {
+				final int i = entry.getKey();
+				if ( i >= list.size() || ( list.get( i ) == null && entry.getValue() != null ) ) {
+					deletes.add( indexIsFormula ? entry.getValue() : i );
+				}
+			}
+			return deletes.iterator();
+		}
+		final List sn = (List) snapshot;
 		int end;
 		if ( sn.size() > list.size() ) {
 			for ( int i=list.size(); i<sn.size(); i++ ) {
@@ -458,13 +507,29 @@ public class PersistentList extends AbstractPersistentCollection implements List
 
 	@Override
 	public boolean needsInserting(Object entry, int i, Type elemType) throws HibernateException {
-		final List sn = (List) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			return list.get( i ) != null && ( i >= operationLog.getSnapshotSize() || operationLog.getOriginal( i ) == null );
+		}
+		final List sn = (List) snapshot;
 		return list.get( i ) != null && ( i >= sn.size() || sn.get( i ) == null );
 	}
 
 	@Override
 	public boolean needsUpdating(Object entry, int i, Type elemType) throws HibernateException {
-		final List sn = (List) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			if ( !operationLog.isRecordedPosition( i ) ) {
+				return false;
+			}
+			final Object original = operationLog.getOriginal( i );
+			return original != null
+					&& list.get( i ) != null
+					&& elemType.isDirty( list.get( i ), original, getSession() );
+		}
+		final List sn = (List) snapshot;
 		return i < sn.size()
 				&& sn.get( i ) != null
 				&& list.get( i ) != null
@@ -483,7 +548,12 @@ public class PersistentList extends AbstractPersistentCollection implements List
 
 	@Override
 	public Object getSnapshotElement(Object entry, int i) {
-		final List sn = (List) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			return operationLog.getOriginal( i );
+		}
+		final List sn = (List) snapshot;
 		return sn.get( i );
 	}
 
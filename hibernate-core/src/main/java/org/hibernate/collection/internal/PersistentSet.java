@@ -89,9 +89,20 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 		setDirectlyAccessible( true );
 	}
 
+	@Override
+	protected boolean isOperationLogApplicable(CollectionPersister persister) {
+		// the log keys its elements by hashCode()/equals(), which for entities commonly changes once the
+		// identifier gets assigned; the snapshot diff copes with that, the log would miss the addition
+		return super.isOperationLogApplicable( persister )
+				&& !persister.getElementType().isAssociationType();
+	}
+
 	@Override
 	@SuppressWarnings( {"unchecked"})
 	public Serializable getSnapshot(CollectionPersister persister) throws HibernateException {
+		if ( isOperationLogApplicable( persister ) ) {
+			return startOperationLog( CollectionOperationLog.Nature.SET, set, persister );
+		}
 		final HashMap clonedSet = new HashMap( set.size() );
 		for ( Object aSet : set ) {
 			final Object copied = persister.getElementType().deepCopy( aSet, persister.getFactory() );
@@ -102,14 +113,24 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 
 	@Override
 	public Collection getOrphans(Serializable snapshot, String entityName) throws HibernateException {
-		final java.util.Map sn = (java.util.Map) snapshot;
+		final Serializable resolved = CollectionOperationLog.resolve( snapshot );
+		final CollectionOperationLog operationLog = asOperationLog( resolved );
+		if ( operationLog != null ) {
+			return getOrphans( operationLog.getRemovals(), set, entityName, getSession() );
+		}
+		final java.util.Map sn = (java.util.Map) resolved;
 		return getOrphans( sn.keySet(), set, entityName, getSession() );
 	}
 
 	@Override
 	public boolean equalsSnapshot(CollectionPersister persister) throws HibernateException {
 		final Type elementType = persister.getElementType();
-		final java.util.Map sn = (java.util.Map) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			return !operationLog.hasChanges();
+		}
+		final java.util.Map sn = (java.util.Map) snapshot;
 		if ( sn.size()!=set.size() ) {
 			return false;
 		}
@@ -126,7 +147,12 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 
 	@Override
 	public boolean isSnapshotEmpty(Serializable snapshot) {
-		return ( (java.util.Map) snapshot ).isEmpty();
+		final Serializable resolved = CollectionOperationLog.resolve( snapshot );
+		final CollectionOperationLog operationLog = asOperationLog( resolved );
+		if ( operationLog != null ) {
+			return operationLog.getSnapshotSize() == 0;
+		}
+		return ( (java.util.Map) resolved ).isEmpty();
 	}
 
 	@Override
@@ -177,8 +203,12 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 	@Override
 	@SuppressWarnings("unchecked")
 	public Iterator iterator() {
+		final Iterator paged = readPaged();
+		if ( paged != null ) {
+			return paged;
+		}
 		read();
-		return new IteratorProxy( set.iterator() );
+		return new LoggingIteratorProxy( set.iterator() );
 	}
 
 	@Override
@@ -202,6 +232,7 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 			initialize( true );
 			if ( set.add( value ) ) {
 				dirty();
+				logAddition( value );
 				return true;
 			}
 			else {
@@ -224,6 +255,7 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 			initialize( true );
 			if ( set.remove( value ) ) {
 				dirty();
+				logRemoval( value );
 				return true;
 			}
 			else {
@@ -251,13 +283,17 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 	public boolean addAll(Collection coll) {
 		if ( coll.size() > 0 ) {
 			initialize( true );
-			if ( set.addAll( coll ) ) {
-				dirty();
-				return true;
+			boolean changed = false;
+			for ( Object element : coll ) {
+				if ( set.add( element ) ) {
+					logAddition( element );
+					changed = true;
+				}
 			}
-			else {
-				return false;
+			if ( changed ) {
+				dirty();
 			}
+			return changed;
 		}
 		else {
 			return false;
@@ -268,13 +304,20 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 	@SuppressWarnings("unchecked")
 	public boolean retainAll(Collection coll) {
 		initialize( true );
-		if ( set.retainAll( coll ) ) {
-			dirty();
-			return true;
+		boolean changed = false;
+		final Iterator itr = set.iterator();
+		while ( itr.hasNext() ) {
+			final Object element = itr.next();
+			if ( !coll.contains( element ) ) {
+				itr.remove();
+				logRemoval( element );
+				changed = true;
+			}
 		}
-		else {
-			return false;
+		if ( changed ) {
+			dirty();
 		}
+		return changed;
 	}
 
 	@Override
@@ -282,13 +325,17 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 	public boolean removeAll(Collection coll) {
 		if ( coll.size() > 0 ) {
 			initialize( true );
-			if ( set.removeAll( coll ) ) {
-				dirty();
-				return true;
+			boolean changed = false;
+			for ( Object element : coll ) {
+				if ( set.remove( element ) ) {
+					logRemoval( element );
+					changed = true;
+				}
 			}
-			else {
-				return false;
+			if ( changed ) {
+				dirty();
 			}
+			return changed;
 		}
 		else {
 			return false;
@@ -304,6 +351,9 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 		else {
 			initialize( true );
 			if ( !set.isEmpty() ) {
+				for ( Object element : set ) {
+					logRemoval( element );
+				}
 				set.clear();
 				dirty();
 			}
@@ -369,7 +419,13 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 	@SuppressWarnings("unchecked")
 	public Iterator getDeletes(CollectionPersister persister, boolean indexIsFormula) throws HibernateException {
 		final Type elementType = persister.getElementType();
-		final java.util.Map sn = (java.util.Map) getSnapshot();
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			// elements are immutable, so only removed elements need deleting
+			return operationLog.getRemovals().iterator();
+		}
+		final java.util.Map sn = (java.util.Map) snapshot;
 		final ArrayList deletes = new ArrayList( sn.size() );
 
 		Iterator itr = sn.keySet().iterator();
@@ -397,7 +453,12 @@ public class PersistentSet extends AbstractPersistentCollection implements java.
 	@Override
 	@SuppressWarnings("unchecked")
 	public boolean needsInserting(Object entry, int i, Type elemType) throws HibernateException {
-		final Object oldValue = ( (java.util.Map) getSnapshot() ).get( entry );
+		final Serializable snapshot = getSnapshot();
+		final CollectionOperationLog operationLog = asOperationLog( snapshot );
+		if ( operationLog != null ) {
+			return operationLog.isAddition( entry );
+		}
+		final Object oldValue = ( (java.util.Map) snapshot ).get( entry );
 		// note that it might be better to iterate the snapshot but this is safe,
 		// assuming the user implements equals() properly, as required by the Set
 		// contract!
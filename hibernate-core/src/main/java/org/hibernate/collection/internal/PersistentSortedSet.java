@@ -32,6 +32,7 @@ import org.hibernate.EntityMode;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.persister.collection.BasicCollectionPersister;
+import org.hibernate.persister.collection.CollectionPersister;
 
 /**
  * A persistent wrapper for a <tt>java.util.SortedSet</tt>. Underlying
@@ -81,6 +82,18 @@ public class PersistentSortedSet extends PersistentSet implements SortedSet {
 		return clonedSet;
 	}
 
+	@Override
+	protected boolean isOperationLogApplicable(CollectionPersister persister) {
+		// the operation log relies on equals(), which the comparator might not be consistent with
+		return false;
+	}
+
+	@Override
+	protected boolean isPagedIterationApplicable() {
+		// the elements must be iterated in comparator order
+		return false;
+	}
+
 	public void setComparator(Comparator comparator) {
 		this.comparator = comparator;
 	}
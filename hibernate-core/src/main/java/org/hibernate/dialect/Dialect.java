@@ -102,6 +102,7 @@ import java.sql.Blob;
 import java.sql.CallableStatement;
 import java.sql.Clob;
 import java.sql.NClob;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -2677,6 +2678,42 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Render a restriction matching the given column against the elements of a single array parameter, which is
+	 * then bound using {@link #bindArrayParameter}.  Used by {@link org.hibernate.loader.BatchFetchStyle#ARRAY}
+	 * batch fetching, so that a batch of any size uses the same SQL.
+	 *
+	 * @param columnExpression The (qualified) column to restrict
+	 * @param sqlTypeCode The {@link java.sql.Types} typecode of the column
+	 *
+	 * @return The restriction, or {@code null} (the default) to indicate array parameters are not supported
+	 */
+	public String getArrayParameterRestriction(String columnExpression, int sqlTypeCode) {
+		return null;
+	}
+
+	/**
+	 * Bind the parameter of a restriction rendered by {@link #getArrayParameterRestriction}.  By default, binds a
+	 * {@link java.sql.Array} created through {@link java.sql.Connection#createArrayOf}, naming its elements by the
+	 * database type for the given typecode.
+	 *
+	 * @param statement The statement
+	 * @param position The parameter position
+	 * @param values The values to bind
+	 * @param sqlTypeCode The {@link java.sql.Types} typecode of the values
+	 *
+	 * @throws SQLException Indicates a problem creating or binding the array
+	 */
+	public void bindArrayParameter(PreparedStatement statement, int position, Object[] values, int sqlTypeCode)
+			throws SQLException {
+		String elementTypeName = getTypeName( sqlTypeCode );
+		final int lengthStart = elementTypeName.indexOf( '(' );
+		if ( lengthStart > 0 ) {
+			elementTypeName = elementTypeName.substring( 0, lengthStart );
+		}
+		statement.setArray( position, statement.getConnection().createArrayOf( elementTypeName, values ) );
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
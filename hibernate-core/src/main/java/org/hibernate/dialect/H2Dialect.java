@@ -23,6 +23,7 @@
  */
 package org.hibernate.dialect;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
 
@@ -462,6 +463,18 @@ public class H2Dialect extends Dialect {
 		return true;
 	}
 	
+	@Override
+	public String getArrayParameterRestriction(String columnExpression, int sqlTypeCode) {
+		// the table function reads the rows from an Object[] parameter
+		return columnExpression + " in (select x from table(x " + getCastTypeName( sqlTypeCode ) + " = ?))";
+	}
+
+	@Override
+	public void bindArrayParameter(PreparedStatement statement, int position, Object[] values, int sqlTypeCode)
+			throws SQLException {
+		statement.setObject( position, values );
+	}
+
 	@Override
 	public boolean supportsTuplesInSubqueries() {
 		return false;
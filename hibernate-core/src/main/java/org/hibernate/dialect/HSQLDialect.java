@@ -702,4 +702,9 @@ public class HSQLDialect extends Dialect {
 	public boolean supportsTupleDistinctCounts() {
 		return false;
 	}
+
+	@Override
+	public String getArrayParameterRestriction(String columnExpression, int sqlTypeCode) {
+		return hsqldbVersion < 20 ? null : columnExpression + " in (unnest(?))";
+	}
 }
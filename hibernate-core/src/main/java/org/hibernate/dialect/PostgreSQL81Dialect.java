@@ -552,6 +552,11 @@ public class PostgreSQL81Dialect extends Dialect {
 		return getForUpdateString( aliases ) + " nowait ";
 	}
 
+	@Override
+	public String getArrayParameterRestriction(String columnExpression, int sqlTypeCode) {
+		return columnExpression + " = any(?)";
+	}
+
 	@Override
 	public CallableStatementSupport getCallableStatementSupport() {
 		return PostgresCallableStatementSupport.INSTANCE;
@@ -68,6 +68,22 @@ public final class Collections {
 		}
 	}
 
+	/**
+	 * record the fact that the owner of this collection was not visited by the flush,
+	 * so the collection is still referenced by the same owner and role; any change to
+	 * it is left for a later flush
+	 *
+	 * @param coll The collection whose owner was not visited.
+	 * @param session The session
+	 */
+	public static void processUnvisitedCollection(PersistentCollection coll, SessionImplementor session) {
+		final CollectionEntry entry = session.getPersistenceContext().getCollectionEntry( coll );
+		entry.setReached( true );
+		entry.setProcessed( true );
+		entry.setCurrentPersister( entry.getLoadedPersister() );
+		entry.setCurrentKey( entry.getLoadedKey() );
+	}
+
 	private static void processDereferencedCollection(PersistentCollection coll, SessionImplementor session) {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final CollectionEntry entry = persistenceContext.getCollectionEntry( coll );
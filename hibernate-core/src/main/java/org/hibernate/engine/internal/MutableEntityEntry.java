@@ -361,8 +361,10 @@ public final class MutableEntityEntry implements Serializable, EntityEntry {
 	@SuppressWarnings( {"SimplifiableIfStatement"})
 	private boolean isUnequivocallyNonDirty(Object entity) {
 
-		if(entity instanceof SelfDirtinessTracker)
-			return ((SelfDirtinessTracker) entity).$$_hibernate_hasDirtyAttributes();
+		if ( entity instanceof SelfDirtinessTracker ) {
+			// a reattached instance has no loaded state to be compared against
+			return loadedState != null && ! ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+		}
 
 		final CustomEntityDirtinessStrategy customEntityDirtinessStrategy =
 				persistenceContext.getSession().getFactory().getCustomEntityDirtinessStrategy();
@@ -27,6 +27,9 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,6 +37,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.hibernate.AssertionFailure;
 import org.hibernate.cache.spi.NaturalIdCacheKey;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -89,15 +93,23 @@ public class NaturalIdXrefDelegate {
 	public boolean cacheNaturalIdCrossReference(EntityPersister persister, Serializable pk, Object[] naturalIdValues) {
 		validateNaturalId( persister, naturalIdValues );
 
+		return locateOrCreateResolutionCache( persister ).cache( pk, naturalIdValues );
+	}
+
+	private NaturalIdResolutionCache locateOrCreateResolutionCache(EntityPersister persister) {
 		NaturalIdResolutionCache entityNaturalIdResolutionCache = naturalIdResolutionCacheMap.get( persister );
 		if ( entityNaturalIdResolutionCache == null ) {
-			entityNaturalIdResolutionCache = new NaturalIdResolutionCache( persister );
+			entityNaturalIdResolutionCache = new NaturalIdResolutionCache(
+					persister,
+					persistenceContext,
+					session().getFactory().getSettings().getNaturalIdResolutionCacheMaxSize()
+			);
 			NaturalIdResolutionCache previousInstance = naturalIdResolutionCacheMap.putIfAbsent( persister, entityNaturalIdResolutionCache );
 			if ( previousInstance != null ) {
 				entityNaturalIdResolutionCache = previousInstance;
 			}
 		}
-		return entityNaturalIdResolutionCache.cache( pk, naturalIdValues );
+		return entityNaturalIdResolutionCache;
 	}
 
 	/**
@@ -116,12 +128,7 @@ public class NaturalIdXrefDelegate {
 		final NaturalIdResolutionCache entityNaturalIdResolutionCache = naturalIdResolutionCacheMap.get( persister );
 		Object[] sessionCachedNaturalIdValues = null;
 		if ( entityNaturalIdResolutionCache != null ) {
-			final CachedNaturalId cachedNaturalId = entityNaturalIdResolutionCache.pkToNaturalIdMap
-					.remove( pk );
-			if ( cachedNaturalId != null ) {
-				entityNaturalIdResolutionCache.naturalIdToPkMap.remove( cachedNaturalId );
-				sessionCachedNaturalIdValues = cachedNaturalId.getValues();
-			}
+			sessionCachedNaturalIdValues = entityNaturalIdResolutionCache.remove( pk );
 		}
 
 		if ( persister.hasNaturalIdCache() ) {
@@ -200,12 +207,7 @@ public class NaturalIdXrefDelegate {
 			return null;
 		}
 
-		final CachedNaturalId cachedNaturalId = entityNaturalIdResolutionCache.pkToNaturalIdMap.get( pk );
-		if ( cachedNaturalId == null ) {
-			return null;
-		}
-
-		return cachedNaturalId.getValues();
+		return entityNaturalIdResolutionCache.findNaturalId( pk );
 	}
 
 	/**
@@ -227,9 +229,8 @@ public class NaturalIdXrefDelegate {
 		NaturalIdResolutionCache entityNaturalIdResolutionCache = naturalIdResolutionCacheMap.get( persister );
 
 		Serializable pk;
-		final CachedNaturalId cachedNaturalId = new CachedNaturalId( persister, naturalIdValues );
 		if ( entityNaturalIdResolutionCache != null ) {
-			pk = entityNaturalIdResolutionCache.naturalIdToPkMap.get( cachedNaturalId );
+			pk = entityNaturalIdResolutionCache.findPk( naturalIdValues );
 
 			// Found in session cache
 			if ( pk != null ) {
@@ -280,16 +281,7 @@ public class NaturalIdXrefDelegate {
 				);
 			}
 
-			if ( entityNaturalIdResolutionCache == null ) {
-				entityNaturalIdResolutionCache = new NaturalIdResolutionCache( persister );
-				NaturalIdResolutionCache existingCache = naturalIdResolutionCacheMap.putIfAbsent( persister, entityNaturalIdResolutionCache );
-				if ( existingCache != null ) {
-					entityNaturalIdResolutionCache = existingCache;
-				}
-			}
-
-			entityNaturalIdResolutionCache.pkToNaturalIdMap.put( pk, cachedNaturalId );
-			entityNaturalIdResolutionCache.naturalIdToPkMap.put( cachedNaturalId, pk );
+			locateOrCreateResolutionCache( persister ).cache( pk, naturalIdValues );
 		}
 		else if ( factory.getStatistics().isStatisticsEnabled() ) {
 			factory.getStatisticsImplementor().naturalIdCacheMiss( naturalIdCacheAccessStrategy.getRegion().getName() );
@@ -311,18 +303,13 @@ public class NaturalIdXrefDelegate {
 	public Collection<Serializable> getCachedPkResolutions(EntityPersister persister) {
 		persister = locatePersisterForKey( persister );
 
-		Collection<Serializable> pks = null;
-
 		final NaturalIdResolutionCache entityNaturalIdResolutionCache = naturalIdResolutionCacheMap.get( persister );
-		if ( entityNaturalIdResolutionCache != null ) {
-			pks = entityNaturalIdResolutionCache.pkToNaturalIdMap.keySet();
-		}
-
-		if ( pks == null || pks.isEmpty() ) {
+		if ( entityNaturalIdResolutionCache == null || entityNaturalIdResolutionCache.pkToNaturalIdMap.isEmpty() ) {
 			return java.util.Collections.emptyList();
 		}
 		else {
-			return java.util.Collections.unmodifiableCollection( pks );
+			// a copy, as callers re-cache while iterating
+			return new ArrayList<Serializable>( entityNaturalIdResolutionCache.pkToNaturalIdMap.keySet() );
 		}
 	}
 
@@ -358,33 +345,25 @@ public class NaturalIdXrefDelegate {
 	}
 
 	/**
-	 * Used to put natural id values into collections.  Useful mainly to apply equals/hashCode implementations.
+	 * Used to put natural id values into collections.  Useful mainly to apply equals/hashCode implementations.  The
+	 * hash code is computed once; the types needed for it (and for equality) are shared through the owning
+	 * resolution cache rather than held per instance.
 	 */
-	private static class CachedNaturalId implements Serializable {
-		private final EntityPersister persister;
+	private static final class CachedNaturalId implements Serializable {
+		private final NaturalIdResolutionCache owner;
 		private final Object[] values;
-		private final Type[] naturalIdTypes;
-		private int hashCode;
+		private final int hashCode;
 
-		public CachedNaturalId(EntityPersister persister, Object[] values) {
-			this.persister = persister;
+		private CachedNaturalId(NaturalIdResolutionCache owner, Object[] values) {
+			this.owner = owner;
 			this.values = values;
 
-			final int prime = 31;
+			final SessionFactoryImplementor factory = owner.persister.getFactory();
 			int hashCodeCalculation = 1;
-			hashCodeCalculation = prime * hashCodeCalculation + persister.hashCode();
-
-			final int[] naturalIdPropertyIndexes = persister.getNaturalIdentifierProperties();
-			naturalIdTypes = new Type[ naturalIdPropertyIndexes.length ];
-			int i = 0;
-			for ( int naturalIdPropertyIndex : naturalIdPropertyIndexes ) {
-				final Type type = persister.getPropertyType( persister.getPropertyNames()[ naturalIdPropertyIndex ] );
-				naturalIdTypes[i] = type;
-				final int elementHashCode = values[i] == null ? 0 :type.getHashCode( values[i], persister.getFactory() );
-				hashCodeCalculation = prime * hashCodeCalculation + elementHashCode;
-				i++;
+			for ( int i = 0; i < values.length; i++ ) {
+				final int elementHashCode = values[i] == null ? 0 : owner.naturalIdTypes[i].getHashCode( values[i], factory );
+				hashCodeCalculation = 31 * hashCodeCalculation + elementHashCode;
 			}
-
 			this.hashCode = hashCodeCalculation;
 		}
 
@@ -394,7 +373,7 @@ public class NaturalIdXrefDelegate {
 
 		@Override
 		public int hashCode() {
-			return this.hashCode;
+			return hashCode;
 		}
 
 		@Override
@@ -402,21 +381,19 @@ public class NaturalIdXrefDelegate {
 			if ( this == obj ) {
 				return true;
 			}
-			if ( obj == null ) {
-				return false;
-			}
-			if ( getClass() != obj.getClass() ) {
+			if ( !( obj instanceof CachedNaturalId ) ) {
 				return false;
 			}
 
 			final CachedNaturalId other = (CachedNaturalId) obj;
-			return persister.equals( other.persister ) && isSame( other.values );
+			return hashCode == other.hashCode && owner == other.owner && isSame( other.values );
 		}
 
 		private boolean isSame(Object[] otherValues) {
 			// lengths have already been verified at this point
-			for ( int i = 0; i < naturalIdTypes.length; i++ ) {
-				if ( ! naturalIdTypes[i].isEqual( values[i], otherValues[i], persister.getFactory() ) ) {
+			final SessionFactoryImplementor factory = owner.persister.getFactory();
+			for ( int i = 0; i < values.length; i++ ) {
+				if ( ! owner.naturalIdTypes[i].isEqual( values[i], otherValues[i], factory ) ) {
 					return false;
 				}
 			}
@@ -425,25 +402,52 @@ public class NaturalIdXrefDelegate {
 	}
 
 	/**
-	 * Represents the persister-specific cross-reference cache.
+	 * Represents the persister-specific cross-reference cache.  When bounded, the least recently used
+	 * cross-references of entities which are not (or no longer) managed are discarded; lookups for those simply
+	 * miss and are resolved again.  The cross-references of managed entities are needed to detect natural id
+	 * changes, so are never discarded: the bound may be exceeded while they are too many.
 	 */
 	private static class NaturalIdResolutionCache implements Serializable {
+		// the number of least recently used entries examined for eviction per addition
+		private static final int EVICTION_SCAN_SIZE = 16;
+
 		private final EntityPersister persister;
+		private final transient StatefulPersistenceContext persistenceContext;
 		private final Type[] naturalIdTypes;
 
-		private Map<Serializable, CachedNaturalId> pkToNaturalIdMap = new ConcurrentHashMap<Serializable, CachedNaturalId>();
-		private Map<CachedNaturalId, Serializable> naturalIdToPkMap = new ConcurrentHashMap<CachedNaturalId, Serializable>();
+		private final Map<Serializable, CachedNaturalId> pkToNaturalIdMap;
+		private final Map<CachedNaturalId, Serializable> naturalIdToPkMap = new HashMap<CachedNaturalId, Serializable>();
 
 		private List<CachedNaturalId> invalidNaturalIdList;
 
-		private NaturalIdResolutionCache(EntityPersister persister) {
+		private NaturalIdResolutionCache(
+				EntityPersister persister,
+				StatefulPersistenceContext persistenceContext,
+				final int maxSize) {
 			this.persister = persister;
+			this.persistenceContext = persistenceContext;
 
 			final int[] naturalIdPropertyIndexes = persister.getNaturalIdentifierProperties();
 			naturalIdTypes = new Type[ naturalIdPropertyIndexes.length ];
 			int i = 0;
 			for ( int naturalIdPropertyIndex : naturalIdPropertyIndexes ) {
-				naturalIdTypes[i++] = persister.getPropertyType( persister.getPropertyNames()[ naturalIdPropertyIndex ] );
+				naturalIdTypes[i++] = persister.getPropertyTypes()[ naturalIdPropertyIndex ];
+			}
+
+			if ( maxSize > 0 ) {
+				pkToNaturalIdMap = new LinkedHashMap<Serializable, CachedNaturalId>( 16, 0.75f, true ) {
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<Serializable, CachedNaturalId> eldest) {
+						if ( size() > maxSize ) {
+							evictUnmanaged( this, maxSize );
+						}
+						// evictUnmanaged() modifies the map itself
+						return false;
+					}
+				};
+			}
+			else {
+				pkToNaturalIdMap = new HashMap<Serializable, CachedNaturalId>();
 			}
 		}
 
@@ -451,17 +455,60 @@ public class NaturalIdXrefDelegate {
 			return persister;
 		}
 
+		private void evictUnmanaged(Map<Serializable, CachedNaturalId> lruMap, int maxSize) {
+			List<Serializable> managedPks = null;
+			final Iterator<Map.Entry<Serializable, CachedNaturalId>> entries = lruMap.entrySet().iterator();
+			// never the entry just added, which is the most recently used one
+			final int candidates = Math.min( EVICTION_SCAN_SIZE, lruMap.size() - 1 );
+			for ( int i = 0; i < candidates && lruMap.size() > maxSize; i++ ) {
+				final Map.Entry<Serializable, CachedNaturalId> entry = entries.next();
+				if ( isManaged( entry.getKey() ) ) {
+					if ( managedPks == null ) {
+						managedPks = new ArrayList<Serializable>();
+					}
+					managedPks.add( entry.getKey() );
+				}
+				else {
+					naturalIdToPkMap.remove( entry.getValue() );
+					entries.remove();
+				}
+			}
+			if ( managedPks != null ) {
+				// move them to the most recently used end, so that the next scan starts past them
+				for ( Serializable pk : managedPks ) {
+					lruMap.get( pk );
+				}
+			}
+		}
+
+		private boolean isManaged(Serializable pk) {
+			if ( persistenceContext == null ) {
+				return true;
+			}
+			final EntityKey key = persistenceContext.getSession().generateEntityKey( pk, persister );
+			return persistenceContext.getEntity( key ) != null;
+		}
+
 		public boolean sameAsCached(Serializable pk, Object[] naturalIdValues) {
 			if ( pk == null ) {
 				return false;
 			}
 			final CachedNaturalId initial = pkToNaturalIdMap.get( pk );
-			if ( initial != null ) {
-				if ( initial.isSame( naturalIdValues ) ) {
-					return true;
-				}
+			return initial != null && initial.isSame( naturalIdValues );
+		}
+
+		public Object[] findNaturalId(Serializable pk) {
+			final CachedNaturalId cachedNaturalId = pkToNaturalIdMap.get( pk );
+			return cachedNaturalId == null ? null : cachedNaturalId.getValues();
+		}
+
+		public Serializable findPk(Object[] naturalIdValues) {
+			final Serializable pk = naturalIdToPkMap.get( new CachedNaturalId( this, naturalIdValues ) );
+			if ( pk != null ) {
+				// keep the recency order of a bounded cache up to date
+				pkToNaturalIdMap.get( pk );
 			}
-			return false;
+			return pk;
 		}
 
 		public boolean cache(Serializable pk, Object[] naturalIdValues) {
@@ -476,23 +523,32 @@ public class NaturalIdXrefDelegate {
 				naturalIdToPkMap.remove( initial );
 			}
 
-			final CachedNaturalId cachedNaturalId = new CachedNaturalId( persister, naturalIdValues );
-			pkToNaturalIdMap.put( pk, cachedNaturalId );
+			final CachedNaturalId cachedNaturalId = new CachedNaturalId( this, naturalIdValues );
 			naturalIdToPkMap.put( cachedNaturalId, pk );
-			
+			pkToNaturalIdMap.put( pk, cachedNaturalId );
+
 			return true;
 		}
 
+		public Object[] remove(Serializable pk) {
+			final CachedNaturalId cachedNaturalId = pkToNaturalIdMap.remove( pk );
+			if ( cachedNaturalId == null ) {
+				return null;
+			}
+			naturalIdToPkMap.remove( cachedNaturalId );
+			return cachedNaturalId.getValues();
+		}
+
 		public void stashInvalidNaturalIdReference(Object[] invalidNaturalIdValues) {
 			if ( invalidNaturalIdList == null ) {
 				invalidNaturalIdList = new ArrayList<CachedNaturalId>();
 			}
-			invalidNaturalIdList.add( new CachedNaturalId( persister, invalidNaturalIdValues ) );
+			invalidNaturalIdList.add( new CachedNaturalId( this, invalidNaturalIdValues ) );
 		}
 
 		public boolean containsInvalidNaturalIdReference(Object[] naturalIdValues) {
 			return invalidNaturalIdList != null
-					&& invalidNaturalIdList.contains( new CachedNaturalId( persister, naturalIdValues ) );
+					&& invalidNaturalIdList.contains( new CachedNaturalId( this, naturalIdValues ) );
 		}
 
 		public void unStashInvalidNaturalIdReferences() {
@@ -70,6 +70,7 @@ import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ConcurrentReferenceHashMap;
 import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.internal.util.collections.IdentitySet;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
@@ -155,6 +156,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private LoadContexts loadContexts;
 	private BatchFetchQueue batchFetchQueue;
 
+	// Entities which an incremental flush has to visit, or null if incremental flushing is disabled
+	private IdentitySet possiblyDirtyEntities;
+
 
 	/**
 	 * Constructs a PersistentContext, bound to the given session.
@@ -180,6 +184,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 		nullifiableEntityKeys = new HashSet<EntityKey>();
 
+		if ( session.getFactory().getSettings().isIncrementalFlushEnabled() ) {
+			possiblyDirtyEntities = new IdentitySet( INIT_COLL_SIZE );
+		}
+
 		initTransientState();
 	}
 
@@ -262,6 +270,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			loadContexts.cleanup();
 		}
 		naturalIdXrefDelegate.clear();
+		clearPossiblyDirtyEntities();
 	}
 
 	@Override
@@ -435,6 +444,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	@Override
 	public EntityEntry removeEntry(Object entity) {
+		if ( possiblyDirtyEntities != null ) {
+			possiblyDirtyEntities.remove( entity );
+		}
 		return entityEntryContext.removeEntityEntry( entity );
 	}
 
@@ -508,6 +520,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		entityEntryContext.addEntityEntry( entity, e );
 //		entityEntries.put(entity, e);
 
+		// anything but a freshly loaded instance (a save, reattachment or replication) may differ from the database
+		if ( status != Status.LOADING ) {
+			registerPossiblyDirtyEntity( entity );
+		}
+
 		setHasNonReadOnlyEnties( status );
 		return e;
 	}
@@ -1100,6 +1117,26 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		return entityEntryContext.reentrantSafeEntityEntries();
 	}
 
+	@Override
+	public void registerPossiblyDirtyEntity(Object entity) {
+		if ( possiblyDirtyEntities != null ) {
+			possiblyDirtyEntities.add( entity );
+		}
+	}
+
+	@Override
+	public boolean isPossiblyDirty(Object entity) {
+		// without tracking, every entity has to be considered
+		return possiblyDirtyEntities == null || possiblyDirtyEntities.contains( entity );
+	}
+
+	@Override
+	public void clearPossiblyDirtyEntities() {
+		if ( possiblyDirtyEntities != null ) {
+			possiblyDirtyEntities.clear();
+		}
+	}
+
 	@Override
 	public Serializable getOwnerId(String entityName, String propertyName, Object childEntity, Map mergeMap) {
 		final String collectionRole = entityName + '.' + propertyName;
@@ -1575,6 +1612,12 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			}
 
 			rtn.entityEntryContext = EntityEntryContext.deserialize( ois, rtn );
+			if ( rtn.possiblyDirtyEntities != null ) {
+				// the registrations made before serialization are not kept, so be conservative
+				for ( Entry<Object,EntityEntry> me : rtn.entityEntryContext.reentrantSafeEntityEntries() ) {
+					rtn.possiblyDirtyEntities.add( me.getKey() );
+				}
+			}
 
 			count = ois.readInt();
 			if ( tracing ) {
@@ -1971,6 +2014,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( changed ) {
 				final Object[] cachedNaturalIdValues = naturalIdXrefDelegate.findCachedNaturalId( persister, pk );
 				naturalIdXrefDelegate.cacheNaturalIdCrossReference( persister, pk, naturalIdValuesFromCurrentObjectState );
+				if ( cachedNaturalIdValues == null ) {
+					// the cross-reference was discarded from a bounded resolution cache
+					return;
+				}
 				naturalIdXrefDelegate.stashInvalidNaturalIdReference( persister, cachedNaturalIdValues );
 
 				removeSharedNaturalIdCrossReference(
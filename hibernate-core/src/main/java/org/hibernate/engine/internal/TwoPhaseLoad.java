@@ -29,12 +29,18 @@ import org.hibernate.AssertionFailure;
 import org.hibernate.CacheMode;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
+import org.hibernate.bytecode.enhance.spi.LazyToOneAttributeInterceptor;
 import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.engine.OptimisticLockStyle;
+import org.hibernate.engine.spi.CascadeStyle;
+import org.hibernate.engine.spi.CascadeStyles;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.PersistentAttributeInterceptor;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
@@ -50,6 +56,8 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.property.BackrefPropertyAccessor;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.ManyToOneType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -164,9 +172,29 @@ public final class TwoPhaseLoad {
 		}
 
 		final Type[] types = persister.getPropertyTypes();
+		final boolean[] deferrableToOnes = determineDeferrableToOnes( entity, persister, session );
+		LazyToOneAttributeInterceptor lazyToOneInterceptor = null;
+		boolean[] unfetchedToOnes = null;
 		for ( int i = 0; i < hydratedState.length; i++ ) {
 			final Object value = hydratedState[i];
 			if ( value!=LazyPropertyInitializer.UNFETCHED_PROPERTY && value!=BackrefPropertyAccessor.UNKNOWN ) {
+				if ( deferrableToOnes != null && deferrableToOnes[i] && value != null ) {
+					final EntityKey entityKey = session.generateEntityKey(
+							(Serializable) value,
+							session.getFactory().getEntityPersister( ( (EntityType) types[i] ).getAssociatedEntityName() )
+					);
+					if ( persistenceContext.getEntity( entityKey ) == null && persistenceContext.getProxy( entityKey ) == null ) {
+						// leave it to the interceptor of the enhanced entity, rather than creating a proxy
+						if ( lazyToOneInterceptor == null ) {
+							lazyToOneInterceptor = new LazyToOneAttributeInterceptor( session );
+							unfetchedToOnes = new boolean[hydratedState.length];
+						}
+						lazyToOneInterceptor.addUnfetchedReference( persister.getPropertyNames()[i], i, entityKey );
+						unfetchedToOnes[i] = true;
+						hydratedState[i] = null;
+						continue;
+					}
+				}
 				hydratedState[i] = types[i].resolve( value, session, entity );
 			}
 		}
@@ -187,6 +215,21 @@ public final class TwoPhaseLoad {
 
 		persister.setPropertyValues( entity, hydratedState );
 
+		if ( deferrableToOnes != null ) {
+			if ( lazyToOneInterceptor != null ) {
+				for ( int i = 0; i < unfetchedToOnes.length; i++ ) {
+					if ( unfetchedToOnes[i] ) {
+						hydratedState[i] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
+					}
+				}
+				( (PersistentAttributeInterceptable) entity ).$$_hibernate_setInterceptor( lazyToOneInterceptor );
+			}
+			else if ( ( (PersistentAttributeInterceptable) entity ).$$_hibernate_getInterceptor() instanceof LazyToOneAttributeInterceptor ) {
+				// refreshed; forget the references left unfetched by the previous load
+				( (PersistentAttributeInterceptable) entity ).$$_hibernate_setInterceptor( new LazyToOneAttributeInterceptor( session ) );
+			}
+		}
+
 		final SessionFactoryImplementor factory = session.getFactory();
 		if ( persister.hasCache() && session.getCacheMode().isPutEnabled() ) {
 
@@ -294,6 +337,48 @@ public final class TwoPhaseLoad {
 		}
 	}
 	
+	/**
+	 * Determine which to-one associations of the given entity may be left unfetched, to be resolved by the
+	 * {@link LazyToOneAttributeInterceptor} of the enhanced entity instead of through proxies.
+	 *
+	 * @return The deferrable properties, or {@code null} if the entity does not qualify at all
+	 */
+	private static boolean[] determineDeferrableToOnes(
+			Object entity,
+			EntityPersister persister,
+			SessionImplementor session) {
+		final SessionFactoryImplementor factory = session.getFactory();
+		if ( !factory.getSettings().isEnhancedLazyToOneEnabled()
+				|| !( entity instanceof PersistentAttributeInterceptable )
+				// the cache entry and the optimistic lock both need the actual loaded state
+				|| persister.hasCache()
+				|| persister.getEntityMetamodel().getOptimisticLockStyle() == OptimisticLockStyle.ALL
+				|| persister.getEntityMetamodel().getOptimisticLockStyle() == OptimisticLockStyle.DIRTY ) {
+			return null;
+		}
+		final PersistentAttributeInterceptor currentInterceptor =
+				( (PersistentAttributeInterceptable) entity ).$$_hibernate_getInterceptor();
+		if ( currentInterceptor != null && !( currentInterceptor instanceof LazyToOneAttributeInterceptor ) ) {
+			// an interceptor installed by somebody else is not to be replaced
+			return null;
+		}
+
+		final Type[] types = persister.getPropertyTypes();
+		final CascadeStyle[] cascadeStyles = persister.getPropertyCascadeStyles();
+		final boolean[] deferrable = new boolean[types.length];
+		for ( int i = 0; i < types.length; i++ ) {
+			deferrable[i] = types[i] instanceof ManyToOneType
+					&& cascadeStyles[i] == CascadeStyles.NONE
+					&& ( (ManyToOneType) types[i] ).isResolutionDeferrable( factory );
+		}
+		if ( persister.hasNaturalIdentifier() ) {
+			for ( int naturalIdProperty : persister.getNaturalIdentifierProperties() ) {
+				deferrable[naturalIdProperty] = false;
+			}
+		}
+		return deferrable;
+	}
+
 	/**
 	 * PostLoad cannot occur during initializeEntity, as that call occurs *before*
 	 * the Set collections are added to the persistence context by Loader.
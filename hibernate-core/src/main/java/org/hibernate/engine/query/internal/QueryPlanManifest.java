@@ -0,0 +1,234 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.query.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * The set of HQL query strings compiled by a {@link org.hibernate.engine.query.spi.QueryPlanCache}, persisted to
+ * a file so that the next SessionFactory built against the same file can compile them up-front.
+ * <p/>
+ * The file holds one query per line, in UTF-8; backslashes and line breaks within a query are escaped.  The
+ * queries listed by a previous run are read when the manifest is created; the file is then replaced as soon as
+ * the first query is recorded, and each query is appended (and flushed) as it is recorded, so that the manifest
+ * survives a JVM which is not shut down cleanly.
+ * <p/>
+ * Queries holding inline literals are never recorded, so that values embedded in query strings do not end up on
+ * disk; such queries are rarely worth warming up anyway, as each distinct value makes for a distinct plan.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_MANIFEST
+ */
+public class QueryPlanManifest {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( QueryPlanManifest.class );
+
+	private static final String ENCODING = "UTF-8";
+
+	private final File file;
+	private final int maxSize;
+	private final List<String> previousQueries;
+	private final Set<String> queries = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+
+	private Writer writer;
+	private boolean writeFailed;
+
+	/**
+	 * Constructs a manifest backed by the given file, reading the queries it currently lists.
+	 *
+	 * @param file The manifest file; it need not exist yet
+	 * @param maxSize The maximum number of queries recorded
+	 */
+	public QueryPlanManifest(File file, int maxSize) {
+		this.file = file;
+		this.maxSize = maxSize;
+		this.previousQueries = readFile( file );
+	}
+
+	/**
+	 * The queries listed in the manifest file when this manifest was created.
+	 *
+	 * @return The queries; empty if the file did not exist or could not be read
+	 */
+	public List<String> read() {
+		return Collections.unmodifiableList( previousQueries );
+	}
+
+	private static List<String> readFile(File file) {
+		final List<String> result = new ArrayList<String>();
+		if ( !file.exists() ) {
+			return result;
+		}
+		try {
+			final BufferedReader reader = new BufferedReader( new InputStreamReader( new FileInputStream( file ), ENCODING ) );
+			try {
+				String line;
+				while ( ( line = reader.readLine() ) != null ) {
+					if ( line.length() > 0 ) {
+						result.add( unescape( line ) );
+					}
+				}
+			}
+			finally {
+				reader.close();
+			}
+		}
+		catch (IOException e) {
+			LOG.warnf( "Unable to read query plan manifest [%s] : %s", file, e.getMessage() );
+		}
+		return result;
+	}
+
+	/**
+	 * Record a query whose plan was compiled, appending it to the manifest file unless it was recorded already,
+	 * the manifest is full, or the query holds inline literals.
+	 *
+	 * @param query The HQL query string
+	 */
+	public void record(String query) {
+		if ( queries.size() < maxSize && !hasInlineLiterals( query ) && queries.add( query ) ) {
+			append( query );
+		}
+	}
+
+	private synchronized void append(String query) {
+		if ( writeFailed ) {
+			return;
+		}
+		try {
+			if ( writer == null ) {
+				final File parent = file.getAbsoluteFile().getParentFile();
+				if ( parent != null && !parent.exists() ) {
+					parent.mkdirs();
+				}
+				writer = new BufferedWriter( new OutputStreamWriter( new FileOutputStream( file ), ENCODING ) );
+			}
+			writer.write( escape( query ) );
+			writer.write( '\n' );
+			writer.flush();
+		}
+		catch (IOException e) {
+			writeFailed = true;
+			LOG.warnf( "Unable to write query plan manifest [%s] : %s", file, e.getMessage() );
+		}
+	}
+
+	/**
+	 * Close the manifest file.  Queries recorded afterwards are no longer written.
+	 */
+	public synchronized void close() {
+		if ( writer == null ) {
+			return;
+		}
+		try {
+			writer.close();
+			LOG.debugf( "Wrote %s queries to query plan manifest [%s]", queries.size(), file );
+		}
+		catch (IOException e) {
+			LOG.warnf( "Unable to write query plan manifest [%s] : %s", file, e.getMessage() );
+		}
+		finally {
+			writer = null;
+			writeFailed = true;
+		}
+	}
+
+	/**
+	 * Does the query hold a string or numeric literal?  Digits within identifiers, named parameters and
+	 * JPA-style positional parameters do not count.
+	 */
+	static boolean hasInlineLiterals(String query) {
+		for ( int i = 0; i < query.length(); i++ ) {
+			final char c = query.charAt( i );
+			if ( c == '\'' ) {
+				return true;
+			}
+			if ( Character.isDigit( c ) ) {
+				final char previous = i == 0 ? ' ' : query.charAt( i - 1 );
+				if ( !Character.isJavaIdentifierPart( previous ) && previous != '?' && previous != ':' ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static String escape(String query) {
+		final StringBuilder buffer = new StringBuilder( query.length() );
+		for ( int i = 0; i < query.length(); i++ ) {
+			final char c = query.charAt( i );
+			switch ( c ) {
+				case '\\':
+					buffer.append( "\\\\" );
+					break;
+				case '\n':
+					buffer.append( "\\n" );
+					break;
+				case '\r':
+					buffer.append( "\\r" );
+					break;
+				default:
+					buffer.append( c );
+			}
+		}
+		return buffer.toString();
+	}
+
+	private static String unescape(String line) {
+		final StringBuilder buffer = new StringBuilder( line.length() );
+		for ( int i = 0; i < line.length(); i++ ) {
+			final char c = line.charAt( i );
+			if ( c == '\\' && i + 1 < line.length() ) {
+				final char next = line.charAt( ++i );
+				if ( next == 'n' ) {
+					buffer.append( '\n' );
+				}
+				else if ( next == 'r' ) {
+					buffer.append( '\r' );
+				}
+				else {
+					buffer.append( next );
+				}
+			}
+			else {
+				buffer.append( c );
+			}
+		}
+		return buffer.toString();
+	}
+}
@@ -23,19 +23,32 @@
  */
 package org.hibernate.engine.query.spi;
 
+import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 import org.hibernate.Filter;
+import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
 import org.hibernate.cfg.Environment;
+import org.hibernate.engine.query.internal.QueryPlanManifest;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
@@ -43,6 +56,10 @@ import org.hibernate.internal.FilterImpl;
 import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.loader.criteria.CriteriaLoader;
+import org.hibernate.loader.criteria.CriteriaLoaderKey;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
+import org.hibernate.persister.entity.OuterJoinLoadable;
 
 /**
  * Acts as a cache for compiled query plans, as well as query-parameter metadata.
@@ -81,6 +98,24 @@ public class QueryPlanCache implements Serializable {
 	 */
 	private final BoundedConcurrentHashMap<String,ParameterMetadata> parameterMetadataCache;
 
+	/**
+	 * the plans currently being compiled, keyed like {@link #queryPlanCache}; concurrent misses on the same
+	 * key wait for the one compilation in progress rather than each compiling the same plan
+	 */
+	private final ConcurrentHashMap<Object,FutureTask<Object>> plansInCompilation =
+			new ConcurrentHashMap<Object, FutureTask<Object>>();
+
+
+	/**
+	 * the record of compiled HQL queries used to warm up the cache of the next SessionFactory, if enabled
+	 */
+	private final QueryPlanManifest manifest;
+	private final int warmUpThreads;
+
+	/**
+	 * whether loaders for legacy Criteria queries are cached alongside the query plans
+	 */
+	private final boolean criteriaLoaderCachingEnabled;
 
 	private NativeQueryInterpreter nativeQueryInterpreterService;
 
@@ -123,9 +158,76 @@ public class QueryPlanCache implements Serializable {
 				BoundedConcurrentHashMap.Eviction.LIRS
 		);
 
+		final String manifestPath = ConfigurationHelper.getString(
+				Environment.QUERY_PLAN_CACHE_MANIFEST,
+				factory.getProperties()
+		);
+		manifest = manifestPath == null ? null : new QueryPlanManifest( new File( manifestPath ), maxQueryPlanCount );
+		warmUpThreads = ConfigurationHelper.getInt(
+				Environment.QUERY_PLAN_CACHE_WARM_UP_THREADS,
+				factory.getProperties(),
+				Runtime.getRuntime().availableProcessors()
+		);
+
+		criteriaLoaderCachingEnabled = ConfigurationHelper.getBoolean(
+				Environment.QUERY_PLAN_CACHE_CRITERIA_ENABLED,
+				factory.getProperties(),
+				false
+		);
+
 		nativeQueryInterpreterService = factory.getServiceRegistry().getService( NativeQueryInterpreter.class );
 	}
 
+	/**
+	 * Compile the plans of the given HQL queries, along with those recorded in the query plan manifest, on
+	 * {@link Environment#QUERY_PLAN_CACHE_WARM_UP_THREADS} threads, returning once they are all cached.  Does
+	 * nothing unless a {@link Environment#QUERY_PLAN_CACHE_MANIFEST} is configured.  Queries which no longer
+	 * compile are skipped, and dropped from the manifest.
+	 *
+	 * @param namedQueryStrings The query strings of the named HQL queries
+	 */
+	public void warmUp(Collection<String> namedQueryStrings) {
+		if ( manifest == null ) {
+			return;
+		}
+		final Set<String> queryStrings = new LinkedHashSet<String>( namedQueryStrings );
+		queryStrings.addAll( manifest.read() );
+		if ( queryStrings.isEmpty() ) {
+			return;
+		}
+		LOG.debugf( "Warming up query plan cache with %s queries", queryStrings.size() );
+
+		final List<Callable<Object>> compilations = new ArrayList<Callable<Object>>( queryStrings.size() );
+		for ( final String queryString : queryStrings ) {
+			compilations.add(
+					new Callable<Object>() {
+						@Override
+						public Object call() {
+							try {
+								return getHQLQueryPlan( queryString, false, Collections.<String,Filter>emptyMap() );
+							}
+							catch (HibernateException e) {
+								LOG.debugf( "Unable to warm up query plan for [%s] : %s", queryString, e.getMessage() );
+								return null;
+							}
+						}
+					}
+			);
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.max( 1, Math.min( warmUpThreads, compilations.size() ) )
+		);
+		try {
+			executor.invokeAll( compilations );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/**
 	 * Obtain the parameter metadata for given native-sql query.
 	 * <p/>
@@ -158,16 +260,29 @@ public class QueryPlanCache implements Serializable {
 	 * @throws MappingException Indicates a problem translating the query
 	 */
 	@SuppressWarnings("unchecked")
-	public HQLQueryPlan getHQLQueryPlan(String queryString, boolean shallow, Map<String,Filter> enabledFilters)
-			throws QueryException, MappingException {
+	public HQLQueryPlan getHQLQueryPlan(
+			final String queryString,
+			final boolean shallow,
+			final Map<String,Filter> enabledFilters) throws QueryException, MappingException {
 		final HQLQueryPlanKey key = new HQLQueryPlanKey( queryString, shallow, enabledFilters );
 		HQLQueryPlan value = (HQLQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
-			value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
-			queryPlanCache.putIfAbsent( key, value );
+			value = (HQLQueryPlan) compilePlan(
+					key,
+					queryString,
+					new Callable<Object>() {
+						@Override
+						public Object call() {
+							return new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
+						}
+					}
+			);
 		} else {
 			LOG.tracev( "Located HQL query plan in cache ({0})", queryString );
+			if ( factory.getStatistics().isStatisticsEnabled() ) {
+				factory.getStatisticsImplementor().queryPlanCacheHit( queryString );
+			}
 		}
 		return value;
 	}
@@ -187,10 +302,10 @@ public class QueryPlanCache implements Serializable {
 	 */
 	@SuppressWarnings("unchecked")
 	public FilterQueryPlan getFilterQueryPlan(
-			String filterString,
-			String collectionRole,
-			boolean shallow,
-			Map<String,Filter> enabledFilters) throws QueryException, MappingException {
+			final String filterString,
+			final String collectionRole,
+			final boolean shallow,
+			final Map<String,Filter> enabledFilters) throws QueryException, MappingException {
 		final FilterQueryPlanKey key =  new FilterQueryPlanKey( filterString, collectionRole, shallow, enabledFilters );
 		FilterQueryPlan value = (FilterQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
@@ -199,15 +314,138 @@ public class QueryPlanCache implements Serializable {
 					collectionRole,
 					filterString
 			);
-			value = new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters,factory );
-			queryPlanCache.putIfAbsent( key, value );
+			value = (FilterQueryPlan) compilePlan(
+					key,
+					filterString,
+					new Callable<Object>() {
+						@Override
+						public Object call() {
+							return new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters, factory );
+						}
+					}
+			);
 		}
 		else {
 			LOG.tracev( "Located collection-filter query plan in cache ({0} : {1})", collectionRole, filterString );
+			if ( factory.getStatistics().isStatisticsEnabled() ) {
+				factory.getStatisticsImplementor().queryPlanCacheHit( filterString );
+			}
 		}
 		return value;
 	}
 
+	/**
+	 * Get the loader for a Criteria query against the given entity, creating it and caching it if criteria loader
+	 * caching is enabled (see {@link Environment#QUERY_PLAN_CACHE_CRITERIA_ENABLED}) and it is not already cached.
+	 * <p/>
+	 * The returned loader may be shared; it must be executed with the query parameters of the given translator.
+	 *
+	 * @param persister The persister of the entity being queried
+	 * @param translator The translator for the criteria
+	 * @param rootEntityName The name of the entity being queried
+	 * @param loadQueryInfluencers The influencers in effect on the Session
+	 *
+	 * @return The loader
+	 */
+	public CriteriaLoader getCriteriaLoader(
+			final OuterJoinLoadable persister,
+			final CriteriaQueryTranslator translator,
+			final String rootEntityName,
+			final LoadQueryInfluencers loadQueryInfluencers) {
+		if ( !criteriaLoaderCachingEnabled || !CriteriaLoaderKey.isCacheable( loadQueryInfluencers ) ) {
+			return new CriteriaLoader( persister, factory, translator, rootEntityName, loadQueryInfluencers );
+		}
+
+		final CriteriaLoaderKey key = new CriteriaLoaderKey( translator, rootEntityName, loadQueryInfluencers );
+		final String description = "[CRITERIA] " + rootEntityName;
+		CriteriaLoader value = (CriteriaLoader) queryPlanCache.get( key );
+		if ( value == null ) {
+			LOG.tracev( "Unable to locate criteria loader in cache; generating ({0})", key );
+			value = (CriteriaLoader) compilePlan(
+					key,
+					description,
+					new Callable<Object>() {
+						@Override
+						public Object call() {
+							return new CriteriaLoader( persister, factory, translator, rootEntityName, loadQueryInfluencers );
+						}
+					}
+			);
+		}
+		else {
+			LOG.tracev( "Located criteria loader in cache ({0})", key );
+			if ( factory.getStatistics().isStatisticsEnabled() ) {
+				factory.getStatisticsImplementor().queryPlanCacheHit( description );
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Compile the plan for the given key and add it to the cache, unless another thread is already compiling
+	 * it, in which case wait for and use that thread's plan (or failure).
+	 */
+	private Object compilePlan(final Object key, final String queryString, final Callable<Object> compilation) {
+		final FutureTask<Object> compilationTask = new FutureTask<Object>(
+				new Callable<Object>() {
+					@Override
+					public Object call() throws Exception {
+						// the compilation that was in progress when we missed may have completed since
+						final Object cached = queryPlanCache.get( key );
+						if ( cached != null ) {
+							return cached;
+						}
+						final long start = System.currentTimeMillis();
+						final Object plan = compilation.call();
+						queryPlanCache.putIfAbsent( key, plan );
+						if ( manifest != null && key instanceof HQLQueryPlanKey && ( (HQLQueryPlanKey) key ).isRecordable() ) {
+							manifest.record( queryString );
+						}
+						if ( factory.getStatistics().isStatisticsEnabled() ) {
+							factory.getStatisticsImplementor().queryPlanCacheMiss(
+									queryString,
+									System.currentTimeMillis() - start
+							);
+						}
+						return plan;
+					}
+				}
+		);
+
+		final FutureTask<Object> inProgress = plansInCompilation.putIfAbsent( key, compilationTask );
+		if ( inProgress != null ) {
+			LOG.tracev( "Waiting for query plan compilation in progress ({0})", queryString );
+			return awaitPlan( inProgress );
+		}
+		try {
+			compilationTask.run();
+			return awaitPlan( compilationTask );
+		}
+		finally {
+			plansInCompilation.remove( key, compilationTask );
+		}
+	}
+
+	private static Object awaitPlan(FutureTask<Object> compilationTask) {
+		try {
+			return compilationTask.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while waiting for query plan compilation", e );
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( cause );
+		}
+	}
+
 	/**
 	 * Get the query plan for a native SQL query, creating it and caching it if not already cached
 	 *
@@ -237,7 +475,11 @@ public class QueryPlanCache implements Serializable {
 	 */
 	public void cleanup() {
 		LOG.trace( "Cleaning QueryPlan Cache" );
+		if ( manifest != null ) {
+			manifest.close();
+		}
 		queryPlanCache.clear();
+		plansInCompilation.clear();
 		parameterMetadataCache.clear();
 	}
 
@@ -291,6 +533,13 @@ public class QueryPlanCache implements Serializable {
 		public int hashCode() {
 			return hashCode;
 		}
+
+		/**
+		 * Only plain, unfiltered, non-shallow plans can be replayed from the manifest on a later startup.
+		 */
+		public boolean isRecordable() {
+			return !shallow && filterKeys.isEmpty();
+		}
 	}
 
 	private static class DynamicFilterKey implements Serializable {
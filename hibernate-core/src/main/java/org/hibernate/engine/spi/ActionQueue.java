@@ -106,6 +106,8 @@ public class ActionQueue {
 	private final List<ExecutableList<?>> executableLists;
 
 	private transient boolean isTransactionCoordinatorShared;
+	// whether any action was executed since the last transaction completion
+	private transient boolean hasWrittenInTransaction;
 	private AfterTransactionCompletionProcessQueue afterTransactionProcesses;
 	private BeforeTransactionCompletionProcessQueue beforeTransactionProcesses;
 
@@ -376,6 +378,7 @@ public class ActionQueue {
 	 * @param success Was the transaction successful.
 	 */
 	public void afterTransactionCompletion(boolean success) {
+		hasWrittenInTransaction = false;
 		if ( !isTransactionCoordinatorShared ) {
 			// Execute completion actions only in transaction owner (aka parent session).
 			afterTransactionProcesses.afterTransactionCompletion( success );
@@ -461,6 +464,7 @@ public class ActionQueue {
 		//		2) ExecutableList#getQuerySpaces also iterates the Executables to collect query spaces.
 		try {
 			for ( E e : list ) {
+				hasWrittenInTransaction = true;
 				try {
 					e.execute();
 				}
@@ -488,6 +492,7 @@ public class ActionQueue {
 	 * @param executable The action to execute
 	 */
 	public <E extends Executable & Comparable<?>> void execute(E executable) {
+		hasWrittenInTransaction = true;
 		try {
 			executable.execute();
 		}
@@ -604,6 +609,17 @@ public class ActionQueue {
 		}
 	}
 
+	/**
+	 * Did this queue execute any action since the last transaction completion?  The changes flushed that way
+	 * are not visible to other connections (and may hold locks against them) until the transaction completes.
+	 * Bulk operations are not accounted for.
+	 *
+	 * @return {@code true} if the current transaction contains changes made through this queue
+	 */
+	public boolean hasWrittenInTransaction() {
+		return hasWrittenInTransaction;
+	}
+
 	public boolean hasAfterTransactionActions() {
 		return isTransactionCoordinatorShared ? false : afterTransactionProcesses.hasActions();
 	}
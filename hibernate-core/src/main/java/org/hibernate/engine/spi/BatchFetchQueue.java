@@ -24,9 +24,11 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -35,6 +37,7 @@ import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.util.collections.IdentityMap;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 
@@ -330,6 +333,30 @@ public class BatchFetchQueue {
 		return keys; //we ran out of keys to try
 	}
 
+	/**
+	 * Get the keys of all the uninitialized collections of the given role associated with the persistence
+	 * context, leaving out those which can be initialized from the second-level cache.
+	 *
+	 * @param collectionPersister The persister for the collection role.
+	 * @return The collection keys, possibly empty
+	 */
+	@SuppressWarnings("unchecked")
+	public Serializable[] getUninitializedCollectionKeys(CollectionPersister collectionPersister) {
+		final List<Serializable> keys = new ArrayList<Serializable>();
+		final Map<PersistentCollection, CollectionEntry> collectionEntries = context.getCollectionEntries();
+		for ( Entry<PersistentCollection, CollectionEntry> me : IdentityMap.concurrentEntries( collectionEntries ) ) {
+			final CollectionEntry ce = me.getValue();
+			if ( me.getKey().wasInitialized()
+					|| ce.getLoadedPersister() != collectionPersister
+					|| ce.getLoadedKey() == null
+					|| isCached( ce.getLoadedKey(), collectionPersister ) ) {
+				continue;
+			}
+			keys.add( ce.getLoadedKey() );
+		}
+		return keys.toArray( new Serializable[keys.size()] );
+	}
+
 	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
 		if ( context.getSession().getCacheMode().isGetEnabled() && persister.hasCache() ) {
 			CacheKey cacheKey = context.getSession().generateCacheKey(
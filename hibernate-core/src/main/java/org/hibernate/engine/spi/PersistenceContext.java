@@ -506,6 +506,31 @@ public interface PersistenceContext {
 	 */
 	public Map.Entry<Object,EntityEntry>[] reentrantSafeEntityEntries();
 
+	/**
+	 * Register an entity instance as possibly dirty, so that an incremental flush visits it even though it does
+	 * not report any change itself.  Only tracked when {@link org.hibernate.cfg.AvailableSettings#INCREMENTAL_FLUSH}
+	 * is enabled.
+	 *
+	 * @param entity The entity instance
+	 *
+	 * @see #isPossiblyDirty
+	 */
+	public void registerPossiblyDirtyEntity(Object entity);
+
+	/**
+	 * Has the given entity instance been registered as possibly dirty since the last flush?
+	 *
+	 * @param entity The entity instance
+	 *
+	 * @return {@code true} if the entity must be visited by the next incremental flush
+	 */
+	public boolean isPossiblyDirty(Object entity);
+
+	/**
+	 * Forget all entity instances registered as possibly dirty; called once a flush has been executed.
+	 */
+	public void clearPossiblyDirtyEntities();
+
 	/**
 	 * Get the mapping from entity instance to entity entry
 	 *
@@ -28,7 +28,10 @@ import java.sql.Connection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
+import org.hibernate.AsyncResult;
 import org.hibernate.CacheMode;
 import org.hibernate.Criteria;
 import org.hibernate.Filter;
@@ -39,6 +42,7 @@ import org.hibernate.Interceptor;
 import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.Query;
 import org.hibernate.ReplicationMode;
@@ -284,6 +288,11 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return sessionImplementor.executeNativeUpdate( specification, queryParameters );
 	}
 
+	@Override
+	public <T> AsyncResult<T> executeAsync(Callable<T> work, Executor executor) {
+		return sessionImplementor.executeAsync( work, executor );
+	}
+
 	@Override
 	public CacheMode getCacheMode() {
 		return sessionImplementor.getCacheMode();
@@ -616,6 +625,11 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.buildLockRequest( lockOptions );
 	}
 
+	@Override
+	public void initializeCollections(String role) {
+		session.initializeCollections( role );
+	}
+
 	@Override
 	public void refresh(Object object) {
 		session.refresh( object );
@@ -661,6 +675,21 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.get( clazz, id );
 	}
 
+	@Override
+	public AsyncResult<Object> getAsync(Class clazz, Serializable id, Executor executor) {
+		return session.getAsync( clazz, id, executor );
+	}
+
+	@Override
+	public AsyncResult<Object> getAsync(String entityName, Serializable id, Executor executor) {
+		return session.getAsync( entityName, id, executor );
+	}
+
+	@Override
+	public List<List> parallel(Executor executor, Query... queries) {
+		return session.parallel( executor, queries );
+	}
+
 	@Override
 	public Object get(Class clazz, Serializable id, LockMode lockMode) {
 		return session.get( clazz, id, lockMode );
@@ -701,6 +730,16 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.byId( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return session.byMultipleIds( entityName );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) {
+		return session.byMultipleIds( entityClass );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return session.byNaturalId( entityName );
@@ -28,7 +28,10 @@ import java.sql.Connection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
+import org.hibernate.AsyncResult;
 import org.hibernate.CacheMode;
 import org.hibernate.Criteria;
 import org.hibernate.FlushMode;
@@ -324,6 +327,17 @@ public interface SessionImplementor extends Serializable, LobCreationContext {
 	int executeNativeUpdate(NativeSQLQuerySpecification specification, QueryParameters queryParameters)
 			throws HibernateException;
 
+	/**
+	 * Run the given work through the given executor, guarding this session against use by any other thread until
+	 * the work has completed.
+	 *
+	 * @param work The work to run, using this session
+	 * @param executor The executor running the work
+	 *
+	 * @return The pending result of the work
+	 */
+	public <T> AsyncResult<T> executeAsync(Callable<T> work, Executor executor);
+
 
 	// copied from Session:
 
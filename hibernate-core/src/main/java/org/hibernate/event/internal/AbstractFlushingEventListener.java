@@ -25,6 +25,7 @@ package org.hibernate.event.internal;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.HibernateException;
 import org.hibernate.action.internal.CollectionRecreateAction;
@@ -80,6 +81,19 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	 * @throws HibernateException Error flushing caches to execution queues.
 	 */
 	protected void flushEverythingToExecutions(FlushEvent event) throws HibernateException {
+		flushEverythingToExecutions( event, null );
+	}
+
+	/**
+	 * Coordinates the processing necessary to get things ready for executions, like
+	 * {@link #flushEverythingToExecutions(FlushEvent)}, but leaves alone managed entities
+	 * whose changes cannot affect the given query spaces.
+	 *
+	 * @param event The flush event.
+	 * @param querySpaces The query spaces to restrict the flush to, or {@code null} to flush everything.
+	 * @throws HibernateException Error flushing caches to execution queues.
+	 */
+	protected void flushEverythingToExecutions(FlushEvent event, Set querySpaces) throws HibernateException {
 
 		LOG.trace( "Flushing session" );
 
@@ -89,6 +103,8 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		session.getInterceptor().preFlush( new LazyIterator( persistenceContext.getEntitiesByKey() ) );
 
 		prepareEntityFlushes( session, persistenceContext );
+		// resolved after the cascades, which can make entities and collections part of the flush
+		final FlushScope scope = FlushScope.resolve( session, querySpaces );
 		// we could move this inside if we wanted to
 		// tolerate collection initializations during
 		// collection dirty checking:
@@ -99,8 +115,8 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		persistenceContext.setFlushing( true );
 		try {
-			int entityCount = flushEntities( event, persistenceContext );
-			int collectionCount = flushCollections( session, persistenceContext );
+			int entityCount = flushEntities( event, persistenceContext, scope );
+			int collectionCount = flushCollections( session, persistenceContext, scope );
 
 			event.setNumberOfEntitiesProcessed( entityCount );
 			event.setNumberOfCollectionsProcessed( collectionCount );
@@ -199,7 +215,10 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	 * 2. schedule any entity updates
 	 * 3. search out any reachable collections
 	 */
-	private int flushEntities(final FlushEvent event, final PersistenceContext persistenceContext) throws HibernateException {
+	private int flushEntities(
+			final FlushEvent event,
+			final PersistenceContext persistenceContext,
+			final FlushScope scope) throws HibernateException {
 
 		LOG.trace( "Flushing entities and processing referenced collections" );
 
@@ -216,7 +235,7 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		// So this needs to be safe from concurrent modification problems.
 
 		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
-		final int count = entityEntries.length;
+		int count = entityEntries.length;
 
 		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
 
@@ -225,7 +244,10 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 			EntityEntry entry = me.getValue();
 			Status status = entry.getStatus();
 
-			if ( status != Status.LOADING && status != Status.GONE ) {
+			if ( scope != null && !scope.requiresFlush( me.getKey(), entry ) ) {
+				count--;
+			}
+			else if ( status != Status.LOADING && status != Status.GONE ) {
 				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
 				for ( FlushEntityEventListener listener : flushListeners ) {
 					listener.onFlushEntity( entityEvent );
@@ -243,7 +265,10 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	 * scheduling creates/removes/updates
 	 */
 	@SuppressWarnings("unchecked")
-	private int flushCollections(final EventSource session, final PersistenceContext persistenceContext) throws HibernateException {
+	private int flushCollections(
+			final EventSource session,
+			final PersistenceContext persistenceContext,
+			final FlushScope scope) throws HibernateException {
 		LOG.trace( "Processing unreferenced collections" );
 
 		final Map.Entry<PersistentCollection,CollectionEntry>[] entries = IdentityMap.concurrentEntries(
@@ -255,7 +280,13 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		for ( Map.Entry<PersistentCollection,CollectionEntry> me : entries ) {
 			CollectionEntry ce = me.getValue();
 			if ( !ce.isReached() && !ce.isIgnore() ) {
-				Collections.processUnreachableCollection( me.getKey(), session );
+				if ( scope != null && scope.isOwnerSkipped( me.getKey() ) ) {
+					// not dereferenced, its owner was just not visited
+					Collections.processUnvisitedCollection( me.getKey(), session );
+				}
+				else {
+					Collections.processUnreachableCollection( me.getKey(), session );
+				}
 			}
 		}
 
@@ -304,7 +335,8 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 							)
 					);
 			}
-			if ( !coll.wasInitialized() && coll.hasQueuedOperations() ) {
+			if ( !coll.wasInitialized() && coll.hasQueuedOperations()
+					&& ( scope == null || !scope.isOwnerSkipped( coll ) ) ) {
 				actionQueue.addAction(
 						new QueuedOperationCollectionAction(
 								coll,
@@ -23,6 +23,8 @@
  */
 package org.hibernate.event.internal;
 
+import java.util.Set;
+
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.event.spi.AutoFlushEvent;
@@ -58,7 +60,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 				// Need to get the number of collection removals before flushing to executions
 				// (because flushing to executions can add collection removal actions to the action queue).
 				final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
-				flushEverythingToExecutions(event);
+				final Set querySpaces = isQuerySpaceAware( event, source ) ? event.getQuerySpaces() : null;
+				flushEverythingToExecutions( event, querySpaces );
 				if ( flushIsReallyNeeded(event, source) ) {
 					LOG.trace( "Need to execute flush" );
 
@@ -66,6 +69,10 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 					// collections (the collection actions) in the session
 					performExecutions(source);
 					postFlush(source);
+					if ( querySpaces == null ) {
+						// otherwise the entities left alone still have to be visited by a later flush
+						source.getPersistenceContext().clearPossiblyDirtyEntities();
+					}
 
 					postPostFlush( source );
 
@@ -95,6 +102,18 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 						source.getFlushMode()==FlushMode.ALWAYS;
 	}
 
+	/**
+	 * Can the flush be restricted to the entities affecting the query spaces?  Not if everything has to be
+	 * flushed anyway, nor if deletions are pending: those might depend on updates to any other entity.
+	 */
+	private boolean isQuerySpaceAware(AutoFlushEvent event, final EventSource source) {
+		return source.getFactory().getSettings().isQuerySpaceAwareAutoFlushEnabled()
+				&& event.getQuerySpaces() != null
+				&& source.getFlushMode() != FlushMode.ALWAYS
+				&& source.getActionQueue().numberOfDeletions() == 0
+				&& source.getActionQueue().numberOfCollectionRemovals() == 0;
+	}
+
 	private boolean flushMightBeNeeded(final EventSource source) {
 		return !source.getFlushMode().lessThan(FlushMode.AUTO) &&
 				source.getDontFlushFromFind() == 0 &&
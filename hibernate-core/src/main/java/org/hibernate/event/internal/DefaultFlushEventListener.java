@@ -55,6 +55,7 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 				flushEverythingToExecutions( event );
 				performExecutions( source );
 				postFlush( source );
+				persistenceContext.clearPossiblyDirtyEntities();
 			}
 			finally {
 				source.getEventListenerManager().flushEnd(
@@ -345,6 +345,7 @@ public class DefaultMergeEventListener extends AbstractSaveEventListener impleme
 
 			//copyValues works by reflection, so explicitly mark the entity instance dirty
 			markInterceptorDirty( entity, target, persister );
+			source.getPersistenceContext().registerPossiblyDirtyEntity( target );
 
 			event.setResult( result );
 		}
@@ -0,0 +1,234 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.event.internal;
+
+import java.io.Serializable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.internal.util.collections.IdentitySet;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Decides which managed entities a flush has to dirty check when it does not check all of them: an incremental
+ * flush (see {@link org.hibernate.cfg.AvailableSettings#INCREMENTAL_FLUSH}) skips entities known to be
+ * unmodified, a query space aware auto-flush (see
+ * {@link org.hibernate.cfg.AvailableSettings#QUERY_SPACE_AWARE_AUTO_FLUSH}) skips entities which cannot affect
+ * the tables about to be queried.
+ * <p/>
+ * Flush-time cascades are not narrowed: a skipped entity may still reference a new entity stored in the queried
+ * tables.  Entities in any state but {@link Status#MANAGED} are always visited.
+ */
+final class FlushScope {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			FlushScope.class.getName()
+	);
+
+	private final PersistenceContext persistenceContext;
+	private final boolean incremental;
+	private final Set querySpaces;
+
+	// owners of collections which might be dirty
+	private final IdentitySet dirtyCollectionOwners = new IdentitySet();
+	// whether the collections of an entity are stored in one of the query spaces
+	private final Map<EntityPersister,Boolean> collectionsInQuerySpaces = new IdentityHashMap<EntityPersister,Boolean>();
+
+	private FlushScope(PersistenceContext persistenceContext, boolean incremental, Set querySpaces) {
+		this.persistenceContext = persistenceContext;
+		this.incremental = incremental;
+		this.querySpaces = querySpaces;
+	}
+
+	/**
+	 * Resolve the scope of a flush.
+	 *
+	 * @param session The session being flushed
+	 * @param querySpaces The spaces an auto-flush is restricted to, or {@code null}
+	 *
+	 * @return The scope, or {@code null} if every entity has to be visited
+	 */
+	@SuppressWarnings("unchecked")
+	static FlushScope resolve(EventSource session, Set querySpaces) {
+		final boolean incremental = session.getFactory().getSettings().isIncrementalFlushEnabled();
+		if ( !incremental && querySpaces == null ) {
+			return null;
+		}
+
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+		final FlushScope scope = new FlushScope( persistenceContext, incremental, querySpaces );
+		if ( !incremental ) {
+			return scope;
+		}
+		for ( Map.Entry<PersistentCollection,CollectionEntry> me :
+				IdentityMap.concurrentEntries( (Map<PersistentCollection,CollectionEntry>) persistenceContext.getCollectionEntries() ) ) {
+			final PersistentCollection collection = me.getKey();
+			if ( mightBeDirty( collection, me.getValue() ) ) {
+				final Object owner = collection.getOwner();
+				if ( owner == null ) {
+					LOG.trace( "Owner of a dirty collection is unknown, flushing all entities" );
+					return null;
+				}
+				scope.dirtyCollectionOwners.add( owner );
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Mirrors the checks of {@link CollectionEntry#preFlush}, without comparing against the snapshot
+	 */
+	private static boolean mightBeDirty(PersistentCollection collection, CollectionEntry entry) {
+		if ( collection.isDirty() || collection.hasQueuedOperations() ) {
+			return true;
+		}
+		final CollectionPersister loadedPersister = entry.getLoadedPersister();
+		return loadedPersister == null
+				|| collection.wasInitialized()
+						&& loadedPersister.isMutable()
+						&& ( collection.isDirectlyAccessible() || loadedPersister.getElementType().isMutable() );
+	}
+
+	private boolean intersectsQuerySpaces(Serializable[] spaces) {
+		if ( querySpaces == null ) {
+			return true;
+		}
+		for ( Serializable space : spaces ) {
+			if ( querySpaces.contains( space ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Could the collections of the given entity be stored in one of the query spaces?  Decided on the mapping
+	 * rather than on the collection entries, since a collection replaced by a new instance has no entry yet.
+	 */
+	private boolean hasCollectionsInQuerySpaces(EntityPersister persister) {
+		Boolean result = collectionsInQuerySpaces.get( persister );
+		if ( result == null ) {
+			result = hasCollectionsInQuerySpaces( persister.getPropertyTypes(), persister.getFactory() );
+			collectionsInQuerySpaces.put( persister, result );
+		}
+		return result;
+	}
+
+	private boolean hasCollectionsInQuerySpaces(Type[] types, SessionFactoryImplementor factory) {
+		for ( Type type : types ) {
+			if ( type.isCollectionType() ) {
+				final CollectionPersister collectionPersister = factory.getCollectionPersister(
+						( (CollectionType) type ).getRole()
+				);
+				if ( intersectsQuerySpaces( collectionPersister.getCollectionSpaces() ) ) {
+					return true;
+				}
+			}
+			else if ( type.isComponentType()
+					&& hasCollectionsInQuerySpaces( ( (CompositeType) type ).getSubtypes(), factory ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Does the flush need to dirty check the given entity?
+	 *
+	 * @param entity The entity instance
+	 * @param entry Its entry in the persistence context
+	 *
+	 * @return {@code false} if the entity can safely be left alone by this flush
+	 */
+	boolean requiresFlush(Object entity, EntityEntry entry) {
+		if ( entry.getStatus() != Status.MANAGED ) {
+			return true;
+		}
+
+		final EntityPersister persister = entry.getPersister();
+		if ( querySpaces != null
+				&& !intersectsQuerySpaces( persister.getPropertySpaces() )
+				&& !hasCollectionsInQuerySpaces( persister ) ) {
+			return false;
+		}
+
+		if ( !incremental
+				|| dirtyCollectionOwners.contains( entity )
+				|| persistenceContext.isPossiblyDirty( entity ) ) {
+			return true;
+		}
+
+		if ( entity instanceof SelfDirtinessTracker ) {
+			// enhanced writers only record changes while an interceptor is attached
+			if ( entity instanceof PersistentAttributeInterceptable
+					&& ( (PersistentAttributeInterceptable) entity ).$$_hibernate_getInterceptor() == null ) {
+				return true;
+			}
+			return ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes();
+		}
+
+		if ( persister.getInstrumentationMetadata().isInstrumented() && !persister.hasMutableProperties() ) {
+			final FieldInterceptor interceptor = persister.getInstrumentationMetadata().extractInterceptor( entity );
+			return interceptor == null || interceptor.isDirty();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Was the owner of the given (unreached) collection left alone by this flush?  If so, the collection is still
+	 * referenced by it and must not be treated as dereferenced.
+	 *
+	 * @param collection The collection
+	 *
+	 * @return {@code true} if the owner is managed but was not visited
+	 */
+	boolean isOwnerSkipped(PersistentCollection collection) {
+		final Object owner = collection.getOwner();
+		if ( owner == null ) {
+			return false;
+		}
+		final EntityEntry ownerEntry = persistenceContext.getEntry( owner );
+		return ownerEntry != null && !requiresFlush( owner, ownerEntry );
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.hql.internal.ast.tree.FromElement;
+import org.hibernate.hql.internal.ast.tree.RestrictableStatement;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.loader.ArrayParameterHelper;
+import org.hibernate.param.ParameterSpecification;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Base for the {@link InlineIdsBulkIdStrategy} handlers.  The ids matching the bulk operation are selected first, and
+ * then rendered into the restriction of each of the per-table statements, either as a single array parameter (see
+ * {@link Dialect#getArrayParameterRestriction}) or as an {@code IN} list of at most {@link #MAX_IN_LIST_SIZE} ids.
+ */
+public abstract class AbstractInlineIdsBulkIdHandler extends AbstractTableBasedBulkIdHandler {
+	private static final Logger log = Logger.getLogger( AbstractInlineIdsBulkIdHandler.class );
+
+	public static final int MAX_IN_LIST_SIZE = 500;
+
+	private final Queryable targetedPersister;
+
+	private final String idSelect;
+	private final List<ParameterSpecification> idSelectParameterSpecifications;
+
+	private final int arrayElementSqlType;
+	private final int inListSize;
+
+	public AbstractInlineIdsBulkIdHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		super( factory, walker, null, null );
+
+		final RestrictableStatement statement = (RestrictableStatement) walker.getAST();
+		final FromElement fromElement = statement.getFromClause().getFromElement();
+
+		this.targetedPersister = fromElement.getQueryable();
+
+		final ProcessedWhereClause processedWhereClause = processWhereClause( statement.getWhereClause() );
+		this.idSelectParameterSpecifications = processedWhereClause.getIdSelectParameterSpecifications();
+		this.idSelect = generateIdSelect( targetedPersister, fromElement.getTableAlias(), processedWhereClause )
+				.toStatementString();
+		log.tracev( "Generated ID-SELECT SQL (multi-table bulk operation) : {0}", idSelect );
+
+		this.arrayElementSqlType = ArrayParameterHelper.resolveIdentifierArrayElementSqlType( targetedPersister, factory );
+
+		final int columnSpan = targetedPersister.getIdentifierColumnNames().length;
+		final int inExpressionCountLimit = factory.getDialect().getInExpressionCountLimit();
+		int inListSize = MAX_IN_LIST_SIZE;
+		if ( inExpressionCountLimit > 0 ) {
+			inListSize = Math.min( inListSize, inExpressionCountLimit );
+		}
+		if ( columnSpan > 1 && !factory.getDialect().supportsRowValueConstructorSyntaxInInList() ) {
+			// rendered as or-ed conjunctions, so keep them short
+			inListSize = Math.max( 1, inListSize / columnSpan );
+		}
+		this.inListSize = inListSize;
+	}
+
+	public Queryable getTargetedQueryable() {
+		return targetedPersister;
+	}
+
+	protected List<Serializable> selectIds(SessionImplementor session, QueryParameters queryParameters) {
+		final List<Serializable> ids = new ArrayList<Serializable>();
+		try {
+			PreparedStatement ps = null;
+			try {
+				ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( idSelect, false );
+				int pos = 1;
+				for ( ParameterSpecification parameterSpecification : idSelectParameterSpecifications ) {
+					pos += parameterSpecification.bind( ps, queryParameters, session, pos );
+				}
+				final ResultSet rs = session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().extract( ps );
+				final Type identifierType = targetedPersister.getIdentifierType();
+				final String[] idColumnNames = targetedPersister.getIdentifierColumnNames();
+				while ( rs.next() ) {
+					ids.add( (Serializable) identifierType.nullSafeGet( rs, idColumnNames, session, null ) );
+				}
+			}
+			finally {
+				if ( ps != null ) {
+					session.getTransactionCoordinator().getJdbcCoordinator().release( ps );
+				}
+			}
+		}
+		catch( SQLException e ) {
+			throw convert( e, "could not select ids for bulk operation", idSelect );
+		}
+		return ids;
+	}
+
+	/**
+	 * Split the ids into the groups to be bound to a single statement.
+	 */
+	protected List<List<Serializable>> groupIds(List<Serializable> ids) {
+		final List<List<Serializable>> groups = new ArrayList<List<Serializable>>();
+		if ( arrayElementSqlType != Types.NULL ) {
+			groups.add( ids );
+		}
+		else {
+			for ( int i = 0; i < ids.size(); i += inListSize ) {
+				groups.add( ids.subList( i, Math.min( ids.size(), i + inListSize ) ) );
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Render the restriction of the given key columns to a group of {@code idCount} ids.
+	 */
+	protected String generateIdRestriction(String[] columnNames, int idCount) {
+		final Dialect dialect = factory().getDialect();
+		if ( arrayElementSqlType != Types.NULL ) {
+			return dialect.getArrayParameterRestriction( columnNames[0], arrayElementSqlType );
+		}
+
+		final StringBuilder buffer = new StringBuilder();
+		if ( columnNames.length == 1 || dialect.supportsRowValueConstructorSyntaxInInList() ) {
+			final String parameters = columnNames.length == 1
+					? "?"
+					: "(" + StringHelper.repeat( "?", columnNames.length, ", " ) + ")";
+			buffer.append( columnNames.length == 1 ? columnNames[0] : "(" + StringHelper.join( ", ", columnNames ) + ")" )
+					.append( " in (" )
+					.append( StringHelper.repeat( parameters, idCount, ", " ) )
+					.append( ')' );
+		}
+		else {
+			final StringBuilder conjunction = new StringBuilder( "(" );
+			for ( int i = 0; i < columnNames.length; i++ ) {
+				if ( i > 0 ) {
+					conjunction.append( " and " );
+				}
+				conjunction.append( columnNames[i] ).append( "=?" );
+			}
+			conjunction.append( ')' );
+			buffer.append( '(' ).append( StringHelper.repeat( conjunction.toString(), idCount, " or " ) ).append( ')' );
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Bind a group of ids to a restriction rendered by {@link #generateIdRestriction}.
+	 *
+	 * @return The number of JDBC parameters bound
+	 */
+	protected int bindIds(PreparedStatement ps, List<Serializable> ids, int position, SessionImplementor session)
+			throws SQLException {
+		if ( arrayElementSqlType != Types.NULL ) {
+			factory().getDialect().bindArrayParameter( ps, position, ids.toArray(), arrayElementSqlType );
+			return 1;
+		}
+
+		final Type identifierType = targetedPersister.getIdentifierType();
+		final int span = identifierType.getColumnSpan( factory() );
+		int pos = position;
+		for ( Serializable id : ids ) {
+			identifierType.nullSafeSet( ps, id, pos, session );
+			pos += span;
+		}
+		return pos - position;
+	}
+}
@@ -0,0 +1,478 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.spi.MetadataImplementor;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.jdbc.connections.spi.JdbcConnectionAccess;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.hql.internal.ast.tree.RestrictableStatement;
+import org.hibernate.internal.AbstractSessionImpl;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.jdbc.AbstractReturningWork;
+import org.hibernate.jdbc.AbstractWork;
+import org.hibernate.param.ParameterSpecification;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.sql.SelectValues;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link PersistentTableBulkIdStrategy} variant which, once the matching ids have been collected, processes the
+ * id table in ranges of {@link #CHUNK_SIZE} ids, each range being updated/deleted and committed in its own isolated
+ * transaction.  Deletes may additionally be spread over {@link #THREADS} connections.
+ * <p/>
+ * Since all of the work happens outside of the Session's current transaction, it only sees committed data and
+ * a failure leaves the already processed ranges committed.  It is intended for large purges of rows not touched
+ * by the current transaction: once the Session has flushed changes in its transaction (or, for a
+ * {@link org.hibernate.StatelessSession}, while a transaction is in progress), the operation is performed
+ * within that transaction, exactly as by {@link PersistentTableBulkIdStrategy}.  The same goes for entities
+ * with composite identifiers.  Changes made through other means (earlier bulk operations, JDBC work) in the
+ * current transaction are not detected.
+ */
+public class ChunkedPersistentTableBulkIdStrategy extends PersistentTableBulkIdStrategy {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ChunkedPersistentTableBulkIdStrategy.class.getName()
+	);
+
+	public static final String SHORT_NAME = "chunked";
+
+	public static final String CHUNK_SIZE = "hibernate.hql.bulk_id_strategy.chunked.chunk_size";
+	public static final String THREADS = "hibernate.hql.bulk_id_strategy.chunked.threads";
+
+	private int chunkSize;
+	private int threads;
+
+	@Override
+	public void prepare(
+			JdbcServices jdbcServices,
+			JdbcConnectionAccess connectionAccess,
+			MetadataImplementor metadata) {
+		super.prepare( jdbcServices, connectionAccess, metadata );
+
+		final ConfigurationService configService = metadata.getMetadataBuildingOptions()
+				.getServiceRegistry()
+				.getService( ConfigurationService.class );
+		this.chunkSize = ConfigurationHelper.getInt( CHUNK_SIZE, configService.getSettings(), 1000 );
+		if ( chunkSize < 1 ) {
+			throw new HibernateException( "Invalid value for [" + CHUNK_SIZE + "] : " + chunkSize );
+		}
+		this.threads = Math.max( 1, ConfigurationHelper.getInt( THREADS, configService.getSettings(), 1 ) );
+	}
+
+	@Override
+	public UpdateHandler buildUpdateHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		if ( !isChunkable( walker ) ) {
+			return super.buildUpdateHandler( factory, walker );
+		}
+
+		final UpdateHandler transactionalHandler = super.buildUpdateHandler( factory, walker );
+		return new TableBasedUpdateHandlerImpl( factory, walker, getCatalog(), getSchema() ) {
+			@Override
+			protected void addAnyExtraIdSelectValues(SelectValues selectClause) {
+				selectClause.addParameter( Types.CHAR, 36 );
+			}
+
+			@Override
+			protected String generateIdSubselect(Queryable persister) {
+				return generateChunkedIdSubselect( super.generateIdSubselect( persister ), persister );
+			}
+
+			@Override
+			protected int handlePrependedParametersOnIdSelection(PreparedStatement ps, SessionImplementor session, int pos) throws SQLException {
+				bindSessionIdentifier( ps, session, pos );
+				return 1;
+			}
+
+			@Override
+			public int execute(final SessionImplementor session, final QueryParameters queryParameters) {
+				if ( hasWrittenInTransaction( session ) ) {
+					return transactionalHandler.execute( session, queryParameters );
+				}
+				final String[] updates = getSqlStatements();
+				final ParameterSpecification[][] assignmentParameterSpecifications = getAssignmentParameterSpecifications();
+				final ChunkWork chunkWork = new ChunkWork() {
+					@Override
+					public void execute(Connection connection, String sessionIdentifier, Object lowerBound, Object upperBound)
+							throws SQLException {
+						for ( int i = 0; i < updates.length; i++ ) {
+							if ( updates[i] == null ) {
+								continue;
+							}
+							final PreparedStatement ps = prepareStatement( connection, updates[i], session );
+							try {
+								int position = 1;
+								for ( ParameterSpecification parameterSpecification : assignmentParameterSpecifications[i] ) {
+									position += parameterSpecification.bind( ps, queryParameters, session, position );
+								}
+								bindChunk( ps, position, sessionIdentifier, lowerBound, upperBound );
+								ps.executeUpdate();
+							}
+							finally {
+								ps.close();
+							}
+						}
+					}
+				};
+				// assignment values are bound through the Session, so the chunks are processed by this thread
+				return executeInChunks(
+						session,
+						queryParameters,
+						getTargetedQueryable(),
+						getIdInsertSelect(),
+						getIdSelectParameterSpecifications(),
+						determineIdTableName( getTargetedQueryable() ),
+						chunkWork,
+						false
+				);
+			}
+		};
+	}
+
+	@Override
+	public DeleteHandler buildDeleteHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		if ( !isChunkable( walker ) ) {
+			return super.buildDeleteHandler( factory, walker );
+		}
+
+		final DeleteHandler transactionalHandler = super.buildDeleteHandler( factory, walker );
+		return new TableBasedDeleteHandlerImpl( factory, walker, getCatalog(), getSchema() ) {
+			@Override
+			protected void addAnyExtraIdSelectValues(SelectValues selectClause) {
+				selectClause.addParameter( Types.CHAR, 36 );
+			}
+
+			@Override
+			protected String generateIdSubselect(Queryable persister) {
+				return generateChunkedIdSubselect( super.generateIdSubselect( persister ), persister );
+			}
+
+			@Override
+			protected int handlePrependedParametersOnIdSelection(PreparedStatement ps, SessionImplementor session, int pos) throws SQLException {
+				bindSessionIdentifier( ps, session, pos );
+				return 1;
+			}
+
+			@Override
+			public int execute(final SessionImplementor session, QueryParameters queryParameters) {
+				if ( hasWrittenInTransaction( session ) ) {
+					return transactionalHandler.execute( session, queryParameters );
+				}
+				final String[] deletes = getSqlStatements();
+				final ChunkWork chunkWork = new ChunkWork() {
+					@Override
+					public void execute(Connection connection, String sessionIdentifier, Object lowerBound, Object upperBound)
+							throws SQLException {
+						for ( String delete : deletes ) {
+							final PreparedStatement ps = prepareStatement( connection, delete, session );
+							try {
+								bindChunk( ps, 1, sessionIdentifier, lowerBound, upperBound );
+								ps.executeUpdate();
+							}
+							finally {
+								ps.close();
+							}
+						}
+					}
+				};
+				return executeInChunks(
+						session,
+						queryParameters,
+						getTargetedQueryable(),
+						getIdInsertSelect(),
+						getIdSelectParameterSpecifications(),
+						determineIdTableName( getTargetedQueryable() ),
+						chunkWork,
+						true
+				);
+			}
+		};
+	}
+
+	private boolean isChunkable(HqlSqlWalker walker) {
+		final Queryable persister = ( (RestrictableStatement) walker.getAST() ).getFromClause()
+				.getFromElement()
+				.getQueryable();
+		return persister.getIdentifierColumnNames().length == 1;
+	}
+
+	/**
+	 * The isolated connections the chunks are processed on would neither see the changes the Session already
+	 * wrote in its current transaction, nor get past the locks held for them.
+	 */
+	private static boolean hasWrittenInTransaction(SessionImplementor session) {
+		if ( session.isEventSource() ) {
+			return ( (EventSource) session ).getActionQueue().hasWrittenInTransaction();
+		}
+		// a StatelessSession writes straight away, without keeping track of it
+		return session.isTransactionInProgress();
+	}
+
+	private String generateChunkedIdSubselect(String idSubselect, Queryable persister) {
+		return idSubselect + " where hib_sess_id=? and " + persister.getIdentifierColumnNames()[0] + " between ? and ?";
+	}
+
+	private static void bindChunk(
+			PreparedStatement ps,
+			int position,
+			String sessionIdentifier,
+			Object lowerBound,
+			Object upperBound) throws SQLException {
+		ps.setString( position, sessionIdentifier );
+		ps.setObject( position + 1, lowerBound );
+		ps.setObject( position + 2, upperBound );
+	}
+
+	private static PreparedStatement prepareStatement(Connection connection, String sql, SessionImplementor session)
+			throws SQLException {
+		session.getFactory().getJdbcServices().getSqlStatementLogger().logStatement( sql );
+		return connection.prepareStatement( sql );
+	}
+
+	/**
+	 * The per-table statements of a single id range, executed against an isolated connection.
+	 */
+	private static interface ChunkWork {
+		public void execute(Connection connection, String sessionIdentifier, Object lowerBound, Object upperBound)
+				throws SQLException;
+	}
+
+	private int executeInChunks(
+			final SessionImplementor session,
+			final QueryParameters queryParameters,
+			Queryable persister,
+			final String idInsertSelect,
+			final List<ParameterSpecification> idSelectParameterSpecifications,
+			String idTableName,
+			final ChunkWork chunkWork,
+			boolean parallel) {
+		if ( ! AbstractSessionImpl.class.isInstance( session ) ) {
+			throw new HibernateException( "Only available on SessionImpl instances" );
+		}
+		final UUID sessionIdentifier = ( (AbstractSessionImpl) session ).getSessionIdentifier();
+		final SqlStatementLogger statementLogger = session.getFactory().getJdbcServices().getSqlStatementLogger();
+		final IsolationDelegate isolationDelegate = session.getTransactionCoordinator()
+				.getTransaction()
+				.createIsolationDelegate();
+
+		// the ids have to be committed before other connections can see them
+		final int resultCount = isolationDelegate.delegateWork(
+				new AbstractReturningWork<Integer>() {
+					@Override
+					public Integer execute(Connection connection) throws SQLException {
+						statementLogger.logStatement( idInsertSelect );
+						final PreparedStatement ps = connection.prepareStatement( idInsertSelect );
+						try {
+							int pos = 1;
+							bindSessionIdentifier( ps, session, pos++ );
+							for ( ParameterSpecification parameterSpecification : idSelectParameterSpecifications ) {
+								pos += parameterSpecification.bind( ps, queryParameters, session, pos );
+							}
+							return ps.executeUpdate();
+						}
+						finally {
+							ps.close();
+						}
+					}
+				},
+				true
+		);
+		if ( resultCount == 0 ) {
+			return 0;
+		}
+
+		try {
+			final List<Object[]> chunks = determineChunks( isolationDelegate, statementLogger, sessionIdentifier, idTableName, persister );
+			log.debugf( "Processing %s bulk-affected ids of %s in %s chunk(s)", resultCount, persister.getEntityName(), chunks.size() );
+
+			final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>( chunks.size() );
+			for ( final Object[] chunk : chunks ) {
+				tasks.add(
+						new Callable<Void>() {
+							@Override
+							public Void call() {
+								return isolationDelegate.delegateWork(
+										new AbstractReturningWork<Void>() {
+											@Override
+											public Void execute(Connection connection) throws SQLException {
+												chunkWork.execute( connection, sessionIdentifier.toString(), chunk[0], chunk[1] );
+												return null;
+											}
+										},
+										true
+								);
+							}
+						}
+				);
+			}
+
+			if ( parallel && threads > 1 && tasks.size() > 1 ) {
+				executeInParallel( tasks );
+			}
+			else {
+				for ( Callable<Void> task : tasks ) {
+					try {
+						task.call();
+					}
+					catch (RuntimeException e) {
+						throw e;
+					}
+					catch (Exception e) {
+						throw new HibernateException( "Unable to perform chunked bulk operation", e );
+					}
+				}
+			}
+			return resultCount;
+		}
+		finally {
+			cleanUpRows( isolationDelegate, statementLogger, sessionIdentifier, idTableName );
+		}
+	}
+
+	private List<Object[]> determineChunks(
+			IsolationDelegate isolationDelegate,
+			final SqlStatementLogger statementLogger,
+			final UUID sessionIdentifier,
+			String idTableName,
+			Queryable persister) {
+		final String idColumn = persister.getIdentifierColumnNames()[0];
+		final String sql = "select " + idColumn + " from " + idTableName + " where hib_sess_id=? order by " + idColumn;
+		return isolationDelegate.delegateWork(
+				new AbstractReturningWork<List<Object[]>>() {
+					@Override
+					public List<Object[]> execute(Connection connection) throws SQLException {
+						final List<Object[]> chunks = new ArrayList<Object[]>();
+						statementLogger.logStatement( sql );
+						final PreparedStatement ps = connection.prepareStatement( sql );
+						try {
+							ps.setString( 1, sessionIdentifier.toString() );
+							ps.setFetchSize( chunkSize );
+							final ResultSet rs = ps.executeQuery();
+							try {
+								int count = 0;
+								Object[] chunk = null;
+								while ( rs.next() ) {
+									final Object id = rs.getObject( 1 );
+									if ( count++ % chunkSize == 0 ) {
+										chunk = new Object[] { id, id };
+										chunks.add( chunk );
+									}
+									else {
+										chunk[1] = id;
+									}
+								}
+							}
+							finally {
+								rs.close();
+							}
+						}
+						finally {
+							ps.close();
+						}
+						return chunks;
+					}
+				},
+				false
+		);
+	}
+
+	private void executeInParallel(List<Callable<Void>> tasks) {
+		final ExecutorService executor = Executors.newFixedThreadPool( Math.min( threads, tasks.size() ) );
+		try {
+			final List<Future<Void>> futures = new ArrayList<Future<Void>>( tasks.size() );
+			for ( Callable<Void> task : tasks ) {
+				futures.add( executor.submit( task ) );
+			}
+			for ( Future<Void> future : futures ) {
+				future.get();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while waiting for chunked bulk operation", e );
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( "Unable to perform chunked bulk operation", cause );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void cleanUpRows(
+			IsolationDelegate isolationDelegate,
+			final SqlStatementLogger statementLogger,
+			final UUID sessionIdentifier,
+			String idTableName) {
+		final String sql = "delete from " + idTableName + " where hib_sess_id=?";
+		isolationDelegate.delegateWork(
+				new AbstractWork() {
+					@Override
+					public void execute(Connection connection) throws SQLException {
+						statementLogger.logStatement( sql );
+						final PreparedStatement ps = connection.prepareStatement( sql );
+						try {
+							ps.setString( 1, sessionIdentifier.toString() );
+							ps.executeUpdate();
+						}
+						finally {
+							ps.close();
+						}
+					}
+				},
+				true
+		);
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import org.hibernate.boot.spi.MetadataImplementor;
+import org.hibernate.engine.jdbc.connections.spi.JdbcConnectionAccess;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+
+/**
+ * A {@link MultiTableBulkIdStrategy} which needs no id table at all.  The ids matching the bulk operation are
+ * selected up front and passed back inline to the update/delete statement of each table, as a single array
+ * parameter where the dialect supports it and as {@code IN} lists otherwise.
+ * <p/>
+ * Meant for bulk operations touching a moderate number of rows; as all the matching ids are held in memory,
+ * large purges are better served by the table based strategies.
+ */
+public class InlineIdsBulkIdStrategy implements MultiTableBulkIdStrategy {
+	public static final InlineIdsBulkIdStrategy INSTANCE = new InlineIdsBulkIdStrategy();
+
+	public static final String SHORT_NAME = "inline";
+
+	@Override
+	public void prepare(JdbcServices jdbcServices, JdbcConnectionAccess connectionAccess, MetadataImplementor metadata) {
+		// nothing to do
+	}
+
+	@Override
+	public void release(JdbcServices jdbcServices, JdbcConnectionAccess connectionAccess) {
+		// nothing to do
+	}
+
+	@Override
+	public UpdateHandler buildUpdateHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		return new InlineIdsUpdateHandlerImpl( factory, walker );
+	}
+
+	@Override
+	public DeleteHandler buildDeleteHandler(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		return new InlineIdsDeleteHandlerImpl( factory, walker );
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.sql.Delete;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.Type;
+
+/**
+ * Multi-table bulk delete handler for {@link InlineIdsBulkIdStrategy}
+ */
+public class InlineIdsDeleteHandlerImpl
+		extends AbstractInlineIdsBulkIdHandler
+		implements MultiTableBulkIdStrategy.DeleteHandler {
+
+	private final List<String> tableNames = new ArrayList<String>();
+	private final List<String[]> keyColumnNames = new ArrayList<String[]>();
+	private final List<String> comments = new ArrayList<String>();
+
+	public InlineIdsDeleteHandlerImpl(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		super( factory, walker );
+
+		final Queryable targetedPersister = getTargetedQueryable();
+
+		// If many-to-many, delete the FK row in the collection table.
+		for ( Type type : targetedPersister.getPropertyTypes() ) {
+			if ( type.isCollectionType() ) {
+				CollectionType cType = (CollectionType) type;
+				AbstractCollectionPersister cPersister = (AbstractCollectionPersister) factory.getCollectionPersister( cType.getRole() );
+				if ( cPersister.isManyToMany() ) {
+					addTable( cPersister.getTableName(), cPersister.getKeyColumnNames(), "bulk delete - m2m join table cleanup" );
+				}
+			}
+		}
+
+		String[] tableNames = targetedPersister.getConstraintOrderedTableNameClosure();
+		String[][] columnNames = targetedPersister.getContraintOrderedTableKeyColumnClosure();
+		for ( int i = 0; i < tableNames.length; i++ ) {
+			addTable( tableNames[i], columnNames[i], "bulk delete" );
+		}
+	}
+
+	private void addTable(String tableName, String[] columnNames, String comment) {
+		tableNames.add( tableName );
+		keyColumnNames.add( columnNames );
+		comments.add( comment );
+	}
+
+	private String generateDelete(int tableIndex, int idCount) {
+		final Delete delete = new Delete()
+				.setTableName( tableNames.get( tableIndex ) )
+				.setWhere( generateIdRestriction( keyColumnNames.get( tableIndex ), idCount ) );
+		if ( factory().getSettings().isCommentsEnabled() ) {
+			delete.setComment( comments.get( tableIndex ) );
+		}
+		return delete.toStatementString();
+	}
+
+	@Override
+	public String[] getSqlStatements() {
+		final String[] deletes = new String[tableNames.size()];
+		for ( int i = 0; i < deletes.length; i++ ) {
+			deletes[i] = generateDelete( i, 1 );
+		}
+		return deletes;
+	}
+
+	@Override
+	public int execute(SessionImplementor session, QueryParameters queryParameters) {
+		final List<Serializable> ids = selectIds( session, queryParameters );
+		if ( ids.isEmpty() ) {
+			return 0;
+		}
+
+		for ( List<Serializable> group : groupIds( ids ) ) {
+			for ( int i = 0; i < tableNames.size(); i++ ) {
+				final String delete = generateDelete( i, group.size() );
+				try {
+					PreparedStatement ps = null;
+					try {
+						ps = session.getTransactionCoordinator()
+								.getJdbcCoordinator()
+								.getStatementPreparer()
+								.prepareStatement( delete, false );
+						bindIds( ps, group, 1, session );
+						session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().executeUpdate( ps );
+					}
+					finally {
+						if ( ps != null ) {
+							session.getTransactionCoordinator().getJdbcCoordinator().release( ps );
+						}
+					}
+				}
+				catch (SQLException e) {
+					throw convert( e, "error performing bulk delete", delete );
+				}
+			}
+		}
+
+		return ids.size();
+	}
+}
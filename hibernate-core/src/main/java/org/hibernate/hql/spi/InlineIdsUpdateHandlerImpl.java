@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.hql.internal.ast.HqlSqlWalker;
+import org.hibernate.hql.internal.ast.tree.AssignmentSpecification;
+import org.hibernate.param.ParameterSpecification;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.sql.Update;
+
+/**
+ * Multi-table bulk update handler for {@link InlineIdsBulkIdStrategy}
+ */
+public class InlineIdsUpdateHandlerImpl
+		extends AbstractInlineIdsBulkIdHandler
+		implements MultiTableBulkIdStrategy.UpdateHandler {
+
+	private final String[] tableNames;
+	private final String[][] keyColumnNames;
+	private final String[] assignmentFragments;
+	private final ParameterSpecification[][] assignmentParameterSpecifications;
+
+	public InlineIdsUpdateHandlerImpl(SessionFactoryImplementor factory, HqlSqlWalker walker) {
+		super( factory, walker );
+
+		final Queryable targetedPersister = getTargetedQueryable();
+		tableNames = targetedPersister.getConstraintOrderedTableNameClosure();
+		keyColumnNames = targetedPersister.getContraintOrderedTableKeyColumnClosure();
+
+		assignmentFragments = new String[tableNames.length];
+		assignmentParameterSpecifications = new ParameterSpecification[tableNames.length][];
+		final List<AssignmentSpecification> assignmentSpecifications = walker.getAssignmentSpecifications();
+		for ( int tableIndex = 0; tableIndex < tableNames.length; tableIndex++ ) {
+			final StringBuilder assignments = new StringBuilder();
+			final List<ParameterSpecification> parameterList = new ArrayList<ParameterSpecification>();
+			for ( AssignmentSpecification assignmentSpecification : assignmentSpecifications ) {
+				if ( assignmentSpecification.affectsTable( tableNames[tableIndex] ) ) {
+					if ( assignments.length() > 0 ) {
+						assignments.append( ", " );
+					}
+					assignments.append( assignmentSpecification.getSqlAssignmentFragment() );
+					if ( assignmentSpecification.getParameters() != null ) {
+						for ( int paramIndex = 0; paramIndex < assignmentSpecification.getParameters().length; paramIndex++ ) {
+							parameterList.add( assignmentSpecification.getParameters()[paramIndex] );
+						}
+					}
+				}
+			}
+			if ( assignments.length() > 0 ) {
+				assignmentFragments[tableIndex] = assignments.toString();
+				assignmentParameterSpecifications[tableIndex] = parameterList.toArray( new ParameterSpecification[parameterList.size()] );
+			}
+		}
+	}
+
+	private String generateUpdate(int tableIndex, int idCount) {
+		final Update update = new Update( factory().getDialect() )
+				.setTableName( tableNames[tableIndex] )
+				.setWhere( generateIdRestriction( keyColumnNames[tableIndex], idCount ) );
+		if ( factory().getSettings().isCommentsEnabled() ) {
+			update.setComment( "bulk update" );
+		}
+		update.appendAssignmentFragment( assignmentFragments[tableIndex] );
+		return update.toStatementString();
+	}
+
+	@Override
+	public String[] getSqlStatements() {
+		final String[] updates = new String[tableNames.length];
+		for ( int i = 0; i < updates.length; i++ ) {
+			if ( assignmentFragments[i] != null ) {
+				updates[i] = generateUpdate( i, 1 );
+			}
+		}
+		return updates;
+	}
+
+	@Override
+	public int execute(SessionImplementor session, QueryParameters queryParameters) {
+		// select the ids up front; the update of one table may well change the rows matched by the restriction
+		final List<Serializable> ids = selectIds( session, queryParameters );
+		if ( ids.isEmpty() ) {
+			return 0;
+		}
+
+		for ( List<Serializable> group : groupIds( ids ) ) {
+			for ( int i = 0; i < tableNames.length; i++ ) {
+				if ( assignmentFragments[i] == null ) {
+					continue;
+				}
+				final String update = generateUpdate( i, group.size() );
+				try {
+					PreparedStatement ps = null;
+					try {
+						ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( update, false );
+						int position = 1; // jdbc params are 1-based
+						for ( ParameterSpecification parameterSpecification : assignmentParameterSpecifications[i] ) {
+							position += parameterSpecification.bind( ps, queryParameters, session, position );
+						}
+						bindIds( ps, group, position, session );
+						session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().executeUpdate( ps );
+					}
+					finally {
+						if ( ps != null ) {
+							session.getTransactionCoordinator().getJdbcCoordinator().release( ps );
+						}
+					}
+				}
+				catch( SQLException e ) {
+					throw convert( e, "error performing bulk update", update );
+				}
+			}
+		}
+
+		return ids.size();
+	}
+}
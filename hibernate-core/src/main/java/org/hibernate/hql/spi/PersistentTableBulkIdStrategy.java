@@ -107,6 +107,14 @@ public class PersistentTableBulkIdStrategy implements MultiTableBulkIdStrategy {
 		exportTableDefinitions( idTableDefinitions, jdbcServices, connectionAccess, metadata );
 	}
 
+	protected String getCatalog() {
+		return catalog;
+	}
+
+	protected String getSchema() {
+		return schema;
+	}
+
 	protected Table generateIdTableDefinition(PersistentClass entityMapping, MetadataImplementor metadata) {
 		Table idTable = new Table( entityMapping.getTemporaryIdTableName() );
 		if ( catalog != null ) {
@@ -261,7 +269,7 @@ public class PersistentTableBulkIdStrategy implements MultiTableBulkIdStrategy {
 		};
 	}
 
-	private void bindSessionIdentifier(PreparedStatement ps, SessionImplementor session, int position) throws SQLException {
+	protected void bindSessionIdentifier(PreparedStatement ps, SessionImplementor session, int position) throws SQLException {
 		if ( ! AbstractSessionImpl.class.isInstance( session ) ) {
 			throw new HibernateException( "Only available on SessionImpl instances" );
 		}
@@ -183,6 +183,14 @@ public class TableBasedDeleteHandlerImpl
 		}
 	}
 
+	protected String getIdInsertSelect() {
+		return idInsertSelect;
+	}
+
+	protected List<ParameterSpecification> getIdSelectParameterSpecifications() {
+		return idSelectParameterSpecifications;
+	}
+
 	protected int handlePrependedParametersOnIdSelection(PreparedStatement ps, SessionImplementor session, int pos) throws SQLException {
 		return 0;
 	}
@@ -188,6 +188,18 @@ public class TableBasedUpdateHandlerImpl
 		}
 	}
 
+	protected String getIdInsertSelect() {
+		return idInsertSelect;
+	}
+
+	protected List<ParameterSpecification> getIdSelectParameterSpecifications() {
+		return idSelectParameterSpecifications;
+	}
+
+	protected ParameterSpecification[][] getAssignmentParameterSpecifications() {
+		return assignmentParameterSpecifications;
+	}
+
 	protected int handlePrependedParametersOnIdSelection(PreparedStatement ps, SessionImplementor session, int pos) throws SQLException {
 		return 0;
 	}
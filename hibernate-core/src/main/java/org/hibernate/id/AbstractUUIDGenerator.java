@@ -24,6 +24,7 @@
  */
 package org.hibernate.id;
 import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.internal.util.BytesHelper;
 
@@ -49,7 +50,7 @@ public abstract class AbstractUUIDGenerator implements IdentifierGenerator {
 		}
 		IP = ipadd;
 	}
-	private static short counter = (short) 0;
+	private static final AtomicInteger COUNTER = new AtomicInteger();
 	private static final int JVM = (int) ( System.currentTimeMillis() >>> 8 );
 
 	public AbstractUUIDGenerator() {
@@ -68,10 +69,8 @@ public abstract class AbstractUUIDGenerator implements IdentifierGenerator {
 	 * are > Short.MAX_VALUE instances created in a millisecond)
 	 */
 	protected short getCount() {
-		synchronized(AbstractUUIDGenerator.class) {
-			if (counter<0) counter=0;
-			return counter++;
-		}
+		// wraps back to 0 after Short.MAX_VALUE, without the need to lock
+		return (short) ( COUNTER.getAndIncrement() & Short.MAX_VALUE );
 	}
 
 	/**
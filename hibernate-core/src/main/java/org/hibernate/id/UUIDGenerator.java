@@ -49,9 +49,10 @@ import org.jboss.logging.Logger;
  * <li>{@link #UUID_GEN_STRATEGY_CLASS} - names the {@link UUIDGenerationStrategy} class to use</li>
  * </ul>
  * <p/>
- * Currently there are 2 standard implementations of {@link UUIDGenerationStrategy}:<ul>
+ * Currently there are 3 standard implementations of {@link UUIDGenerationStrategy}:<ul>
  * <li>{@link StandardRandomStrategy} (the default, if none specified)</li>
  * <li>{@link org.hibernate.id.uuid.CustomVersionOneStrategy}</li>
+ * <li>{@link org.hibernate.id.uuid.TimeOrderedStrategy}</li>
  * </ul>
  *
  * @author Steve Ebersole
@@ -33,8 +33,8 @@ import org.hibernate.internal.util.BytesHelper;
  * different layout.  The strategy is very similar to the legacy {@link org.hibernate.id.UUIDHexGenerator} id generator
  * but uses a RFC 4122 compliant layout (variant 2).
  * <p/>
- * NOTE : Can be a bottle neck due to the need to synchronize in order to increment an
- * internal count as part of the algorithm.
+ * NOTE : values are not ordered by generation time; see {@link TimeOrderedStrategy} for a strategy better suited
+ * to indexed columns.
  *
  * @author Steve Ebersole
  */
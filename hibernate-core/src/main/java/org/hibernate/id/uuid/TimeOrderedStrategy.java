@@ -0,0 +1,116 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.uuid;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.UUIDGenerationStrategy;
+
+/**
+ * Generates time-ordered UUID values following the layout of the "version 7" UUIDs (Unix epoch time based)
+ * described by the IETF RFC 4122 revision draft.  The 48 most significant bits hold the number of milliseconds
+ * since the Unix epoch, followed by the version, a 12-bit sequence and 62 random bits.
+ * <p/>
+ * Because the leading bits are time based, consecutively generated values sort (byte-wise) in generation order
+ * which keeps index inserts on UUID-keyed tables sequential rather than scattered across the index.
+ * <p/>
+ * The sequence is maintained through a compare-and-set loop rather than a lock; should more than 4096 values be
+ * requested within a single millisecond, the timestamp portion is simply advanced so that values remain unique
+ * and ordered.  The random portion comes from a per-thread generator, so there is no contention there either.
+ */
+public class TimeOrderedStrategy implements UUIDGenerationStrategy {
+	public static final TimeOrderedStrategy INSTANCE = new TimeOrderedStrategy();
+
+	private static final int SEQUENCE_BITS = 12;
+	private static final long SEQUENCE_MASK = ( 1L << SEQUENCE_BITS ) - 1;
+	private static final long TIMESTAMP_MASK = 0xFFFFFFFFFFFFL;
+
+	private static final SecureRandom SEEDER = new SecureRandom();
+	private static final ThreadLocal<Random> RANDOM = new ThreadLocal<Random>() {
+		@Override
+		protected Random initialValue() {
+			final long seed;
+			synchronized ( SEEDER ) {
+				seed = SEEDER.nextLong();
+			}
+			return new Random( seed );
+		}
+	};
+
+	/**
+	 * The last used timestamp (shifted left by {@link #SEQUENCE_BITS}) combined with its sequence value
+	 */
+	private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+	/**
+	 * A version 7 (Unix epoch time based, IETF variant) strategy
+	 */
+	@Override
+	public int getGeneratedVersion() {
+		return 7;
+	}
+
+	@Override
+	public UUID generateUUID(SessionImplementor session) {
+		return generateUUID( System.currentTimeMillis() );
+	}
+
+	/**
+	 * Generate a UUID for the given timestamp.  Values generated by the same strategy instance are always
+	 * strictly increasing, even if the passed timestamp goes backwards (clock adjustments, e.g.).
+	 *
+	 * @param timestamp The current time, in milliseconds since the Unix epoch
+	 *
+	 * @return The generated UUID
+	 */
+	public UUID generateUUID(long timestamp) {
+		return new UUID( generateMostSignificantBits( timestamp ), generateLeastSignificantBits() );
+	}
+
+	private long generateMostSignificantBits(long timestamp) {
+		final long candidate = ( timestamp & TIMESTAMP_MASK ) << SEQUENCE_BITS;
+		long next;
+		while ( true ) {
+			final long last = lastTimestampAndSequence.get();
+			next = candidate > last ? candidate : last + 1;
+			if ( lastTimestampAndSequence.compareAndSet( last, next ) ) {
+				break;
+			}
+		}
+
+		final long effectiveTimestamp = ( next >>> SEQUENCE_BITS ) & TIMESTAMP_MASK;
+		final long sequence = next & SEQUENCE_MASK;
+		// 48 bits of timestamp, 4 bits of version, 12 bits of sequence
+		return ( effectiveTimestamp << 16 ) | ( 7L << 12 ) | sequence;
+	}
+
+	private static long generateLeastSignificantBits() {
+		// 2 bits of variant (binary 10), 62 random bits
+		return ( RANDOM.get().nextLong() & 0x3FFFFFFFFFFFFFFFL ) | 0x8000000000000000L;
+	}
+}
@@ -38,7 +38,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
+import org.hibernate.AsyncResult;
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
@@ -966,6 +969,32 @@ public abstract class AbstractQueryImpl implements Query {
 		return uniqueElement( list() );
 	}
 
+	@Override
+	public AsyncResult<List> listAsync(Executor executor) {
+		return session.executeAsync(
+				new Callable<List>() {
+					@Override
+					public List call() {
+						return list();
+					}
+				},
+				executor
+		);
+	}
+
+	@Override
+	public AsyncResult<Object> uniqueResultAsync(Executor executor) {
+		return session.executeAsync(
+				new Callable<Object>() {
+					@Override
+					public Object call() {
+						return uniqueResult();
+					}
+				},
+				executor
+		);
+	}
+
 	static Object uniqueElement(List list) throws NonUniqueResultException {
 		int size = list.size();
 		if (size==0) return null;
@@ -28,7 +28,10 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
+import org.hibernate.AsyncResult;
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.MultiTenancyStrategy;
@@ -74,6 +77,7 @@ public abstract class AbstractSessionImpl
 	protected transient SessionFactoryImpl factory;
 	private final String tenantIdentifier;
 	private boolean closed;
+	private transient volatile AsyncOperation asyncOperation;
 
 	protected AbstractSessionImpl(SessionFactoryImpl factory, String tenantIdentifier) {
 		this.factory = factory;
@@ -132,6 +136,46 @@ public abstract class AbstractSessionImpl
 		if ( isClosed() ) {
 			throw new SessionException( "Session is closed!" );
 		}
+		errorIfAsyncOperationPending();
+	}
+
+	/**
+	 * Guards the operations which are not allowed while an asynchronous operation runs against this session,
+	 * other than from within the operation itself.
+	 */
+	protected void errorIfAsyncOperationPending() {
+		final AsyncOperation pendingOperation = asyncOperation;
+		if ( pendingOperation != null && !pendingOperation.isExecutingThread( Thread.currentThread() ) ) {
+			throw new SessionException( "Session is in use by an asynchronous operation" );
+		}
+	}
+
+	@Override
+	public <T> AsyncResult<T> executeAsync(Callable<T> work, Executor executor) {
+		errorIfClosed();
+		final AsyncOperation<T> operation = new AsyncOperation<T>( this, work );
+		synchronized ( this ) {
+			if ( asyncOperation != null ) {
+				throw new SessionException( "Session is in use by an asynchronous operation" );
+			}
+			asyncOperation = operation;
+		}
+		try {
+			executor.execute( operation );
+		}
+		catch (RuntimeException e) {
+			asyncOperationCompleted( operation );
+			throw e;
+		}
+		return operation;
+	}
+
+	void asyncOperationCompleted(AsyncOperation operation) {
+		synchronized ( this ) {
+			if ( asyncOperation == operation ) {
+				asyncOperation = null;
+			}
+		}
 	}
 
 	@Override
@@ -0,0 +1,150 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.hibernate.AsyncResult;
+
+/**
+ * An operation run asynchronously on behalf of a Session, which the Session considers as its sole user until
+ * the operation has completed.
+ *
+ * @see AbstractSessionImpl#executeAsync
+ */
+class AsyncOperation<T> extends FutureTask<T> implements AsyncResult<T> {
+	private final AbstractSessionImpl session;
+
+	private volatile boolean started;
+	private volatile Thread executingThread;
+
+	private final List<Runnable> listeners = new ArrayList<Runnable>();
+	private final List<Executor> listenerExecutors = new ArrayList<Executor>();
+	private boolean released;
+	private boolean listenersRun;
+
+	AsyncOperation(AbstractSessionImpl session, Callable<T> work) {
+		super( work );
+		this.session = session;
+	}
+
+	/**
+	 * Is the given thread allowed to use the Session while this operation is pending?
+	 */
+	boolean isExecutingThread(Thread thread) {
+		return executingThread == thread;
+	}
+
+	@Override
+	public void run() {
+		started = true;
+		executingThread = Thread.currentThread();
+		try {
+			super.run();
+		}
+		finally {
+			executingThread = null;
+			// covers a run() after cancellation, which does not get to set()/setException()
+			release();
+		}
+	}
+
+	@Override
+	protected void set(T result) {
+		// the Session must be available again before callers waiting on get() are woken up
+		release();
+		super.set( result );
+	}
+
+	@Override
+	protected void setException(Throwable t) {
+		release();
+		super.setException( t );
+	}
+
+	/**
+	 * Cancellation never interrupts the operation, since a Session cannot recover from an interruption half way
+	 * through JDBC work; an operation already running keeps the Session until it has finished.
+	 */
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		final boolean cancelled = super.cancel( false );
+		if ( cancelled && !started ) {
+			// will never run
+			release();
+		}
+		return cancelled;
+	}
+
+	@Override
+	protected void done() {
+		runListenersIfReleased();
+	}
+
+	private void release() {
+		session.asyncOperationCompleted( this );
+		synchronized ( listeners ) {
+			released = true;
+		}
+		runListenersIfReleased();
+	}
+
+	private void runListenersIfReleased() {
+		// listeners run once both the result is available and the Session has been released, in either order
+		if ( !isDone() ) {
+			return;
+		}
+		final List<Runnable> listenersToRun;
+		final List<Executor> executorsToUse;
+		synchronized ( listeners ) {
+			if ( !released || listenersRun ) {
+				return;
+			}
+			listenersRun = true;
+			listenersToRun = new ArrayList<Runnable>( listeners );
+			executorsToUse = new ArrayList<Executor>( listenerExecutors );
+			listeners.clear();
+			listenerExecutors.clear();
+		}
+		for ( int i = 0; i < listenersToRun.size(); i++ ) {
+			executorsToUse.get( i ).execute( listenersToRun.get( i ) );
+		}
+	}
+
+	@Override
+	public void addListener(Runnable listener, Executor executor) {
+		synchronized ( listeners ) {
+			if ( !listenersRun ) {
+				listeners.add( listener );
+				listenerExecutors.add( executor );
+				return;
+			}
+		}
+		executor.execute( listener );
+	}
+}
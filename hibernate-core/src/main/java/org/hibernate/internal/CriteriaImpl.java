@@ -129,6 +129,10 @@ public class CriteriaImpl implements Criteria, Serializable {
 		return lockModes;
 	}
 
+	public Map<String, FetchMode> getFetchModes() {
+		return fetchModes;
+	}
+
 	public Criteria getProjectionCriteria() {
 		return projectionCriteria;
 	}
@@ -23,6 +23,7 @@
  */
 package org.hibernate.internal;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -93,6 +94,10 @@ public class NamedQueryRepository {
 		return namedQueryDefinitionMap.get( queryName );
 	}
 
+	public Collection<NamedQueryDefinition> getNamedQueryDefinitions() {
+		return namedQueryDefinitionMap.values();
+	}
+
 	public NamedSQLQueryDefinition getNamedSQLQueryDefinition(String queryName) {
 		return namedSqlQueryDefinitionMap.get( queryName );
 	}
@@ -0,0 +1,324 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.hibernate.Filter;
+import org.hibernate.FlushMode;
+import org.hibernate.Hibernate;
+import org.hibernate.HibernateException;
+import org.hibernate.LockOptions;
+import org.hibernate.Query;
+import org.hibernate.Transaction;
+import org.hibernate.engine.internal.StatefulPersistenceContext;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+
+/**
+ * Runs a number of HQL queries of a session concurrently, each one through a session of its own, and merges the
+ * results back into the owning session.
+ * <p/>
+ * The entities returned are associated with the owning session just as if they were returned by a query of its
+ * own: an instance already associated with the owning session (possibly by one of the other queries) is returned
+ * in place of the one just loaded, otherwise the loaded instance is reassociated with the owning session without
+ * any further SQL.  The same goes for every entity and proxy the query session ended up holding (fetched or
+ * eagerly loaded associations, collection elements), and the references between them are redirected to the
+ * instances of the owning session.
+ *
+ * @see org.hibernate.Session#parallel
+ */
+class ParallelQueryExecutor {
+	private final SessionImpl session;
+
+	ParallelQueryExecutor(SessionImpl session) {
+		this.session = session;
+	}
+
+	List<List> execute(Executor executor, Query... queries) {
+		final List<FutureTask<QueryResult>> tasks = new ArrayList<FutureTask<QueryResult>>( queries.length );
+		for ( Query query : queries ) {
+			if ( !QueryImpl.class.isInstance( query ) || ( (QueryImpl) query ).getSession() != session ) {
+				throw new HibernateException( "Only HQL queries created by this session can be executed in parallel" );
+			}
+			tasks.add( new FutureTask<QueryResult>( new QueryTask( (QueryImpl) query ) ) );
+		}
+		final List<QueryResult> queryResults = new ArrayList<QueryResult>( tasks.size() );
+		try {
+			for ( FutureTask<QueryResult> task : tasks ) {
+				executor.execute( task );
+			}
+			for ( FutureTask<QueryResult> task : tasks ) {
+				queryResults.add( task.get() );
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while waiting for parallel query execution", e );
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( "Unable to execute query in parallel", cause );
+		}
+		finally {
+			for ( FutureTask<QueryResult> task : tasks ) {
+				task.cancel( false );
+			}
+		}
+
+		// the results are merged in query order, so the identity semantics do not depend on the completion order
+		final List<List> results = new ArrayList<List>( queryResults.size() );
+		for ( QueryResult queryResult : queryResults ) {
+			results.add( merge( queryResult ) );
+		}
+		return results;
+	}
+
+	private List merge(QueryResult queryResult) {
+		final PersistenceContext persistenceContext = session.getPersistenceContext();
+
+		// the instance standing, in the owning session, for each entity and proxy of the query session
+		final Map<Object, Object> replacements = new IdentityHashMap<Object, Object>();
+		final Map<Object, EntityKey> reassociatedEntities = new IdentityHashMap<Object, EntityKey>();
+		final List<Object> reassociatedProxies = new ArrayList<Object>();
+		for ( Map.Entry<EntityKey, Object> entry : queryResult.entities.entrySet() ) {
+			final Object existing = persistenceContext.getEntity( entry.getKey() );
+			if ( existing == null ) {
+				replacements.put( entry.getValue(), entry.getValue() );
+				reassociatedEntities.put( entry.getValue(), entry.getKey() );
+			}
+			else {
+				replacements.put( entry.getValue(), existing );
+			}
+		}
+		for ( Map.Entry<EntityKey, Object> entry : queryResult.proxies.entrySet() ) {
+			final Object existingProxy = persistenceContext.getProxy( entry.getKey() );
+			final Object existing = existingProxy == null ? persistenceContext.getEntity( entry.getKey() ) : existingProxy;
+			if ( existing == null ) {
+				replacements.put( entry.getValue(), entry.getValue() );
+				reassociatedProxies.add( entry.getValue() );
+			}
+			else {
+				replacements.put( entry.getValue(), existing );
+			}
+		}
+
+		// the instances kept may reference replaced ones (fetched associations, collection elements...), which
+		// must be fixed before the owning session takes a snapshot of their state
+		for ( Map.Entry<Object, EntityKey> entry : reassociatedEntities.entrySet() ) {
+			replaceReferences( entry.getKey(), entry.getValue(), replacements );
+		}
+		for ( Object proxy : reassociatedProxies ) {
+			persistenceContext.reassociateProxy(
+					proxy,
+					( (HibernateProxy) proxy ).getHibernateLazyInitializer().getIdentifier()
+			);
+		}
+		for ( Map.Entry<Object, EntityKey> entry : reassociatedEntities.entrySet() ) {
+			session.buildLockRequest( LockOptions.NONE ).lock( entry.getValue().getEntityName(), entry.getKey() );
+		}
+
+		final List merged = new ArrayList( queryResult.results.size() );
+		for ( Object result : queryResult.results ) {
+			if ( result instanceof Object[] ) {
+				final Object[] row = (Object[]) result;
+				for ( int i = 0; i < row.length; i++ ) {
+					row[i] = replacement( row[i], replacements );
+				}
+				merged.add( row );
+			}
+			else {
+				merged.add( replacement( result, replacements ) );
+			}
+		}
+		return merged;
+	}
+
+	private static Object replacement(Object value, Map<Object, Object> replacements) {
+		final Object replacement = value == null ? null : replacements.get( value );
+		return replacement == null ? value : replacement;
+	}
+
+	private void replaceReferences(Object entity, EntityKey key, Map<Object, Object> replacements) {
+		final EntityPersister persister = session.getEntityPersister( key.getEntityName(), entity );
+		final Type[] types = persister.getPropertyTypes();
+		final Object[] values = persister.getPropertyValues( entity );
+		boolean replaced = false;
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( needsReplacement( values[i], types[i], replacements ) ) {
+				values[i] = types[i].replace( values[i], values[i], session, entity, replacements );
+				replaced = true;
+			}
+		}
+		if ( replaced ) {
+			persister.setPropertyValues( entity, values );
+		}
+	}
+
+	private boolean needsReplacement(Object value, Type type, Map<Object, Object> replacements) {
+		if ( value == null ) {
+			return false;
+		}
+		if ( type.isEntityType() ) {
+			final Object replacement = replacements.get( value );
+			return replacement != null && replacement != value;
+		}
+		if ( type.isComponentType() ) {
+			final CompositeType componentType = (CompositeType) type;
+			final Type[] subtypes = componentType.getSubtypes();
+			final Object[] subvalues = componentType.getPropertyValues( value, session );
+			for ( int i = 0; i < subtypes.length; i++ ) {
+				if ( needsReplacement( subvalues[i], subtypes[i], replacements ) ) {
+					return true;
+				}
+			}
+			return false;
+		}
+		if ( type.isCollectionType() && Hibernate.isInitialized( value ) ) {
+			final Type elementType = ( (CollectionType) type ).getElementType( session.getFactory() );
+			if ( !elementType.isEntityType() && !elementType.isComponentType() ) {
+				return false;
+			}
+			final Collection elements;
+			if ( value instanceof Map ) {
+				elements = ( (Map) value ).values();
+			}
+			else if ( value instanceof Collection ) {
+				elements = (Collection) value;
+			}
+			else {
+				// arrays
+				return false;
+			}
+			for ( Object element : elements ) {
+				if ( needsReplacement( element, elementType, replacements ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private SessionImpl openQuerySession() {
+		final SessionImpl querySession = (SessionImpl) session.getFactory()
+				.withOptions()
+				.autoClose( false )
+				.flushBeforeCompletion( false )
+				.tenantIdentifier( session.getTenantIdentifier() )
+				.openSession();
+		querySession.setFlushMode( FlushMode.MANUAL );
+		querySession.setDefaultReadOnly( true );
+		querySession.setCacheMode( session.getCacheMode() );
+		for ( Filter filter : session.getLoadQueryInfluencers().getEnabledFilters().values() ) {
+			final Filter copy = querySession.enableFilter( filter.getName() );
+			for ( Map.Entry<String, ?> parameter : ( (FilterImpl) filter ).getParameters().entrySet() ) {
+				if ( parameter.getValue() instanceof Collection ) {
+					copy.setParameterList( parameter.getKey(), (Collection) parameter.getValue() );
+				}
+				else {
+					copy.setParameter( parameter.getKey(), parameter.getValue() );
+				}
+			}
+		}
+		for ( String fetchProfileName : session.getLoadQueryInfluencers().getEnabledFetchProfileNames() ) {
+			querySession.enableFetchProfile( fetchProfileName );
+		}
+		return querySession;
+	}
+
+	private class QueryTask implements Callable<QueryResult> {
+		private final QueryImpl query;
+
+		private QueryTask(QueryImpl query) {
+			this.query = query;
+		}
+
+		@Override
+		public QueryResult call() {
+			final SessionImpl querySession = openQuerySession();
+			try {
+				final Transaction transaction = querySession.beginTransaction();
+				try {
+					final List results = query.list( querySession );
+					final StatefulPersistenceContext persistenceContext =
+							(StatefulPersistenceContext) querySession.getPersistenceContext();
+					final QueryResult queryResult = new QueryResult(
+							results,
+							persistenceContext.getEntitiesByKey(),
+							persistenceContext.getProxiesByKey()
+					);
+					transaction.commit();
+					return queryResult;
+				}
+				finally {
+					if ( transaction.isActive() ) {
+						transaction.rollback();
+					}
+				}
+			}
+			finally {
+				querySession.close();
+			}
+		}
+	}
+
+	private static class QueryResult {
+		private final List results;
+		// all the query session ended up holding: the results, and whatever they reference
+		private final Map<EntityKey, Object> entities;
+		private final Map<EntityKey, Object> proxies = new HashMap<EntityKey, Object>();
+
+		@SuppressWarnings("unchecked")
+		private QueryResult(List results, Map entitiesByKey, Map proxiesByKey) {
+			this.results = results;
+			this.entities = new HashMap<EntityKey, Object>( entitiesByKey );
+			for ( Map.Entry<EntityKey, Object> entry : ( (Map<EntityKey, Object>) proxiesByKey ).entrySet() ) {
+				// weakly referenced
+				if ( entry.getValue() != null ) {
+					proxies.put( entry.getKey(), entry.getValue() );
+				}
+			}
+		}
+	}
+}
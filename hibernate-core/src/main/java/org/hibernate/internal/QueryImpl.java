@@ -110,6 +110,20 @@ public class QueryImpl extends AbstractQueryImpl {
 		}
 	}
 
+	/**
+	 * Execute this query through a session other than the one which created it.
+	 *
+	 * @see ParallelQueryExecutor
+	 */
+	List list(SessionImplementor executingSession) throws HibernateException {
+		verifyParameters();
+		Map namedParams = getNamedParams();
+		return executingSession.list(
+				expandParameterLists( namedParams ),
+				getQueryParameters( namedParams )
+		);
+	}
+
 	public int executeUpdate() throws HibernateException {
 		verifyParameters();
 		Map namedParams = getNamedParams();
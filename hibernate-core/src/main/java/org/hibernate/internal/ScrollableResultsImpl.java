@@ -42,6 +42,7 @@ import org.hibernate.type.Type;
  */
 public class ScrollableResultsImpl extends AbstractScrollableResults implements ScrollableResults {
 	private Object[] currentRow;
+	private ScrolledEntityRecycler entityRecycler;
 
 	/**
 	 * Constructs a ScrollableResultsImpl using the specified information.
@@ -64,6 +65,10 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 		super( rs, ps, sess, loader, queryParameters, types, holderInstantiator );
 	}
 
+	void setEntityRecycler(ScrolledEntityRecycler entityRecycler) {
+		this.entityRecycler = entityRecycler;
+	}
+
 	@Override
 	protected Object[] getCurrentRow() {
 		return currentRow;
@@ -234,12 +239,29 @@ public class ScrollableResultsImpl extends AbstractScrollableResults implements
 			return;
 		}
 
-		final Object result = getLoader().loadSingleRow(
-				getResultSet(),
-				getSession(),
-				getQueryParameters(),
-				false
-		);
+		final Object result;
+		if ( entityRecycler == null ) {
+			result = getLoader().loadSingleRow(
+					getResultSet(),
+					getSession(),
+					getQueryParameters(),
+					false
+			);
+		}
+		else {
+			entityRecycler.beginRow();
+			try {
+				result = getLoader().loadSingleRow(
+						getResultSet(),
+						getSession(),
+						getQueryParameters(),
+						false
+				);
+			}
+			finally {
+				entityRecycler.endRow();
+			}
+		}
 		if ( result != null && result.getClass().isArray() ) {
 			currentRow = (Object[]) result;
 		}
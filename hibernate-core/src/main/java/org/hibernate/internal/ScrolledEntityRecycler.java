@@ -0,0 +1,101 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the entity instances recycled from row to row by {@link org.hibernate.ScrollableResults} obtained
+ * from a {@link StatelessSessionImpl} with {@link org.hibernate.StatelessSession#setRecycleScrolledEntities}
+ * enabled.
+ * <p/>
+ * Instances are kept per entity name and per position within a row, so that a row referencing two
+ * instances of the same entity (a self association, say) still gets two distinct objects.
+ */
+final class ScrolledEntityRecycler {
+	private final StatelessSessionImpl session;
+	private final Map<String, Slots> slotsByEntityName = new HashMap<String, Slots>();
+
+	ScrolledEntityRecycler(StatelessSessionImpl session) {
+		this.session = session;
+	}
+
+	/**
+	 * Start loading a row: instances handed out for the previous row become available again, the session
+	 * forgets the entities it loaded for the previous row, and starts asking this recycler for instances.
+	 */
+	void beginRow() {
+		for ( Slots slots : slotsByEntityName.values() ) {
+			slots.used = 0;
+		}
+		session.beginEntityRecycling( this );
+	}
+
+	/**
+	 * Done loading a row; the session goes back to instantiating entities.
+	 */
+	void endRow() {
+		session.endEntityRecycling( this );
+	}
+
+	/**
+	 * Obtain the next instance available for reuse in the current row.
+	 *
+	 * @param entityName The entity name
+	 *
+	 * @return The instance, or {@code null} if a new one needs to be instantiated (and then
+	 * {@link #register registered})
+	 */
+	Object recycle(String entityName) {
+		final Slots slots = slotsByEntityName.get( entityName );
+		if ( slots == null || slots.used >= slots.instances.size() ) {
+			return null;
+		}
+		return slots.instances.get( slots.used++ );
+	}
+
+	/**
+	 * Register an instance newly instantiated for the current row, so that it is reused by the next rows.
+	 *
+	 * @param entityName The entity name
+	 * @param instance The new instance
+	 */
+	void register(String entityName, Object instance) {
+		Slots slots = slotsByEntityName.get( entityName );
+		if ( slots == null ) {
+			slots = new Slots();
+			slotsByEntityName.put( entityName, slots );
+		}
+		slots.instances.add( instance );
+		slots.used++;
+	}
+
+	private static final class Slots {
+		private final List<Object> instances = new ArrayList<Object>( 1 );
+		private int used;
+	}
+}
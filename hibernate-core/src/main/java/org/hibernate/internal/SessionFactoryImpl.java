@@ -524,6 +524,14 @@ public final class SessionFactoryImpl
 				this,
 				serviceRegistry.getService( JndiService.class )
 		);
+
+		// pre-compile named and previously recorded HQL plans, if a plan manifest is configured; only now that
+		// the factory is complete, as compiling may need its fetch profiles and transaction environment
+		final List<String> namedQueryStrings = new ArrayList<String>();
+		for ( NamedQueryDefinition namedQueryDefinition : namedQueryRepository.getNamedQueryDefinitions() ) {
+			namedQueryStrings.add( namedQueryDefinition.getQueryString() );
+		}
+		queryPlanCache.warmUp( namedQueryStrings );
 	}
 
 	private void applyCfgXmlValues(LoadedConfig aggregatedConfig, SessionFactoryServiceRegistry serviceRegistry) {
@@ -34,17 +34,23 @@ import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.NClob;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import javax.persistence.EntityNotFoundException;
 
 import org.hibernate.AssertionFailure;
+import org.hibernate.AsyncResult;
 import org.hibernate.CacheMode;
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.Criteria;
@@ -59,6 +65,7 @@ import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.MappingException;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.ObjectDeletedException;
 import org.hibernate.ObjectNotFoundException;
@@ -79,8 +86,11 @@ import org.hibernate.TransientObjectException;
 import org.hibernate.TypeHelper;
 import org.hibernate.UnknownProfileException;
 import org.hibernate.UnresolvableObjectException;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.criterion.NaturalIdentifier;
+import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.SessionEventListenerManagerImpl;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.jdbc.LobCreator;
@@ -145,8 +155,10 @@ import org.hibernate.jdbc.Work;
 import org.hibernate.jdbc.WorkExecutor;
 import org.hibernate.jdbc.WorkExecutorVisitable;
 import org.hibernate.loader.criteria.CriteriaLoader;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
 import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
+import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.OuterJoinLoadable;
@@ -359,6 +371,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		if ( isClosed() ) {
 			throw new SessionException( "Session was already closed" );
 		}
+		errorIfAsyncOperationPending();
 
 		if ( factory.getStatistics().isStatisticsEnabled() ) {
 			factory.getStatisticsImplementor().closeSession();
@@ -1002,6 +1015,39 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return this.byId( entityName ).load( id );
 	}
 
+	@Override
+	public AsyncResult<Object> getAsync(final Class entityClass, final Serializable id, Executor executor) {
+		return executeAsync(
+				new Callable<Object>() {
+					@Override
+					public Object call() {
+						return get( entityClass, id );
+					}
+				},
+				executor
+		);
+	}
+
+	@Override
+	public List<List> parallel(Executor executor, Query... queries) {
+		errorIfClosed();
+		checkTransactionSynchStatus();
+		return new ParallelQueryExecutor( this ).execute( executor, queries );
+	}
+
+	@Override
+	public AsyncResult<Object> getAsync(final String entityName, final Serializable id, Executor executor) {
+		return executeAsync(
+				new Callable<Object>() {
+					@Override
+					public Object call() {
+						return get( entityName, id );
+					}
+				},
+				executor
+		);
+	}
+
 	/**	
 	 * Load the data for the object with the specified id into a newly created object.
 	 * This is only called when lazily initializing a proxy.
@@ -1085,6 +1131,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return new IdentifierLoadAccessImpl( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityName ) );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityClass.getName() ) );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return new NaturalIdLoadAccessImpl( entityName );
@@ -1664,17 +1720,22 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		errorIfClosed();
 		checkTransactionSynchStatus();
 		String entityName = criteriaImpl.getEntityOrClassName();
-		CriteriaLoader loader = new CriteriaLoader(
-				getOuterJoinLoadable(entityName),
+		CriteriaQueryTranslator translator = new CriteriaQueryTranslator(
 				factory,
 				criteriaImpl,
 				entityName,
+				CriteriaQueryTranslator.ROOT_SQL_ALIAS
+		);
+		CriteriaLoader loader = factory.getQueryPlanCache().getCriteriaLoader(
+				getOuterJoinLoadable(entityName),
+				translator,
+				entityName,
 				getLoadQueryInfluencers()
 		);
 		autoFlushIfRequired( loader.getQuerySpaces() );
 		dontFlushFromFind++;
 		try {
-			return loader.scroll(this, scrollMode);
+			return loader.scroll( this, translator.getQueryParameters(), scrollMode );
 		}
 		finally {
 			delayedAfterCompletion();
@@ -1699,16 +1760,23 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		int size = implementors.length;
 
 		CriteriaLoader[] loaders = new CriteriaLoader[size];
+		QueryParameters[] parameters = new QueryParameters[size];
 		Set spaces = new HashSet();
 		for( int i=0; i <size; i++ ) {
 
-			loaders[i] = new CriteriaLoader(
-					getOuterJoinLoadable( implementors[i] ),
+			final CriteriaQueryTranslator translator = new CriteriaQueryTranslator(
 					factory,
 					criteriaImpl,
 					implementors[i],
+					CriteriaQueryTranslator.ROOT_SQL_ALIAS
+			);
+			loaders[i] = factory.getQueryPlanCache().getCriteriaLoader(
+					getOuterJoinLoadable( implementors[i] ),
+					translator,
+					implementors[i],
 					getLoadQueryInfluencers()
 				);
+			parameters[i] = translator.getQueryParameters();
 
 			spaces.addAll( loaders[i].getQuerySpaces() );
 
@@ -1721,7 +1789,7 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		boolean success = false;
 		try {
 			for( int i=0; i<size; i++ ) {
-				final List currentResults = loaders[i].list(this);
+				final List currentResults = loaders[i].list( this, parameters[i] );
 				currentResults.addAll(results);
 				results = currentResults;
 			}
@@ -1941,6 +2009,18 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		delayedAfterCompletion();
 	}
 
+	@Override
+	public void initializeCollections(String role) throws HibernateException {
+		errorIfClosed();
+		checkTransactionSynchStatus();
+		final CollectionPersister persister = factory.getCollectionPersister( role );
+		final Serializable[] keys = persistenceContext.getBatchFetchQueue().getUninitializedCollectionKeys( persister );
+		if ( keys.length > 0 ) {
+			persister.initializeAll( keys, this );
+		}
+		delayedAfterCompletion();
+	}
+
 	@Override
 	public String bestGuessEntityName(Object object) {
 		if (object instanceof HibernateProxy) {
@@ -2603,6 +2683,114 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 	}
 
+	private class MultiIdentifierLoadAccessImpl implements MultiIdentifierLoadAccess {
+		private final EntityPersister entityPersister;
+		private LockOptions lockOptions;
+		private int batchSize = factory.getDialect().getInExpressionCountLimit();
+
+		private MultiIdentifierLoadAccessImpl(EntityPersister entityPersister) {
+			this.entityPersister = entityPersister;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccessImpl with(LockOptions lockOptions) {
+			this.lockOptions = lockOptions;
+			return this;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccessImpl withBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		@Override
+		public List multiLoad(Serializable... ids) {
+			return multiLoad( Arrays.asList( ids ) );
+		}
+
+		@Override
+		public List multiLoad(List<? extends Serializable> ids) {
+			final Set<EntityKey> fetchedKeys = fetchUnresolved( ids );
+
+			final IdentifierLoadAccessImpl identifierLoadAccess = new IdentifierLoadAccessImpl( entityPersister );
+			if ( lockOptions != null ) {
+				identifierLoadAccess.with( lockOptions );
+			}
+			final List results = new ArrayList( ids.size() );
+			for ( Serializable id : ids ) {
+				if ( id == null ) {
+					results.add( null );
+					continue;
+				}
+				final EntityKey entityKey = generateEntityKey( id, entityPersister );
+				if ( fetchedKeys.contains( entityKey ) && !getPersistenceContext().containsEntity( entityKey ) ) {
+					// the batch did not find it, so it does not exist
+					results.add( null );
+				}
+				else {
+					// now resolved from the persistence context or the second-level cache
+					results.add( identifierLoadAccess.load( id ) );
+				}
+			}
+			return results;
+		}
+
+		/**
+		 * Load, in batches, the entities found neither in the persistence context nor in the second-level cache.
+		 *
+		 * @return The keys of the entities that were attempted to be loaded
+		 */
+		private Set<EntityKey> fetchUnresolved(List<? extends Serializable> ids) {
+			if ( !( entityPersister instanceof OuterJoinLoadable ) ) {
+				return Collections.emptySet();
+			}
+
+			final LockOptions lockOptionsToUse = lockOptions == null ? LockOptions.NONE : lockOptions;
+			final boolean useCache = entityPersister.hasCache()
+					&& getCacheMode().isGetEnabled()
+					&& lockOptionsToUse.getLockMode().lessThan( LockMode.READ );
+
+			final Set<EntityKey> unresolvedKeys = new LinkedHashSet<EntityKey>();
+			for ( Serializable id : ids ) {
+				if ( id == null ) {
+					continue;
+				}
+				final EntityKey entityKey = generateEntityKey( id, entityPersister );
+				if ( getPersistenceContext().containsEntity( entityKey ) ) {
+					continue;
+				}
+				if ( useCache ) {
+					final CacheKey cacheKey = generateCacheKey(
+							id,
+							entityPersister.getIdentifierType(),
+							entityPersister.getRootEntityName()
+					);
+					if ( CacheHelper.fromSharedCache( SessionImpl.this, cacheKey, entityPersister.getCacheAccessStrategy() ) != null ) {
+						continue;
+					}
+				}
+				unresolvedKeys.add( entityKey );
+			}
+
+			if ( !unresolvedKeys.isEmpty() ) {
+				final Serializable[] idsToLoad = new Serializable[ unresolvedKeys.size() ];
+				int i = 0;
+				for ( EntityKey entityKey : unresolvedKeys ) {
+					idsToLoad[i++] = entityKey.getIdentifier();
+				}
+				DynamicBatchingEntityLoaderBuilder.multiLoad(
+						(OuterJoinLoadable) entityPersister,
+						idsToLoad,
+						batchSize,
+						lockOptionsToUse,
+						SessionImpl.this
+				);
+			}
+			return unresolvedKeys;
+		}
+	}
+
 	private EntityPersister locateEntityPersister(String entityName) {
 		final EntityPersister entityPersister = factory.getEntityPersister( entityName );
 		if ( entityPersister == null ) {
@@ -2658,6 +2846,86 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			}
 		}
 
+		protected final Serializable[] resolveNaturalIds(List<Map<String, Object>> naturalIdParameters) {
+			performAnyNeededCrossReferenceSynchronizations();
+
+			final PersistenceContext.NaturalIdHelper naturalIdHelper = getPersistenceContext().getNaturalIdHelper();
+			final Serializable[] ids = new Serializable[ naturalIdParameters.size() ];
+			final List<Object[]> unresolvedValues = new ArrayList<Object[]>();
+			final List<Integer> unresolvedPositions = new ArrayList<Integer>();
+			for ( int i = 0; i < ids.length; i++ ) {
+				final Object[] orderedValues = new ResolveNaturalIdEvent(
+						naturalIdParameters.get( i ),
+						entityPersister,
+						SessionImpl.this
+				).getOrderedNaturalIdValues();
+				final Serializable cached = naturalIdHelper.findCachedNaturalIdResolution( entityPersister, orderedValues );
+				if ( cached == PersistenceContext.NaturalIdHelper.INVALID_NATURAL_ID_REFERENCE ) {
+					continue;
+				}
+				if ( cached != null ) {
+					ids[i] = cached;
+				}
+				else {
+					unresolvedValues.add( orderedValues );
+					unresolvedPositions.add( i );
+				}
+			}
+
+			if ( unresolvedValues.isEmpty() ) {
+				return ids;
+			}
+
+			final boolean stats = factory.getStatistics().isStatisticsEnabled();
+			long startTime = 0;
+			if ( stats ) {
+				startTime = System.nanoTime();
+			}
+
+			final Serializable[] loadedIds = entityPersister.loadEntityIdsByNaturalIds( unresolvedValues, SessionImpl.this );
+
+			if ( stats ) {
+				final NaturalIdRegionAccessStrategy naturalIdCacheAccessStrategy = entityPersister.getNaturalIdCacheAccessStrategy();
+				final String regionName = naturalIdCacheAccessStrategy == null ? null : naturalIdCacheAccessStrategy.getRegion().getName();
+				final long milliseconds = TimeUnit.MILLISECONDS.convert( System.nanoTime() - startTime, TimeUnit.NANOSECONDS );
+				factory.getStatisticsImplementor().naturalIdQueryExecuted( regionName, milliseconds );
+			}
+
+			for ( int i = 0; i < loadedIds.length; i++ ) {
+				if ( loadedIds[i] != null ) {
+					naturalIdHelper.cacheNaturalIdCrossReferenceFromLoad(
+							entityPersister,
+							loadedIds[i],
+							unresolvedValues.get( i )
+					);
+					ids[ unresolvedPositions.get( i ) ] = loadedIds[i];
+				}
+			}
+			return ids;
+		}
+
+		protected final List multiLoad(Serializable[] entityIds) {
+			// fetched together whether or not the entity is batch fetchable
+			final MultiIdentifierLoadAccessImpl multiIdentifierLoadAccess = new MultiIdentifierLoadAccessImpl( entityPersister );
+			if ( this.lockOptions != null ) {
+				multiIdentifierLoadAccess.with( lockOptions );
+			}
+			return multiIdentifierLoadAccess.multiLoad( Arrays.asList( entityIds ) );
+		}
+
+		protected final Object load(Serializable entityId) {
+			try {
+				return this.getIdentifierLoadAccess().load( entityId );
+			}
+			catch (EntityNotFoundException enf) {
+				// OK
+			}
+			catch (ObjectNotFoundException nf) {
+				// OK
+			}
+			return null;
+		}
+
 		protected void performAnyNeededCrossReferenceSynchronizations() {
 			if ( ! synchronizationEnabled ) {
 				// synchronization (this process) was disabled
@@ -2765,16 +3033,12 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			if ( entityId == null ) {
 				return null;
 			}
-			try {
-				return this.getIdentifierLoadAccess().load( entityId );
-			}
-			catch (EntityNotFoundException enf) {
-				// OK
-			}
-			catch (ObjectNotFoundException nf) {
-				// OK
-			}
-			return null;
+			return load( entityId );
+		}
+
+		@Override
+		public List multiLoad(List<Map<String, Object>> naturalIds) {
+			return multiLoad( resolveNaturalIds( naturalIds ) );
 		}
 	}
 
@@ -2832,16 +3096,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 			if ( entityId == null ) {
 				return null;
 			}
-			try {
-				return this.getIdentifierLoadAccess().load( entityId );
-			}
-			catch (EntityNotFoundException enf) {
-				// OK
-			}
-			catch (ObjectNotFoundException nf) {
-				// OK
+			return load( entityId );
+		}
+
+		@Override
+		public List multiLoad(List<?> naturalIdValues) {
+			final List<Map<String, Object>> naturalIdParameters = new ArrayList<Map<String, Object>>( naturalIdValues.size() );
+			for ( Object naturalIdValue : naturalIdValues ) {
+				naturalIdParameters.add( getNaturalIdParameters( naturalIdValue ) );
 			}
-			return null;
+			return multiLoad( resolveNaturalIds( naturalIdParameters ) );
 		}
 	}
 }
@@ -65,6 +65,7 @@ import org.hibernate.engine.transaction.spi.TransactionEnvironment;
 import org.hibernate.engine.transaction.spi.TransactionImplementor;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.loader.criteria.CriteriaLoader;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
 import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.persister.entity.EntityPersister;
@@ -85,6 +86,8 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 	private TransactionCoordinator transactionCoordinator;
 	private PersistenceContext temporaryPersistenceContext = new StatefulPersistenceContext( this );
 	private long timestamp;
+	private boolean recycleScrolledEntities;
+	private ScrolledEntityRecycler activeEntityRecycler;
 	
 	StatelessSessionImpl(
 			Connection connection,
@@ -289,7 +292,47 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 			String entityName,
 	        Serializable id) throws HibernateException {
 		errorIfClosed();
-		return getFactory().getEntityPersister( entityName ).instantiate( id, this );
+		final EntityPersister persister = getFactory().getEntityPersister( entityName );
+		if ( activeEntityRecycler != null ) {
+			final Object recycled = activeEntityRecycler.recycle( entityName );
+			if ( recycled != null ) {
+				persister.setIdentifier( recycled, id, this );
+				return recycled;
+			}
+			final Object instance = persister.instantiate( id, this );
+			activeEntityRecycler.register( entityName, instance );
+			return instance;
+		}
+		return persister.instantiate( id, this );
+	}
+
+	@Override
+	public void setRecycleScrolledEntities(boolean recycle) {
+		this.recycleScrolledEntities = recycle;
+	}
+
+	@Override
+	public boolean isRecycleScrolledEntities() {
+		return recycleScrolledEntities;
+	}
+
+	void beginEntityRecycling(ScrolledEntityRecycler recycler) {
+		// the entries of the previous row refer to instances about to be reused for other ids
+		temporaryPersistenceContext.clear();
+		activeEntityRecycler = recycler;
+	}
+
+	void endEntityRecycling(ScrolledEntityRecycler recycler) {
+		if ( activeEntityRecycler == recycler ) {
+			activeEntityRecycler = null;
+		}
+	}
+
+	private ScrollableResults applyEntityRecycling(ScrollableResults results) {
+		if ( recycleScrolledEntities && results instanceof ScrollableResultsImpl ) {
+			( (ScrollableResultsImpl) results ).setEntityRecycler( new ScrolledEntityRecycler( this ) );
+		}
+		return results;
 	}
 
 	@Override
@@ -340,7 +383,38 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 
 	@Override
 	public void close() {
-		managedClose();
+		if ( !isClosed() ) {
+			errorIfAsyncOperationPending();
+		}
+		try {
+			if ( !isClosed() ) {
+				// statements are only queued for batching to save round trips; they still have to be executed
+				executePendingBatch();
+			}
+		}
+		catch (RuntimeException e) {
+			// a batch which failed part way is not to be retried by anybody
+			getTransactionCoordinator().getJdbcCoordinator().abortBatch();
+			throw e;
+		}
+		finally {
+			managedClose();
+		}
+	}
+
+	@Override
+	public void flushBatch() {
+		errorIfClosed();
+		executePendingBatch();
+	}
+
+	/**
+	 * Execute the insert, update and delete statements queued in the current JDBC batch (if any).  Preparing
+	 * any other statement already does this (see StatementPreparerImpl); this covers the points where no
+	 * statement follows.
+	 */
+	private void executePendingBatch() {
+		getTransactionCoordinator().getJdbcCoordinator().executeBatch();
 	}
 
 	@Override
@@ -380,7 +454,7 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 	@Override
 	public void managedFlush() {
 		errorIfClosed();
-		getTransactionCoordinator().getJdbcCoordinator().executeBatch();
+		executePendingBatch();
 	}
 
 	@Override
@@ -400,7 +474,10 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 
 	@Override
 	public void afterTransactionCompletion(TransactionImplementor hibernateTransaction, boolean successful) {
-		// nothing to do here
+		if ( !successful ) {
+			// whatever is still queued belongs to the rolled back transaction; close() must not execute it
+			getTransactionCoordinator().getJdbcCoordinator().abortBatch();
+		}
 	}
 
 	@Override
@@ -672,14 +749,19 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 		
 		errorIfClosed();
 		String entityName = criteriaImpl.getEntityOrClassName();
-		CriteriaLoader loader = new CriteriaLoader(
+		CriteriaQueryTranslator translator = new CriteriaQueryTranslator(
+				factory,
+				criteriaImpl,
+				entityName,
+				CriteriaQueryTranslator.ROOT_SQL_ALIAS
+		);
+		CriteriaLoader loader = factory.getQueryPlanCache().getCriteriaLoader(
 				getOuterJoinLoadable( entityName ),
-		        factory,
-		        criteriaImpl,
-		        entityName,
-		        getLoadQueryInfluencers()
+				translator,
+				entityName,
+				getLoadQueryInfluencers()
 		);
-		return loader.scroll(this, scrollMode);
+		return applyEntityRecycling( loader.scroll( this, translator.getQueryParameters(), scrollMode ) );
 	}
 
 	@Override
@@ -693,14 +775,21 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 		int size = implementors.length;
 
 		CriteriaLoader[] loaders = new CriteriaLoader[size];
+		QueryParameters[] parameters = new QueryParameters[size];
 		for( int i=0; i <size; i++ ) {
-			loaders[i] = new CriteriaLoader(
+			final CriteriaQueryTranslator translator = new CriteriaQueryTranslator(
+					factory,
+					criteriaImpl,
+					implementors[i],
+					CriteriaQueryTranslator.ROOT_SQL_ALIAS
+			);
+			loaders[i] = factory.getQueryPlanCache().getCriteriaLoader(
 					getOuterJoinLoadable( implementors[i] ),
-			        factory,
-			        criteriaImpl,
-			        implementors[i],
-			        getLoadQueryInfluencers()
+					translator,
+					implementors[i],
+					getLoadQueryInfluencers()
 			);
+			parameters[i] = translator.getQueryParameters();
 		}
 
 
@@ -708,7 +797,7 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 		boolean success = false;
 		try {
 			for( int i=0; i<size; i++ ) {
-				final List currentResults = loaders[i].list(this);
+				final List currentResults = loaders[i].list( this, parameters[i] );
 				currentResults.addAll(results);
 				results = currentResults;
 			}
@@ -753,14 +842,14 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 	throws HibernateException {
 		errorIfClosed();
 		CustomLoader loader = new CustomLoader( customQuery, getFactory() );
-		return loader.scroll( queryParameters, this );
+		return applyEntityRecycling( loader.scroll( queryParameters, this ) );
 	}
 
 	@Override
 	public ScrollableResults scroll(String query, QueryParameters queryParameters) throws HibernateException {
 		errorIfClosed();
 		HQLQueryPlan plan = getHQLQueryPlan( query, false );
-		return plan.performScroll( queryParameters, this );
+		return applyEntityRecycling( plan.performScroll( queryParameters, this ) );
 	}
 
 	@Override
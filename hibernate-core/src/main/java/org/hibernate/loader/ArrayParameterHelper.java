@@ -0,0 +1,69 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.sql.Types;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.Loadable;
+import org.hibernate.type.AbstractStandardBasicType;
+import org.hibernate.type.Type;
+
+/**
+ * Helper for restricting an entity's identifier against the elements of a single array parameter, as rendered by
+ * {@link org.hibernate.dialect.Dialect#getArrayParameterRestriction}.
+ */
+public final class ArrayParameterHelper {
+	private ArrayParameterHelper() {
+	}
+
+	/**
+	 * Determine the typecode the identifiers of the given entity can be bound with, as an array parameter.
+	 *
+	 * @param persister The entity persister
+	 * @param factory The session factory
+	 *
+	 * @return The typecode of the array elements, or {@link Types#NULL} if the ids cannot be bound as an array
+	 */
+	public static int resolveIdentifierArrayElementSqlType(Loadable persister, SessionFactoryImplementor factory) {
+		final Type identifierType = persister.getIdentifierType();
+		if ( !( identifierType instanceof AbstractStandardBasicType ) ) {
+			return Types.NULL;
+		}
+		// the ids are bound as they are, so only allow those JDBC drivers can be expected to handle
+		final Class javaType = identifierType.getReturnedClass();
+		if ( javaType != Long.class && javaType != Integer.class && javaType != Short.class && javaType != String.class ) {
+			return Types.NULL;
+		}
+		final int[] sqlTypes = identifierType.sqlTypes( factory );
+		if ( sqlTypes.length != 1 ) {
+			return Types.NULL;
+		}
+		final String restriction = factory.getDialect().getArrayParameterRestriction(
+				persister.getIdentifierColumnNames()[0],
+				sqlTypes[0]
+		);
+		return restriction == null ? Types.NULL : sqlTypes[0];
+	}
+}
@@ -55,7 +55,14 @@ public enum BatchFetchStyle {
 	 * Dynamically builds its SQL based on the actual number of available ids.  Does still limit to the batch-size
 	 * defined on the entity/collection
 	 */
-	DYNAMIC;
+	DYNAMIC,
+	/**
+	 * Binds all the ids of an entity batch as a single array parameter, so that the SQL is the same whatever the
+	 * number of ids.  Requires support from the Dialect (see
+	 * {@link org.hibernate.dialect.Dialect#getArrayParameterRestriction}) and a single-column integer or string
+	 * identifier; otherwise, as well as for collections, behaves as {@link #DYNAMIC}.
+	 */
+	ARRAY;
 
 	private static final Logger log = Logger.getLogger( BatchFetchStyle.class );
 
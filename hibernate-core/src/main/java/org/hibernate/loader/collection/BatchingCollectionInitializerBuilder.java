@@ -40,7 +40,8 @@ public abstract class BatchingCollectionInitializerBuilder {
 			case PADDED: {
 				return PaddedBatchingCollectionInitializerBuilder.INSTANCE;
 			}
-			case DYNAMIC: {
+			case DYNAMIC:
+			case ARRAY: {
 				return DynamicBatchingCollectionInitializerBuilder.INSTANCE;
 			}
 			default: {
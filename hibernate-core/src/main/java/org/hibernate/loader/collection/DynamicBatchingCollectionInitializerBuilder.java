@@ -117,7 +117,11 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 		}
 	}
 
-	private static class DynamicBatchingCollectionLoader extends CollectionLoader {
+	/**
+	 * Loads the collections with any number of keys at once, expanding the IN-restriction as needed.  Also used
+	 * by {@link org.hibernate.persister.collection.CollectionPersister#initializeAll}.
+	 */
+	public static class DynamicBatchingCollectionLoader extends CollectionLoader {
 		// todo : this represents another case where the current Loader contract is unhelpful
 		//		the other recent case was stored procedure support.  Really any place where the SQL
 		//		generation is dynamic but the "loading plan" remains constant.  The long term plan
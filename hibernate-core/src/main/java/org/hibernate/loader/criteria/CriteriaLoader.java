@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
@@ -66,7 +67,9 @@ public class CriteriaLoader extends OuterJoinLoader {
 	//      interface
 
 	//NOTE: unlike all other Loaders, this one is NOT
-	//      multithreaded, or cacheable!!
+	//      multithreaded, or cacheable, unless it was built
+	//      without retaining its translator (see the second
+	//      constructor)!!
 
 	private final CriteriaQueryTranslator translator;
 	private final Set<Serializable> querySpaces;
@@ -76,6 +79,8 @@ public class CriteriaLoader extends OuterJoinLoader {
 	private final String[] userAliases;
 	private final boolean[] includeInResultRow;
 	private final int resultRowLength;
+	private final Type[] projectedTypes;
+	private final String[] projectedColumnAliases;
 
 	public CriteriaLoader(
 			final OuterJoinLoadable persister, 
@@ -83,14 +88,52 @@ public class CriteriaLoader extends OuterJoinLoader {
 			final CriteriaImpl criteria, 
 			final String rootEntityName,
 			final LoadQueryInfluencers loadQueryInfluencers) throws HibernateException {
+		this(
+				persister,
+				factory,
+				new CriteriaQueryTranslator(
+						factory,
+						criteria,
+						rootEntityName,
+						CriteriaQueryTranslator.ROOT_SQL_ALIAS
+				),
+				rootEntityName,
+				loadQueryInfluencers,
+				true
+		);
+	}
+
+	/**
+	 * Builds a loader for the structure of the criteria being translated, without keeping a reference to the
+	 * criteria itself.  Such a loader can be shared by any criteria of the same structure (see
+	 * {@link CriteriaLoaderKey}); it must be executed through {@link #list(SessionImplementor, QueryParameters)} or
+	 * {@link #scroll(SessionImplementor, QueryParameters, ScrollMode)} with the parameters of the criteria at hand.
+	 *
+	 * @param persister The root entity persister
+	 * @param factory The session factory
+	 * @param translator The translator for the criteria
+	 * @param rootEntityName The root entity name
+	 * @param loadQueryInfluencers The influencers in effect
+	 */
+	public CriteriaLoader(
+			final OuterJoinLoadable persister,
+			final SessionFactoryImplementor factory,
+			final CriteriaQueryTranslator translator,
+			final String rootEntityName,
+			final LoadQueryInfluencers loadQueryInfluencers) throws HibernateException {
+		this( persister, factory, translator, rootEntityName, loadQueryInfluencers, false );
+	}
+
+	private CriteriaLoader(
+			final OuterJoinLoadable persister,
+			final SessionFactoryImplementor factory,
+			final CriteriaQueryTranslator translator,
+			final String rootEntityName,
+			final LoadQueryInfluencers loadQueryInfluencers,
+			final boolean retainTranslator) throws HibernateException {
 		super( factory, loadQueryInfluencers );
 
-		translator = new CriteriaQueryTranslator(
-				factory, 
-				criteria, 
-				rootEntityName, 
-				CriteriaQueryTranslator.ROOT_SQL_ALIAS
-			);
+		this.translator = retainTranslator ? translator : null;
 
 		querySpaces = translator.getQuerySpaces();
 		
@@ -98,7 +141,7 @@ public class CriteriaLoader extends OuterJoinLoader {
 				persister, 
 				translator,
 				factory, 
-				criteria, 
+				translator.getRootCriteria(),
 				rootEntityName, 
 				loadQueryInfluencers
 			);
@@ -110,29 +153,56 @@ public class CriteriaLoader extends OuterJoinLoader {
 		includeInResultRow = walker.includeInResultRow();
 		resultRowLength = ArrayHelper.countTrue( includeInResultRow );
 
+		if ( translator.hasProjection() ) {
+			projectedTypes = translator.getProjectedTypes();
+			projectedColumnAliases = translator.getProjectedColumnAliases();
+		}
+		else {
+			projectedTypes = null;
+			projectedColumnAliases = null;
+		}
+
 		postInstantiate();
 
 	}
 	
 	public ScrollableResults scroll(SessionImplementor session, ScrollMode scrollMode) 
 	throws HibernateException {
-		QueryParameters qp = translator.getQueryParameters();
-		qp.setScrollMode(scrollMode);
-		return scroll(qp, resultTypes, null, session);
+		return scroll( session, retainedTranslator().getQueryParameters(), scrollMode );
+	}
+
+	public ScrollableResults scroll(SessionImplementor session, QueryParameters queryParameters, ScrollMode scrollMode)
+	throws HibernateException {
+		queryParameters.setScrollMode( scrollMode );
+		return scroll( queryParameters, resultTypes, null, session );
 	}
 
 	public List list(SessionImplementor session) 
 	throws HibernateException {
-		return list( session, translator.getQueryParameters(), querySpaces, resultTypes );
+		return list( session, retainedTranslator().getQueryParameters() );
+
+	}
+
+	public List list(SessionImplementor session, QueryParameters queryParameters)
+	throws HibernateException {
+		return list( session, queryParameters, querySpaces, resultTypes );
+	}
 
+	private CriteriaQueryTranslator retainedTranslator() {
+		if ( translator == null ) {
+			throw new AssertionFailure( "Shared criteria loader must be executed with explicit query parameters" );
+		}
+		return translator;
 	}
+
 	@Override
 	protected String[] getResultRowAliases() {
 		return userAliases;
 	}
 	@Override
 	protected ResultTransformer resolveResultTransformer(ResultTransformer resultTransformer) {
-		return translator.getRootCriteria().getResultTransformer();
+		// the query parameters carry the result transformer of the criteria being executed
+		return resultTransformer;
 	}
 	@Override
 	protected boolean areResultSetRowsTransformedImmediately() {
@@ -154,10 +224,10 @@ public class CriteriaLoader extends OuterJoinLoader {
 	protected Object[] getResultRow(Object[] row, ResultSet rs, SessionImplementor session)
 			throws SQLException, HibernateException {
 		final Object[] result;
-		if ( translator.hasProjection() ) {
-			Type[] types = translator.getProjectedTypes();
+		if ( projectedTypes != null ) {
+			Type[] types = projectedTypes;
 			result = new Object[types.length];
-			String[] columnAliases = translator.getProjectedColumnAliases();
+			String[] columnAliases = projectedColumnAliases;
 			for ( int i=0, pos=0; i<result.length; i++ ) {
 				int numColumns = types[i].getColumnSpan( session.getFactory() );
 				if ( numColumns > 1 ) {
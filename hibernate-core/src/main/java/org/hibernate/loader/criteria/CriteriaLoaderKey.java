@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.criteria;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.FetchMode;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.internal.CriteriaImpl;
+
+/**
+ * Identifies the structure of a criteria query, as far as it determines the SQL and the result processing of a
+ * {@link CriteriaLoader}: the root entity and alias, the SQL fragments rendered for its restrictions, orderings and
+ * projection (in which values appear only as JDBC parameter placeholders), its joins and fetch modes, and the
+ * filters and fetch profiles in effect.  Two criteria with equal keys can be executed by the same loader, each with
+ * its own {@link org.hibernate.engine.spi.QueryParameters}.
+ */
+public class CriteriaLoaderKey implements Serializable {
+	private final String rootEntityName;
+	private final List<Object> structure;
+	private final Set<String> enabledFilterNames;
+	private final Set<String> enabledFetchProfileNames;
+	private final String internalFetchProfile;
+	private final int hashCode;
+
+	/**
+	 * Builds the key for the criteria being translated.
+	 *
+	 * @param translator The translator for the criteria
+	 * @param rootEntityName The entity name the criteria is being executed against
+	 * @param loadQueryInfluencers The influencers in effect
+	 */
+	public CriteriaLoaderKey(
+			CriteriaQueryTranslator translator,
+			String rootEntityName,
+			LoadQueryInfluencers loadQueryInfluencers) {
+		this.rootEntityName = rootEntityName;
+
+		final CriteriaImpl criteria = translator.getRootCriteria();
+		final List<Object> structure = new ArrayList<Object>();
+		structure.add( criteria.getAlias() );
+		structure.add( translator.getWhereCondition() );
+		structure.add( translator.getOrderBy() );
+		if ( translator.hasProjection() ) {
+			structure.add( translator.getSelect() );
+			structure.add( translator.getGroupBy() );
+			structure.add( Arrays.asList( translator.getProjectedAliases() ) );
+			structure.add( Arrays.asList( translator.getProjectedTypes() ) );
+		}
+		final Iterator<CriteriaImpl.Subcriteria> subcriteria = criteria.iterateSubcriteria();
+		while ( subcriteria.hasNext() ) {
+			final CriteriaImpl.Subcriteria sub = subcriteria.next();
+			structure.add( sub.getPath() );
+			structure.add( sub.getAlias() );
+			structure.add( sub.getJoinType() );
+			structure.add(
+					sub.getWithClause() == null
+							? null
+							: sub.getWithClause().toSqlString( sub, translator )
+			);
+		}
+		structure.add( new HashMap<String, FetchMode>( criteria.getFetchModes() ) );
+		this.structure = Collections.unmodifiableList( structure );
+
+		this.enabledFilterNames = loadQueryInfluencers.hasEnabledFilters()
+				? new HashSet<String>( loadQueryInfluencers.getEnabledFilterNames() )
+				: Collections.<String>emptySet();
+		this.enabledFetchProfileNames = loadQueryInfluencers.hasEnabledFetchProfiles()
+				? new HashSet<String>( loadQueryInfluencers.getEnabledFetchProfileNames() )
+				: Collections.<String>emptySet();
+		this.internalFetchProfile = loadQueryInfluencers.getInternalFetchProfile();
+
+		int hash = rootEntityName.hashCode();
+		hash = 29 * hash + this.structure.hashCode();
+		hash = 29 * hash + enabledFilterNames.hashCode();
+		hash = 29 * hash + enabledFetchProfileNames.hashCode();
+		hash = 29 * hash + ( internalFetchProfile == null ? 0 : internalFetchProfile.hashCode() );
+		this.hashCode = hash;
+	}
+
+	/**
+	 * Whether a loader for this structure may be cached.  Entity graphs are not part of the key, so criteria
+	 * executed while one is applied are always translated afresh.
+	 *
+	 * @param loadQueryInfluencers The influencers in effect
+	 *
+	 * @return {@code true} if the loader may be cached
+	 */
+	public static boolean isCacheable(LoadQueryInfluencers loadQueryInfluencers) {
+		return loadQueryInfluencers.getFetchGraph() == null && loadQueryInfluencers.getLoadGraph() == null;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+
+		final CriteriaLoaderKey that = (CriteriaLoaderKey) o;
+
+		return hashCode == that.hashCode
+				&& rootEntityName.equals( that.rootEntityName )
+				&& structure.equals( that.structure )
+				&& enabledFilterNames.equals( that.enabledFilterNames )
+				&& enabledFetchProfileNames.equals( that.enabledFetchProfileNames )
+				&& ( internalFetchProfile == null
+						? that.internalFetchProfile == null
+						: internalFetchProfile.equals( that.internalFetchProfile ) );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "[CRITERIA] " + rootEntityName + " " + structure;
+	}
+}
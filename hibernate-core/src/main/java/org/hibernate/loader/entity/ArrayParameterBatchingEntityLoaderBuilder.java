@@ -0,0 +1,233 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader.entity;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.ArrayParameterHelper;
+import org.hibernate.persister.entity.OuterJoinLoadable;
+
+/**
+ * A BatchingEntityLoaderBuilder that builds UniqueEntityLoader instances binding all the ids of a batch as a
+ * single array parameter, so that every batch fetch of an entity uses the same SQL (and the same cached
+ * statements, on the database as well as in the JDBC driver).
+ * <p/>
+ * Falls back to {@link DynamicBatchingEntityLoaderBuilder} when the dialect does not support array parameters,
+ * when the identifier is not a single integer or string column, or when filters are enabled.
+ *
+ * @see org.hibernate.loader.BatchFetchStyle#ARRAY
+ * @see org.hibernate.dialect.Dialect#getArrayParameterRestriction
+ */
+public class ArrayParameterBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuilder {
+	public static final ArrayParameterBatchingEntityLoaderBuilder INSTANCE = new ArrayParameterBatchingEntityLoaderBuilder();
+
+	@Override
+	protected UniqueEntityLoader buildBatchingLoader(
+			OuterJoinLoadable persister,
+			int batchSize,
+			LockMode lockMode,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		final int sqlTypeCode = resolveArrayElementSqlType( persister, factory, influencers );
+		if ( sqlTypeCode == Types.NULL ) {
+			return DynamicBatchingEntityLoaderBuilder.INSTANCE.buildBatchingLoader(
+					persister,
+					batchSize,
+					lockMode,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayParameterBatchingEntityLoader(
+				persister,
+				batchSize,
+				new EntityLoader( persister, lockMode, factory, influencers ),
+				new ArrayParameterEntityLoader( persister, sqlTypeCode, lockMode, factory, influencers )
+		);
+	}
+
+	@Override
+	protected UniqueEntityLoader buildBatchingLoader(
+			OuterJoinLoadable persister,
+			int batchSize,
+			LockOptions lockOptions,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		final int sqlTypeCode = resolveArrayElementSqlType( persister, factory, influencers );
+		if ( sqlTypeCode == Types.NULL ) {
+			return DynamicBatchingEntityLoaderBuilder.INSTANCE.buildBatchingLoader(
+					persister,
+					batchSize,
+					lockOptions,
+					factory,
+					influencers
+			);
+		}
+		return new ArrayParameterBatchingEntityLoader(
+				persister,
+				batchSize,
+				new EntityLoader( persister, lockOptions, factory, influencers ),
+				new ArrayParameterEntityLoader( persister, sqlTypeCode, lockOptions.getLockMode(), factory, influencers )
+		);
+	}
+
+	/**
+	 * @return The typecode of the array elements, or {@link Types#NULL} if the ids cannot be bound as an array
+	 */
+	private static int resolveArrayElementSqlType(
+			OuterJoinLoadable persister,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		if ( influencers.hasEnabledFilters() ) {
+			// filter parameters are bound positionally, along with the ids
+			return Types.NULL;
+		}
+		return ArrayParameterHelper.resolveIdentifierArrayElementSqlType( persister, factory );
+	}
+
+	public static class ArrayParameterBatchingEntityLoader extends BatchingEntityLoader {
+		private final int maxBatchSize;
+		private final UniqueEntityLoader singleKeyLoader;
+		private final ArrayParameterEntityLoader arrayLoader;
+
+		private ArrayParameterBatchingEntityLoader(
+				OuterJoinLoadable persister,
+				int maxBatchSize,
+				UniqueEntityLoader singleKeyLoader,
+				ArrayParameterEntityLoader arrayLoader) {
+			super( persister );
+			this.maxBatchSize = maxBatchSize;
+			this.singleKeyLoader = singleKeyLoader;
+			this.arrayLoader = arrayLoader;
+		}
+
+		@Override
+		public Object load(
+				Serializable id,
+				Object optionalObject,
+				SessionImplementor session,
+				LockOptions lockOptions) {
+			final Serializable[] batch = session.getPersistenceContext()
+					.getBatchFetchQueue()
+					.getEntityBatch( persister(), id, maxBatchSize, persister().getEntityMode() );
+
+			final int numberOfIds = ArrayHelper.countNonNull( batch );
+			if ( numberOfIds <= 1 ) {
+				return singleKeyLoader.load( id, optionalObject, session );
+			}
+
+			final Serializable[] idsToLoad = new Serializable[numberOfIds];
+			System.arraycopy( batch, 0, idsToLoad, 0, numberOfIds );
+
+			final List results = arrayLoader.loadEntityBatch(
+					session,
+					idsToLoad,
+					persister().getIdentifierType(),
+					optionalObject,
+					persister().getEntityName(),
+					id,
+					persister(),
+					lockOptions
+			);
+			return getObjectFromList( results, id, session );
+		}
+	}
+
+	private static class ArrayParameterEntityLoader extends EntityLoader {
+		private final int sqlTypeCode;
+
+		public ArrayParameterEntityLoader(
+				OuterJoinLoadable persister,
+				final int sqlTypeCode,
+				LockMode lockMode,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
+			super( persister, -1, lockMode, factory, loadQueryInfluencers );
+			this.sqlTypeCode = sqlTypeCode;
+
+			EntityJoinWalker walker = new EntityJoinWalker(
+					persister,
+					persister.getIdentifierColumnNames(),
+					-1,
+					lockMode,
+					factory,
+					loadQueryInfluencers
+			) {
+				@Override
+				protected StringBuilder whereString(String alias, String[] columnNames, int batchSize) {
+					return new StringBuilder(
+							getFactory().getDialect().getArrayParameterRestriction(
+									StringHelper.qualify( alias, columnNames[0] ),
+									sqlTypeCode
+							)
+					);
+				}
+			};
+
+			initFromWalker( walker );
+			postInstantiate();
+
+			if ( LOG.isDebugEnabled() ) {
+				LOG.debugf(
+						"SQL for array parameter entity [%s] batch-fetching [%s] : %s",
+						entityName,
+						lockMode,
+						getSQLString()
+				);
+			}
+		}
+
+		@Override
+		protected boolean isSingleRowLoader() {
+			return false;
+		}
+
+		@Override
+		protected int bindParameterValues(
+				PreparedStatement statement,
+				QueryParameters queryParameters,
+				int startIndex,
+				SessionImplementor session) throws SQLException {
+			getFactory().getDialect().bindArrayParameter(
+					statement,
+					startIndex,
+					queryParameters.getPositionalParameterValues(),
+					sqlTypeCode
+			);
+			return 1;
+		}
+	}
+}
@@ -62,6 +62,7 @@ public abstract class AbstractRowReader implements RowReader {
 	private final List<EntityReferenceInitializer> entityReferenceInitializers;
 	private final List<CollectionReferenceInitializer> arrayReferenceInitializers;
 	private final List<CollectionReferenceInitializer> collectionReferenceInitializers;
+	private final Map<EntityReference,EntityReferenceInitializer> initializerByEntityReference;
 
 	public AbstractRowReader(ReaderCollector readerCollector) {
 		this.entityReferenceInitializers = readerCollector.getEntityReferenceInitializers() != null
@@ -73,6 +74,13 @@ public abstract class AbstractRowReader implements RowReader {
 		this.collectionReferenceInitializers = readerCollector.getNonArrayCollectionReferenceInitializers() != null
 				? new ArrayList<CollectionReferenceInitializer>( readerCollector.getNonArrayCollectionReferenceInitializers() )
 				: Collections.<CollectionReferenceInitializer>emptyList();
+
+		// the initializers are fixed for the life of the reader, so index them once rather than for every row
+		this.initializerByEntityReference =
+				new HashMap<EntityReference, EntityReferenceInitializer>( entityReferenceInitializers.size() );
+		for ( EntityReferenceInitializer entityReferenceInitializer : entityReferenceInitializers ) {
+			initializerByEntityReference.put( entityReferenceInitializer.getEntityReference(), entityReferenceInitializer );
+		}
 	}
 
 	protected abstract Object readLogicalRow(ResultSet resultSet, ResultSetProcessingContextImpl context)
@@ -88,11 +96,6 @@ public abstract class AbstractRowReader implements RowReader {
 			for ( EntityReferenceInitializer entityReferenceInitializer : entityReferenceInitializers ) {
 				entityReferenceInitializer.hydrateIdentifier( resultSet, context );
 			}
-			final Map<EntityReference,EntityReferenceInitializer> initializerByEntityReference =
-					new HashMap<EntityReference, EntityReferenceInitializer>( entityReferenceInitializers.size() );
-			for ( EntityReferenceInitializer entityReferenceInitializerFromMap : entityReferenceInitializers ) {
-				initializerByEntityReference.put( entityReferenceInitializerFromMap.getEntityReference(), entityReferenceInitializerFromMap );
-			}
 			for ( EntityReferenceInitializer entityReferenceInitializer : entityReferenceInitializers ) {
 				resolveEntityKey(
 						resultSet,
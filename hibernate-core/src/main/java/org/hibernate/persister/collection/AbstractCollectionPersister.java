@@ -27,6 +27,7 @@ import java.io.Serializable;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -47,12 +48,16 @@ import org.hibernate.cache.spi.entry.StructuredMapCacheEntry;
 import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.dialect.pagination.LimitHelper;
+import org.hibernate.dialect.pagination.NoopLimitHandler;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.ExecuteUpdateResultCheckStyle;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SubselectFetch;
@@ -66,6 +71,7 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.loader.collection.CollectionInitializer;
+import org.hibernate.loader.collection.DynamicBatchingCollectionInitializerBuilder.DynamicBatchingCollectionLoader;
 import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Formula;
@@ -135,6 +141,8 @@ public abstract class AbstractCollectionPersister
 	private final String sqlDeleteRowString;
 	private final String sqlSelectSizeString;
 	private final String sqlSelectRowByIndexString;
+	private final String sqlSelectElementsString;
+	private DynamicBatchingCollectionLoader bulkLoader;
 	private final String sqlDetectRowByIndexString;
 	private final String sqlDetectRowByElementString;
 
@@ -528,6 +536,7 @@ public abstract class AbstractCollectionPersister
 		sqlDetectRowByIndexString = generateDetectRowByIndexString();
 		sqlDetectRowByElementString = generateDetectRowByElementString();
 		sqlSelectRowByIndexString = generateSelectRowByIndexString();
+		sqlSelectElementsString = generateSelectElementsString();
 
 		logStaticSQL();
 
@@ -675,6 +684,9 @@ public abstract class AbstractCollectionPersister
 		initializer = queryLoaderName == null ?
 				createCollectionInitializer( LoadQueryInfluencers.NONE ) :
 				new NamedQueryCollectionInitializer( queryLoaderName, this );
+		bulkLoader = queryLoaderName == null ?
+				new DynamicBatchingCollectionLoader( this, factory, LoadQueryInfluencers.NONE ) :
+				null;
 	}
 
 	protected void logStaticSQL() {
@@ -692,6 +704,33 @@ public abstract class AbstractCollectionPersister
 		getAppropriateInitializer( key, session ).initialize( key, session );
 	}
 
+	@Override
+	public void initializeAll(Serializable[] keys, SessionImplementor session) throws HibernateException {
+		if ( queryLoaderName != null || keys.length == 1 ) {
+			for ( Serializable key : keys ) {
+				initialize( key, session );
+			}
+			return;
+		}
+
+		final DynamicBatchingCollectionLoader loader;
+		if ( session.getEnabledFilters().isEmpty() ) {
+			loader = bulkLoader;
+		}
+		else {
+			loader = new DynamicBatchingCollectionLoader( this, factory, session.getLoadQueryInfluencers() );
+		}
+
+		// only split the keys if the dialect limits the size of an IN-list
+		final int inExpressionCountLimit = dialect.getInExpressionCountLimit();
+		final int chunkSize = inExpressionCountLimit > 0 ? inExpressionCountLimit : keys.length;
+		for ( int start = 0; start < keys.length; start += chunkSize ) {
+			final int end = Math.min( start + chunkSize, keys.length );
+			final Serializable[] chunk = end - start == keys.length ? keys : Arrays.copyOfRange( keys, start, end );
+			loader.doBatchedCollectionLoad( session, chunk, getKeyType() );
+		}
+	}
+
 	protected CollectionInitializer getAppropriateInitializer(Serializable key, SessionImplementor session) {
 		if ( queryLoaderName != null ) {
 			// if there is a user-specified loader, return that
@@ -1053,6 +1092,38 @@ public abstract class AbstractCollectionPersister
 				.toStatementString();
 	}
 
+	protected String generateSelectElementsString() {
+		// a stable order is needed for paging
+		final String[] orderColumns;
+		if ( hasIndex() && !indexContainsFormula ) {
+			orderColumns = getIndexColumnNames();
+		}
+		else if ( hasIdentifier ) {
+			orderColumns = new String[] { identifierColumnName };
+		}
+		else {
+			orderColumns = getElementColumnNames();
+		}
+		final StringBuilder orderBy = new StringBuilder();
+		for ( String orderColumn : orderColumns ) {
+			if ( orderColumn != null ) {
+				orderBy.append( orderBy.length() == 0 ? " order by " : ", " ).append( orderColumn );
+			}
+		}
+		final SimpleSelect select = new SimpleSelect( dialect )
+				.setTableName( getTableName() )
+				.addCondition( getKeyColumnNames(), "=?" )
+				.addColumns( getElementColumnNames(), elementColumnAliases )
+				.addColumns( elementFormulas, elementColumnAliases );
+		if ( hasWhere ) {
+			select.addWhereToken( "and" ).addWhereToken( sqlWhereString );
+		}
+		if ( orderBy.length() > 0 ) {
+			select.setOrderBy( orderBy.toString() );
+		}
+		return select.toStatementString();
+	}
+
 	protected String generateDetectRowByElementString() {
 		return new SimpleSelect( dialect )
 				.setTableName( getTableName() )
@@ -2045,6 +2116,63 @@ public abstract class AbstractCollectionPersister
 		}
 	}
 
+	@Override
+	public java.util.List getElements(Serializable key, int firstResult, int maxResults, SessionImplementor session, Object owner) {
+		final RowSelection selection = new RowSelection();
+		selection.setFirstRow( firstResult );
+		selection.setMaxRows( maxResults );
+		final LimitHandler limitHandler = LimitHelper.useLimit( dialect.getLimitHandler(), selection )
+				? dialect.getLimitHandler()
+				: NoopLimitHandler.INSTANCE;
+		final String sql = limitHandler.processSql( sqlSelectElementsString, selection );
+		try {
+			final java.util.List hydratedElements = new ArrayList( maxResults );
+			PreparedStatement st = session.getTransactionCoordinator()
+					.getJdbcCoordinator()
+					.getStatementPreparer()
+					.prepareStatement( sql );
+			try {
+				int col = 1;
+				col += limitHandler.bindLimitParametersAtStartOfQuery( selection, st, col );
+				getKeyType().nullSafeSet( st, key, col, session );
+				col += keyColumnNames.length;
+				limitHandler.bindLimitParametersAtEndOfQuery( selection, st, col );
+				limitHandler.setMaxRows( selection, st );
+				ResultSet rs = session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().extract( st );
+				try {
+					if ( !limitHandler.supportsLimitOffset() || !LimitHelper.useLimit( limitHandler, selection ) ) {
+						for ( int skipped = 0; skipped < firstResult && rs.next(); skipped++ ) {
+							// step through the rows preceding the page
+						}
+					}
+					while ( hydratedElements.size() < maxResults && rs.next() ) {
+						hydratedElements.add( getElementType().hydrate( rs, elementColumnAliases, session, owner ) );
+					}
+				}
+				finally {
+					session.getTransactionCoordinator().getJdbcCoordinator().release( rs, st );
+				}
+			}
+			finally {
+				session.getTransactionCoordinator().getJdbcCoordinator().release( st );
+			}
+			// resolve once the result set is released, as resolving associations may need to load them
+			final java.util.List elements = new ArrayList( hydratedElements.size() );
+			for ( Object hydratedElement : hydratedElements ) {
+				elements.add( getElementType().resolve( hydratedElement, session, owner ) );
+			}
+			return elements;
+		}
+		catch ( SQLException sqle ) {
+			throw getSQLExceptionHelper().convert(
+					sqle,
+					"could not read rows: " +
+							MessageHelper.collectionInfoString( this, key, getFactory() ),
+					sql
+			);
+		}
+	}
+
 	@Override
 	public boolean isExtraLazy() {
 		return isExtraLazy;
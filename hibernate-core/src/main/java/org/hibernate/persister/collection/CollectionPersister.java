@@ -26,6 +26,7 @@ package org.hibernate.persister.collection;
 import java.io.Serializable;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.HibernateException;
@@ -82,6 +83,11 @@ public interface CollectionPersister extends CollectionDefinition {
 	 */
 	public void initialize(Serializable key, SessionImplementor session) //TODO: add owner argument!!
 	throws HibernateException;
+	/**
+	 * Initialize the collections with the given keys, in as few round trips as the dialect allows
+	 */
+	public void initializeAll(Serializable[] keys, SessionImplementor session)
+	throws HibernateException;
 	/**
 	 * Is this collection role cacheable
 	 */
@@ -333,6 +339,20 @@ public interface CollectionPersister extends CollectionDefinition {
 	public boolean indexExists(Serializable key, Object index, SessionImplementor session);
 	public boolean elementExists(Serializable key, Object element, SessionImplementor session);
 	public Object getElementByIndex(Serializable key, Object index, SessionImplementor session, Object owner);
+
+	/**
+	 * Read a page of the collection elements, without initializing the collection.
+	 *
+	 * @param key The collection key
+	 * @param firstResult The position of the first element to read
+	 * @param maxResults The maximum number of elements to read
+	 * @param session The session
+	 * @param owner The collection owner
+	 *
+	 * @return The elements read, fewer than {@code maxResults} once the end of the collection is reached
+	 */
+	public List getElements(Serializable key, int firstResult, int maxResults, SessionImplementor session, Object owner);
+
 	public int getBatchSize();
 
 	/**
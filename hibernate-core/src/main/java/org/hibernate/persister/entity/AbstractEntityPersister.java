@@ -50,6 +50,7 @@ import org.hibernate.QueryException;
 import org.hibernate.Session;
 import org.hibernate.StaleObjectStateException;
 import org.hibernate.StaleStateException;
+import org.hibernate.bytecode.enhance.spi.LazyToOneAttributeInterceptor;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
 import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
@@ -79,6 +80,7 @@ import org.hibernate.engine.spi.ExecuteUpdateResultCheckStyle;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.Mapping;
 import org.hibernate.engine.spi.PersistenceContext.NaturalIdHelper;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.ValueInclusion;
@@ -3103,6 +3105,21 @@ public abstract class AbstractEntityPersister
 						null;
 			}
 		}
+		else if ( hasUnfetchedToOneValues( object, fields ) ) {
+			// to-one associations left unfetched by the interceptor of an enhanced entity were not changed
+			propsToUpdate = getPropertyUpdateability( object ).clone();
+			for ( int i = 0; i < fields.length; i++ ) {
+				if ( fields[i] == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+					propsToUpdate[i] = false;
+				}
+			}
+			updateStrings = new String[span];
+			for ( int j = 0; j < span; j++ ) {
+				updateStrings[j] = tableUpdateNeeded[j] ?
+						generateUpdateString( propsToUpdate, j, oldFields, j == 0 && rowId != null ) :
+						null;
+			}
+		}
 		else {
 			// For the case of dynamic-update="false", or no snapshot, we use the static SQL
 			updateStrings = getUpdateStrings(
@@ -3131,6 +3148,22 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	/**
+	 * Does the given state contain unfetched non-lazy (to-one) values, which the entity's own fields never held?
+	 */
+	private boolean hasUnfetchedToOneValues(Object object, Object[] fields) {
+		if ( !( object instanceof PersistentAttributeInterceptable ) ) {
+			return false;
+		}
+		final boolean[] propertyLaziness = getPropertyLaziness();
+		for ( int i = 0; i < fields.length; i++ ) {
+			if ( fields[i] == LazyPropertyInitializer.UNFETCHED_PROPERTY && !propertyLaziness[i] ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public Serializable insert(Object[] fields, Object object, SessionImplementor session)
 			throws HibernateException {
 		// apply any pre-insert in-memory value generation
@@ -4014,6 +4047,11 @@ public abstract class AbstractEntityPersister
 			}
 		}
 
+		final LazyToOneAttributeInterceptor lazyToOneInterceptor = LazyToOneAttributeInterceptor.extractUnfetched( entity );
+		if ( lazyToOneInterceptor != null ) {
+			lazyToOneInterceptor.setSession( session );
+		}
+
 		handleNaturalIdReattachment( entity, session );
 	}
 
@@ -4667,6 +4705,228 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	@Override
+	public Serializable[] loadEntityIdsByNaturalIds(List<Object[]> naturalIdValues, SessionImplementor session) {
+		final EntityPersister rootPersister = getFactory().getEntityPersister( getRootEntityName() );
+		if ( rootPersister != this && rootPersister instanceof AbstractEntityPersister ) {
+			return rootPersister.loadEntityIdsByNaturalIds( naturalIdValues, session );
+		}
+
+		final Serializable[] ids = new Serializable[ naturalIdValues.size() ];
+
+		// natural ids containing nulls, or referencing entities, are resolved one by one
+		final List<Integer> batchPositions = new ArrayList<Integer>( naturalIdValues.size() );
+		final boolean batchable = !hasAssociationInNaturalId();
+		for ( int i = 0; i < ids.length; i++ ) {
+			final Object[] values = naturalIdValues.get( i );
+			if ( batchable && ArrayHelper.isAllFalse( determineValueNullness( values ) ) ) {
+				batchPositions.add( i );
+			}
+			else {
+				ids[i] = loadEntityIdByNaturalId( values, LockOptions.NONE, session );
+			}
+		}
+
+		// each natural id is bound twice (see generateEntityIdsByNaturalIdsSql), once per column
+		final int parametersPerNaturalId = 2 * getNaturalIdColumnSpan();
+		final int inLimit = getFactory().getDialect().getInExpressionCountLimit();
+		final int maxParameters = inLimit > 0 ? inLimit : MAX_NATURAL_ID_BATCH_PARAMETERS;
+		final int chunkSize = Math.max( 1, maxParameters / parametersPerNaturalId );
+		for ( int start = 0; start < batchPositions.size(); start += chunkSize ) {
+			final List<Integer> chunk = batchPositions.subList(
+					start,
+					Math.min( start + chunkSize, batchPositions.size() )
+			);
+			loadEntityIdsByNaturalIds( naturalIdValues, chunk, ids, session );
+		}
+		return ids;
+	}
+
+	private static final String NATURAL_ID_INDEX_ALIAS = "nid_index_";
+
+	// bound on the JDBC parameters of a natural-id batch when the dialect does not limit IN lists
+	private static final int MAX_NATURAL_ID_BATCH_PARAMETERS = 500;
+
+	private int getNaturalIdColumnSpan() {
+		int span = 0;
+		for ( int position : getNaturalIdentifierProperties() ) {
+			span += getPropertyColumnNames( position ).length;
+		}
+		return span;
+	}
+
+	private boolean hasAssociationInNaturalId() {
+		for ( int position : getNaturalIdentifierProperties() ) {
+			if ( getPropertyTypes()[position].isAssociationType() ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void loadEntityIdsByNaturalIds(
+			List<Object[]> naturalIdValues,
+			List<Integer> positions,
+			Serializable[] ids,
+			SessionImplementor session) {
+		final int[] naturalIdPropertyIndexes = getNaturalIdentifierProperties();
+		final Type[] naturalIdTypes = new Type[ naturalIdPropertyIndexes.length ];
+		for ( int i = 0; i < naturalIdPropertyIndexes.length; i++ ) {
+			naturalIdTypes[i] = getPropertyTypes()[ naturalIdPropertyIndexes[i] ];
+		}
+
+		// distinct natural ids, and the positions each was requested at
+		final Map<NaturalIdKey, List<Integer>> positionsByNaturalId = new LinkedHashMap<NaturalIdKey, List<Integer>>();
+		for ( Integer position : positions ) {
+			final NaturalIdKey key = new NaturalIdKey( naturalIdTypes, naturalIdValues.get( position ), getFactory() );
+			List<Integer> keyPositions = positionsByNaturalId.get( key );
+			if ( keyPositions == null ) {
+				keyPositions = new ArrayList<Integer>( 1 );
+				positionsByNaturalId.put( key, keyPositions );
+			}
+			keyPositions.add( position );
+		}
+		final List<NaturalIdKey> keys = new ArrayList<NaturalIdKey>( positionsByNaturalId.keySet() );
+
+		final String sql = generateEntityIdsByNaturalIdsSql( keys.size() );
+		try {
+			PreparedStatement ps = session.getTransactionCoordinator()
+					.getJdbcCoordinator()
+					.getStatementPreparer()
+					.prepareStatement( sql );
+			try {
+				int index = 1;
+				// once for the key index in the select clause, once for the restriction
+				for ( int pass = 0; pass < 2; pass++ ) {
+					for ( NaturalIdKey key : keys ) {
+						for ( int i = 0; i < naturalIdTypes.length; i++ ) {
+							naturalIdTypes[i].nullSafeSet( ps, key.values[i], index, session );
+							index += naturalIdTypes[i].getColumnSpan( getFactory() );
+						}
+					}
+				}
+				ResultSet rs = session.getTransactionCoordinator().getJdbcCoordinator().getResultSetReturn().extract( ps );
+				try {
+					while ( rs.next() ) {
+						final Object hydratedId = getIdentifierType().hydrate( rs, getIdentifierAliases(), session, null );
+						final Serializable id = (Serializable) getIdentifierType().resolve( hydratedId, session, null );
+						// rows are matched by the database, rather than by comparing the values it returns, which
+						// may differ from the requested ones (padding, case-insensitive collations)
+						final int keyIndex = rs.getInt( NATURAL_ID_INDEX_ALIAS );
+						for ( Integer position : positionsByNaturalId.get( keys.get( keyIndex ) ) ) {
+							ids[position] = id;
+						}
+					}
+				}
+				finally {
+					session.getTransactionCoordinator().getJdbcCoordinator().release( rs, ps );
+				}
+			}
+			finally {
+				session.getTransactionCoordinator().getJdbcCoordinator().release( ps );
+			}
+		}
+		catch ( SQLException e ) {
+			throw getFactory().getSQLExceptionHelper().convert(
+					e,
+					String.format(
+							"could not resolve %s natural-ids to ids : %s",
+							positions.size(),
+							MessageHelper.infoString( this )
+					),
+					sql
+			);
+		}
+	}
+
+	private String generateEntityIdsByNaturalIdsSql(int batchSize) {
+		Select select = new Select( getFactory().getDialect() );
+		if ( getFactory().getSettings().isCommentsEnabled() ) {
+			select.setComment( "get current natural-id->entity-id state " + getEntityName() + " (batch)" );
+		}
+
+		final String rootAlias = getRootAlias();
+		final int[] propertyTableNumbers = getPropertyTableNumbers();
+		final int[] naturalIdPropertyIndexes = getNaturalIdentifierProperties();
+
+		final List<String> aliasedColumns = new ArrayList<String>();
+		for ( int naturalIdPropertyIndex : naturalIdPropertyIndexes ) {
+			final String tableAlias = generateTableAlias( rootAlias, propertyTableNumbers[ naturalIdPropertyIndex ] );
+			aliasedColumns.addAll(
+					Arrays.asList( StringHelper.qualify( tableAlias, getPropertyColumnNames( naturalIdPropertyIndex ) ) )
+			);
+		}
+		final String naturalIdRestriction = '(' + StringHelper.join( "=? and ", aliasedColumns.iterator() ) + "=?)";
+
+		// the index of the natural id a row was selected for
+		final StringBuilder selectClause = new StringBuilder( identifierSelectFragment( rootAlias, "" ) )
+				.append( ", case" );
+		for ( int i = 0; i < batchSize; i++ ) {
+			selectClause.append( " when " ).append( naturalIdRestriction ).append( " then " ).append( i );
+		}
+		selectClause.append( " end as " ).append( NATURAL_ID_INDEX_ALIAS );
+		select.setSelectClause( selectClause.toString() );
+		select.setFromClause( fromTableFragment( rootAlias ) + fromJoinFragment( rootAlias, true, false ) );
+
+		final StringBuilder whereClause = new StringBuilder();
+		if ( aliasedColumns.size() == 1 ) {
+			whereClause.append( aliasedColumns.get( 0 ) ).append( " in (" )
+					.append( StringHelper.repeat( "?", batchSize, "," ) )
+					.append( ')' );
+		}
+		else {
+			whereClause.append( '(' )
+					.append( StringHelper.repeat( naturalIdRestriction, batchSize, " or " ) )
+					.append( ')' );
+		}
+		whereClause.append( whereJoinFragment( rootAlias, true, false ) );
+
+		return select.setOuterJoins( "", "" ).setWhereClause( whereClause.toString() ).toStatementString();
+	}
+
+	/**
+	 * Natural id values as a hash key, with equality as defined by the natural id property types.
+	 */
+	private static final class NaturalIdKey {
+		private final Type[] types;
+		private final Object[] values;
+		private final SessionFactoryImplementor factory;
+		private final int hashCode;
+
+		private NaturalIdKey(Type[] types, Object[] values, SessionFactoryImplementor factory) {
+			this.types = types;
+			this.values = values;
+			this.factory = factory;
+			int hash = 1;
+			for ( int i = 0; i < types.length; i++ ) {
+				hash = 31 * hash + ( values[i] == null ? 0 : types[i].getHashCode( values[i], factory ) );
+			}
+			this.hashCode = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if ( !( obj instanceof NaturalIdKey ) ) {
+				return false;
+			}
+			final NaturalIdKey other = (NaturalIdKey) obj;
+			if ( hashCode != other.hashCode ) {
+				return false;
+			}
+			for ( int i = 0; i < types.length; i++ ) {
+				if ( !types[i].isEqual( values[i], other.values[i], factory ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
 	private boolean[] determineValueNullness(Object[] naturalIdValues) {
 		boolean[] nullness = new boolean[ naturalIdValues.length ];
 		for ( int i = 0; i < naturalIdValues.length; i++ ) {
@@ -24,6 +24,7 @@
 package org.hibernate.persister.entity;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -369,6 +370,18 @@ public interface EntityPersister extends OptimisticCacheSource, EntityDefinition
 	public Serializable loadEntityIdByNaturalId(Object[] naturalIdValues, LockOptions lockOptions,
 			SessionImplementor session);
 
+	/**
+	 * Load the ids for the entities based on the given natural ids, resolving as many of them as possible
+	 * with a single query.
+	 *
+	 * @param naturalIdValues The natural id values (ordered as per {@link #getNaturalIdentifierProperties}) of
+	 * each entity
+	 * @param session The session
+	 *
+	 * @return The ids, positionally matching the natural ids; {@code null} for natural ids of non-existing entities
+	 */
+	public Serializable[] loadEntityIdsByNaturalIds(List<Object[]> naturalIdValues, SessionImplementor session);
+
 	/**
 	 * Load an instance of the persistent class.
 	 */
@@ -57,6 +57,7 @@ public class JavassistLazyInitializer extends BasicLazyInitializer implements Me
 	};
 
 	private Class[] interfaces;
+	private ProxyMethodDispatcher dispatcher;
 	private boolean constructed;
 
 	private JavassistLazyInitializer(
@@ -122,6 +123,39 @@ public class JavassistLazyInitializer extends BasicLazyInitializer implements Me
 			final Serializable id,
 			final SessionImplementor session,
 			final boolean classOverridesEquals) throws HibernateException {
+		return getProxy(
+				factory,
+				null,
+				entityName,
+				persistentClass,
+				interfaces,
+				getIdentifierMethod,
+				setIdentifierMethod,
+				componentIdType,
+				id,
+				session,
+				classOverridesEquals
+		);
+	}
+
+	/**
+	 * Create a proxy instance from a previously generated proxy class, dispatching calls on the
+	 * initialized proxy through the given generated dispatcher where possible.
+	 *
+	 * @see ProxyMethodDispatcher
+	 */
+	public static HibernateProxy getProxy(
+			final Class factory,
+			final ProxyMethodDispatcher dispatcher,
+			final String entityName,
+			final Class persistentClass,
+			final Class[] interfaces,
+			final Method getIdentifierMethod,
+			final Method setIdentifierMethod,
+			final CompositeType componentIdType,
+			final Serializable id,
+			final SessionImplementor session,
+			final boolean classOverridesEquals) throws HibernateException {
 
 		final JavassistLazyInitializer instance = new JavassistLazyInitializer(
 				entityName,
@@ -133,6 +167,7 @@ public class JavassistLazyInitializer extends BasicLazyInitializer implements Me
 				session,
 				classOverridesEquals
 		);
+		instance.dispatcher = dispatcher;
 
 		final HibernateProxy proxy;
 		try {
@@ -184,8 +219,13 @@ public class JavassistLazyInitializer extends BasicLazyInitializer implements Me
 			if ( result == INVOKE_IMPLEMENTATION ) {
 				Object target = getImplementation();
 				final Object returnValue;
+				final int dispatchIndex = dispatcher == null ? -1 : dispatcher.indexOf( thisMethod );
 				try {
-					if ( ReflectHelper.isPublic( persistentClass, thisMethod ) ) {
+					if ( dispatchIndex >= 0 ) {
+						// generated direct call; exceptions thrown by the target propagate unwrapped
+						returnValue = dispatcher.dispatch( dispatchIndex, target, args );
+					}
+					else if ( ReflectHelper.isPublic( persistentClass, thisMethod ) ) {
 						if ( !thisMethod.getDeclaringClass().isInstance( target ) ) {
 							throw new ClassCastException(
 									target.getClass().getName()
@@ -196,7 +236,9 @@ public class JavassistLazyInitializer extends BasicLazyInitializer implements Me
 						returnValue = thisMethod.invoke( target, args );
 					}
 					else {
-						thisMethod.setAccessible( true );
+						if ( !thisMethod.isAccessible() ) {
+							thisMethod.setAccessible( true );
+						}
 						returnValue = thisMethod.invoke( target, args );
 					}
 					
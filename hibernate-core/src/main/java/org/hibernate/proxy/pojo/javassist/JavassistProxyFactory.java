@@ -48,6 +48,7 @@ public class JavassistProxyFactory implements ProxyFactory, Serializable {
 	private Method setIdentifierMethod;
 	private CompositeType componentIdType;
 	private Class factory;
+	private transient ProxyMethodDispatcher dispatcher;
 	private boolean overridesEquals;
 
 	@Override
@@ -65,6 +66,7 @@ public class JavassistProxyFactory implements ProxyFactory, Serializable {
 		this.setIdentifierMethod = setIdentifierMethod;
 		this.componentIdType = componentIdType;
 		this.factory = JavassistLazyInitializer.getProxyFactory( persistentClass, this.interfaces );
+		this.dispatcher = ProxyMethodDispatcher.generate( persistentClass, this.interfaces );
 		this.overridesEquals = ReflectHelper.overridesEquals(persistentClass);
 	}
 
@@ -74,6 +76,7 @@ public class JavassistProxyFactory implements ProxyFactory, Serializable {
 			SessionImplementor session) throws HibernateException {
 		return JavassistLazyInitializer.getProxy(
 				factory,
+				dispatcher,
 				entityName,
 				persistentClass,
 				interfaces,
@@ -0,0 +1,279 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.proxy.pojo.javassist;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * Dispatches calls made on an initialized Javassist proxy to its target through generated code
+ * rather than through {@link Method#invoke}.  One dispatcher is generated per proxied class; each
+ * eligible method is assigned an index and the generated {@link #dispatch} method holds a
+ * {@code switch} over those indexes, each branch casting the target to the declaring class and
+ * calling the method directly.
+ * <p/>
+ * Only public methods of public types, whose parameter and return types are themselves public,
+ * are dispatched this way; calls to any other method are left to reflection.
+ */
+public abstract class ProxyMethodDispatcher {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( ProxyMethodDispatcher.class );
+
+	private static final String PACKAGE_NAME_PREFIX = "org.javassist.tmp.";
+
+	private static int counter;
+
+	private Map<Method, Integer> methodIndexes = Collections.emptyMap();
+
+	/**
+	 * Locate the index under which the given method is dispatched.
+	 *
+	 * @param method The method invoked on the proxy
+	 *
+	 * @return The dispatch index, or {@code -1} if the method is not handled by this dispatcher
+	 */
+	public int indexOf(Method method) {
+		final Integer index = methodIndexes.get( method );
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Invoke the method registered under the given index on the target.
+	 *
+	 * @param index The dispatch index, as returned by {@link #indexOf}
+	 * @param target The proxy target (the initialized implementation)
+	 * @param args The call arguments
+	 *
+	 * @return The method result, boxed if primitive; {@code null} for {@code void} methods
+	 *
+	 * @throws Throwable Whatever the target method throws, unwrapped
+	 */
+	public abstract Object dispatch(int index, Object target, Object[] args) throws Throwable;
+
+	/**
+	 * Generate a dispatcher for proxies of the given class.
+	 *
+	 * @param persistentClass The proxied class
+	 * @param interfaces The proxy interfaces
+	 *
+	 * @return The generated dispatcher, or {@code null} if none could be generated, in which case
+	 * calls should be dispatched via reflection
+	 */
+	public static ProxyMethodDispatcher generate(Class persistentClass, Class[] interfaces) {
+		try {
+			final List<Method> methods = collectDispatchableMethods( persistentClass, interfaces );
+			if ( methods.isEmpty() ) {
+				return null;
+			}
+
+			final ClassPool pool = new ClassPool( true );
+			pool.appendClassPath( new ClassClassPath( ProxyMethodDispatcher.class ) );
+			final ClassLoader loader = persistentClass.getClassLoader();
+			if ( loader != null ) {
+				pool.appendClassPath( new LoaderClassPath( loader ) );
+			}
+
+			String className = persistentClass.getName() + "_$$_dispatcher_" + nextCounter();
+			if ( className.startsWith( "java." ) ) {
+				className = PACKAGE_NAME_PREFIX + className;
+			}
+			final CtClass dispatcherClass = pool.makeClass( className, pool.get( ProxyMethodDispatcher.class.getName() ) );
+			dispatcherClass.setModifiers( Modifier.PUBLIC );
+			dispatcherClass.addConstructor( CtNewConstructor.defaultConstructor( dispatcherClass ) );
+			dispatcherClass.addMethod( CtNewMethod.make( dispatchMethodBody( methods ), dispatcherClass ) );
+
+			final Class generated = dispatcherClass.toClass( loader, persistentClass.getProtectionDomain() );
+			dispatcherClass.detach();
+
+			final ProxyMethodDispatcher dispatcher = (ProxyMethodDispatcher) generated.newInstance();
+			final Map<Method, Integer> indexes = new HashMap<Method, Integer>();
+			for ( int i = 0; i < methods.size(); i++ ) {
+				indexes.put( methods.get( i ), i );
+			}
+			dispatcher.methodIndexes = indexes;
+			return dispatcher;
+		}
+		catch (Throwable t) {
+			LOG.debugf( t, "Unable to generate proxy method dispatcher for %s; using reflection", persistentClass.getName() );
+			return null;
+		}
+	}
+
+	private static synchronized int nextCounter() {
+		return counter++;
+	}
+
+	private static List<Method> collectDispatchableMethods(Class persistentClass, Class[] interfaces) {
+		final Set<Method> candidates = new LinkedHashSet<Method>();
+		if ( interfaces.length == 1 ) {
+			// the proxy extends the persistent class itself
+			candidates.addAll( Arrays.asList( persistentClass.getMethods() ) );
+		}
+		for ( Class anInterface : interfaces ) {
+			candidates.addAll( Arrays.asList( anInterface.getMethods() ) );
+		}
+
+		final List<Method> methods = new ArrayList<Method>();
+		for ( Method method : candidates ) {
+			if ( isDispatchable( persistentClass, method ) ) {
+				methods.add( method );
+			}
+		}
+		return methods;
+	}
+
+	private static boolean isDispatchable(Class persistentClass, Method method) {
+		final int modifiers = method.getModifiers();
+		if ( Modifier.isStatic( modifiers ) || Modifier.isFinal( modifiers ) || !Modifier.isPublic( modifiers ) ) {
+			return false;
+		}
+		final Class declaringClass = method.getDeclaringClass();
+		if ( declaringClass == Object.class || !isAccessible( declaringClass ) ) {
+			return false;
+		}
+		if ( !declaringClass.isAssignableFrom( persistentClass ) ) {
+			return false;
+		}
+		if ( !isAccessible( method.getReturnType() ) ) {
+			return false;
+		}
+		for ( Class parameterType : method.getParameterTypes() ) {
+			if ( !isAccessible( parameterType ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAccessible(Class type) {
+		if ( type.isPrimitive() ) {
+			return true;
+		}
+		if ( type.isArray() ) {
+			return isAccessible( type.getComponentType() );
+		}
+		if ( !Modifier.isPublic( type.getModifiers() ) ) {
+			return false;
+		}
+		return type.getEnclosingClass() == null || isAccessible( type.getEnclosingClass() );
+	}
+
+	private static String dispatchMethodBody(List<Method> methods) {
+		final StringBuilder body = new StringBuilder()
+				.append( "public Object dispatch(int index, Object target, Object[] args) throws Throwable {" )
+				.append( "switch ($1) {" );
+		for ( int i = 0; i < methods.size(); i++ ) {
+			final Method method = methods.get( i );
+			final StringBuilder call = new StringBuilder()
+					.append( "((" ).append( sourceName( method.getDeclaringClass() ) ).append( ") $2)." )
+					.append( method.getName() ).append( '(' );
+			final Class[] parameterTypes = method.getParameterTypes();
+			for ( int p = 0; p < parameterTypes.length; p++ ) {
+				if ( p > 0 ) {
+					call.append( ", " );
+				}
+				call.append( unbox( parameterTypes[p], "$3[" + p + "]" ) );
+			}
+			call.append( ')' );
+
+			body.append( "case " ).append( i ).append( ": " );
+			final Class returnType = method.getReturnType();
+			if ( returnType == void.class ) {
+				body.append( "{ " ).append( call ).append( "; return null; }" );
+			}
+			else {
+				body.append( "return " ).append( box( returnType, call.toString() ) ).append( ';' );
+			}
+		}
+		body.append( "}" )
+				.append( "throw new IllegalArgumentException(\"Unknown dispatch index: \" + $1);" )
+				.append( "}" );
+		return body.toString();
+	}
+
+	private static String sourceName(Class type) {
+		if ( type.isArray() ) {
+			return sourceName( type.getComponentType() ) + "[]";
+		}
+		return type.getName();
+	}
+
+	private static String box(Class type, String expression) {
+		if ( !type.isPrimitive() ) {
+			return expression;
+		}
+		return wrapperName( type ) + ".valueOf(" + expression + ")";
+	}
+
+	private static String unbox(Class type, String expression) {
+		if ( !type.isPrimitive() ) {
+			return "(" + sourceName( type ) + ") " + expression;
+		}
+		return "((" + wrapperName( type ) + ") " + expression + ")." + type.getName() + "Value()";
+	}
+
+	private static String wrapperName(Class primitive) {
+		if ( primitive == boolean.class ) {
+			return "java.lang.Boolean";
+		}
+		else if ( primitive == char.class ) {
+			return "java.lang.Character";
+		}
+		else if ( primitive == byte.class ) {
+			return "java.lang.Byte";
+		}
+		else if ( primitive == short.class ) {
+			return "java.lang.Short";
+		}
+		else if ( primitive == int.class ) {
+			return "java.lang.Integer";
+		}
+		else if ( primitive == long.class ) {
+			return "java.lang.Long";
+		}
+		else if ( primitive == float.class ) {
+			return "java.lang.Float";
+		}
+		else {
+			return "java.lang.Double";
+		}
+	}
+}
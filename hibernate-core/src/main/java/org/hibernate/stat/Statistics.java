@@ -131,6 +131,18 @@ public interface Statistics {
      * Get the global number of cacheable queries put in cache
      */
 	public long getQueryCachePutCount();
+	/**
+	 * Get the global number of query plans found in the query plan cache
+	 */
+	public long getQueryPlanCacheHitCount();
+	/**
+	 * Get the global number of query plans *not* found in the query plan cache, and so compiled
+	 */
+	public long getQueryPlanCacheMissCount();
+	/**
+	 * Get the total time in milliseconds spent compiling query plans
+	 */
+	public long getQueryPlanCompilationTotalTime();
 	/**
 	 * Get the global number of naturalId queries executed against the database
 	 */
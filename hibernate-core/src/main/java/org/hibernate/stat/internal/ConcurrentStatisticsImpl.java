@@ -92,6 +92,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	private AtomicLong queryCacheMissCount = new AtomicLong();
 	private AtomicLong queryCachePutCount = new AtomicLong();
 
+	private AtomicLong queryPlanCacheHitCount = new AtomicLong();
+	private AtomicLong queryPlanCacheMissCount = new AtomicLong();
+	private AtomicLong queryPlanCompilationTotalTime = new AtomicLong();
+
 	private AtomicLong updateTimestampsCacheHitCount = new AtomicLong();
 	private AtomicLong updateTimestampsCacheMissCount = new AtomicLong();
 	private AtomicLong updateTimestampsCachePutCount = new AtomicLong();
@@ -174,6 +178,10 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		queryCacheMissCount.set( 0 );
 		queryCachePutCount.set( 0 );
 
+		queryPlanCacheHitCount.set( 0 );
+		queryPlanCacheMissCount.set( 0 );
+		queryPlanCompilationTotalTime.set( 0 );
+
 		updateTimestampsCacheMissCount.set( 0 );
 		updateTimestampsCacheHitCount.set( 0 );
 		updateTimestampsCachePutCount.set( 0 );
@@ -462,6 +470,17 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		slcs.incrementPutCount();
 	}
 
+	@Override
+	public void queryPlanCacheHit(String query) {
+		queryPlanCacheHitCount.getAndIncrement();
+	}
+
+	@Override
+	public void queryPlanCacheMiss(String query, long time) {
+		queryPlanCacheMissCount.getAndIncrement();
+		queryPlanCompilationTotalTime.addAndGet( time );
+	}
+
 	@Override
 	public void updateTimestampsCacheHit() {
 		updateTimestampsCacheHitCount.getAndIncrement();
@@ -555,6 +574,18 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return queryCachePutCount.get();
 	}
 	@Override
+	public long getQueryPlanCacheHitCount() {
+		return queryPlanCacheHitCount.get();
+	}
+	@Override
+	public long getQueryPlanCacheMissCount() {
+		return queryPlanCacheMissCount.get();
+	}
+	@Override
+	public long getQueryPlanCompilationTotalTime() {
+		return queryPlanCompilationTotalTime.get();
+	}
+	@Override
 	public long getUpdateTimestampsCacheHitCount() {
 		return updateTimestampsCacheHitCount.get();
 	}
@@ -894,6 +925,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append( ",query cache puts=" ).append( queryCachePutCount )
 				.append( ",query cache hits=" ).append( queryCacheHitCount )
 				.append( ",query cache misses=" ).append( queryCacheMissCount )
+				.append( ",query plan cache hits=" ).append( queryPlanCacheHitCount )
+				.append( ",query plan cache misses=" ).append( queryPlanCacheMissCount )
+				.append( ",query plan compilation time=" ).append( queryPlanCompilationTotalTime )
 				.append(",update timestamps cache puts=").append(updateTimestampsCachePutCount)
 				.append(",update timestamps cache hits=").append(updateTimestampsCacheHitCount)
 				.append(",update timestamps cache misses=").append(updateTimestampsCacheMissCount)
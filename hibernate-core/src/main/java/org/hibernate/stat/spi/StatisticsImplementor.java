@@ -234,6 +234,21 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	public void queryExecuted(String hql, int rows, long time);
 
+	/**
+	 * Callback indicating a query plan was found in the query plan cache
+	 *
+	 * @param query The query (or filter) string
+	 */
+	public void queryPlanCacheHit(String query);
+
+	/**
+	 * Callback indicating a query plan was not found in the query plan cache, and was compiled
+	 *
+	 * @param query The query (or filter) string
+	 * @param time compilation time
+	 */
+	public void queryPlanCacheMiss(String query, long time);
+
 
 	/**
 	 * Callback indicating a hit to the timestamp cache
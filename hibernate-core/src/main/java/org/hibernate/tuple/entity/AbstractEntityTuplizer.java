@@ -31,10 +31,12 @@ import java.util.Set;
 import org.hibernate.EntityMode;
 import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
+import org.hibernate.bytecode.enhance.spi.LazyToOneAttributeInterceptor;
 import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.event.service.spi.EventListenerRegistry;
@@ -486,22 +488,25 @@ public abstract class AbstractEntityTuplizer implements EntityTuplizer {
 	}
 
 	protected boolean shouldGetAllProperties(Object entity) {
-		return !hasUninitializedLazyProperties( entity );
+		return !hasUninitializedLazyProperties( entity )
+				&& LazyToOneAttributeInterceptor.extractUnfetched( entity ) == null;
 	}
 
 	@Override
 	public Object[] getPropertyValues(Object entity) throws HibernateException {
-		boolean getAll = shouldGetAllProperties( entity );
+		final boolean lazyPropertiesUnfetched = hasUninitializedLazyProperties( entity );
+		final LazyToOneAttributeInterceptor lazyToOneInterceptor = LazyToOneAttributeInterceptor.extractUnfetched( entity );
 		final int span = entityMetamodel.getPropertySpan();
 		final Object[] result = new Object[span];
 
 		for ( int j = 0; j < span; j++ ) {
 			NonIdentifierAttribute property = entityMetamodel.getProperties()[j];
-			if ( getAll || !property.isLazy() ) {
-				result[j] = getters[j].get( entity );
+			if ( ( lazyPropertiesUnfetched && property.isLazy() )
+					|| ( lazyToOneInterceptor != null && lazyToOneInterceptor.isUnfetched( property.getName() ) ) ) {
+				result[j] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
 			}
 			else {
-				result[j] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
+				result[j] = getters[j].get( entity );
 			}
 		}
 		return result;
@@ -599,7 +604,8 @@ public abstract class AbstractEntityTuplizer implements EntityTuplizer {
 
 	@Override
 	public void setPropertyValues(Object entity, Object[] values) throws HibernateException {
-		boolean setAll = !entityMetamodel.hasLazyProperties();
+		// unfetched values also come from to-one associations left to the interceptor of enhanced entities
+		boolean setAll = !entityMetamodel.hasLazyProperties() && !( entity instanceof PersistentAttributeInterceptable );
 
 		for ( int j = 0; j < entityMetamodel.getPropertySpan(); j++ ) {
 			if ( setAll || values[j] != LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
@@ -39,6 +39,7 @@ import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.cfg.Environment;
 import org.hibernate.classic.Lifecycle;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreLogging;
@@ -69,7 +70,11 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 	private final boolean lifecycleImplementor;
 	private final Set lazyPropertyNames = new HashSet();
 	private final ReflectionOptimizer optimizer;
+	// indexes of the properties covered by the optimizer, or null if it covers all of them
+	private final int[] optimizedPropertyIndexes;
 	private final boolean isInstrumented;
+	// whether loading may leave to-one associations to a LazyToOneAttributeInterceptor
+	private final boolean lazyToOneDeferrable;
 
 	public PojoEntityTuplizer(EntityMetamodel entityMetamodel, PersistentClass mappedEntity) {
 		super( entityMetamodel, mappedEntity );
@@ -77,13 +82,18 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 		this.proxyInterface = mappedEntity.getProxyInterface();
 		this.lifecycleImplementor = Lifecycle.class.isAssignableFrom( mappedClass );
 		this.isInstrumented = entityMetamodel.isInstrumented();
+		this.lazyToOneDeferrable = entityMetamodel.getSessionFactory().getSettings().isEnhancedLazyToOneEnabled()
+				&& PersistentAttributeInterceptable.class.isAssignableFrom( mappedClass );
 
+		final boolean[] basicAccessors = new boolean[propertySpan];
 		Iterator iter = mappedEntity.getPropertyClosureIterator();
+		int index = 0;
 		while ( iter.hasNext() ) {
 			Property property = (Property) iter.next();
 			if ( property.isLazy() ) {
 				lazyPropertyNames.add( property.getName() );
 			}
+			basicAccessors[index++] = property.isBasicPropertyAccessor();
 		}
 
 		String[] getterNames = new String[propertySpan];
@@ -95,18 +105,65 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 			propTypes[i] = getters[i].getReturnType();
 		}
 
-		if ( hasCustomAccessors || !Environment.useReflectionOptimizer() ) {
+		if ( !Environment.useReflectionOptimizer() ) {
 			optimizer = null;
+			optimizedPropertyIndexes = null;
 		}
-		else {
+		else if ( !hasCustomAccessors ) {
 			// todo : YUCK!!!
 			optimizer = Environment.getBytecodeProvider().getReflectionOptimizer( mappedClass, getterNames, setterNames, propTypes );
 //			optimizer = getFactory().getSettings().getBytecodeProvider().getReflectionOptimizer(
 //					mappedClass, getterNames, setterNames, propTypes
 //			);
+			optimizedPropertyIndexes = null;
+		}
+		else {
+			// field, backref and custom accessors cannot be generated, but the properties accessed through
+			// getter/setter pairs can still be; the others keep going through their own Getter/Setter
+			optimizedPropertyIndexes = determineOptimizablePropertyIndexes( basicAccessors, getterNames, setterNames );
+			if ( optimizedPropertyIndexes.length == 0 ) {
+				optimizer = null;
+			}
+			else {
+				final int optimizedSpan = optimizedPropertyIndexes.length;
+				final String[] optimizedGetterNames = new String[optimizedSpan];
+				final String[] optimizedSetterNames = new String[optimizedSpan];
+				final Class[] optimizedPropTypes = new Class[optimizedSpan];
+				for ( int i = 0; i < optimizedSpan; i++ ) {
+					optimizedGetterNames[i] = getterNames[ optimizedPropertyIndexes[i] ];
+					optimizedSetterNames[i] = setterNames[ optimizedPropertyIndexes[i] ];
+					optimizedPropTypes[i] = propTypes[ optimizedPropertyIndexes[i] ];
+				}
+				optimizer = Environment.getBytecodeProvider().getReflectionOptimizer(
+						mappedClass,
+						optimizedGetterNames,
+						optimizedSetterNames,
+						optimizedPropTypes
+				);
+			}
 		}
 	}
 
+	private static int[] determineOptimizablePropertyIndexes(
+			boolean[] basicAccessors,
+			String[] getterNames,
+			String[] setterNames) {
+		int count = 0;
+		for ( int i = 0; i < basicAccessors.length; i++ ) {
+			if ( basicAccessors[i] && getterNames[i] != null && setterNames[i] != null ) {
+				count++;
+			}
+		}
+		final int[] indexes = new int[count];
+		int next = 0;
+		for ( int i = 0; i < basicAccessors.length; i++ ) {
+			if ( basicAccessors[i] && getterNames[i] != null && setterNames[i] != null ) {
+				indexes[next++] = i;
+			}
+		}
+		return indexes;
+	}
+
 	@Override
     protected ProxyFactory buildProxyFactory(PersistentClass persistentClass, Getter idGetter, Setter idSetter) {
 		// determine the id getter and setter methods from the proxy interface (if any)
@@ -215,7 +272,10 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 
 	@Override
     public void setPropertyValues(Object entity, Object[] values) throws HibernateException {
-		if ( !getEntityMetamodel().hasLazyProperties() && optimizer != null && optimizer.getAccessOptimizer() != null ) {
+		// the optimizer calls the setters, which would fetch the associations left unfetched by a previous load
+		if ( !getEntityMetamodel().hasLazyProperties()
+				&& !lazyToOneDeferrable
+				&& optimizer != null && optimizer.getAccessOptimizer() != null ) {
 			setPropertyValuesWithOptimizer( entity, values );
 		}
 		else {
@@ -236,7 +296,21 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 	@Override
     public Object[] getPropertyValuesToInsert(Object entity, Map mergeMap, SessionImplementor session) throws HibernateException {
 		if ( shouldGetAllProperties( entity ) && optimizer != null && optimizer.getAccessOptimizer() != null ) {
-			return getPropertyValuesWithOptimizer( entity );
+			if ( optimizedPropertyIndexes == null ) {
+				return getPropertyValuesWithOptimizer( entity );
+			}
+			final Object[] optimizedValues = optimizer.getAccessOptimizer().getPropertyValues( entity );
+			final Object[] result = new Object[propertySpan];
+			int next = 0;
+			for ( int i = 0; i < propertySpan; i++ ) {
+				if ( next < optimizedPropertyIndexes.length && optimizedPropertyIndexes[next] == i ) {
+					result[i] = optimizedValues[next++];
+				}
+				else {
+					result[i] = getters[i].getForInsert( entity, mergeMap, session );
+				}
+			}
+			return result;
 		}
 		else {
 			return super.getPropertyValuesToInsert( entity, mergeMap, session );
@@ -244,11 +318,39 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 	}
 
 	protected void setPropertyValuesWithOptimizer(Object object, Object[] values) {
-		optimizer.getAccessOptimizer().setPropertyValues( object, values );
+		if ( optimizedPropertyIndexes == null ) {
+			optimizer.getAccessOptimizer().setPropertyValues( object, values );
+			return;
+		}
+		final Object[] optimizedValues = new Object[optimizedPropertyIndexes.length];
+		int next = 0;
+		for ( int i = 0; i < propertySpan; i++ ) {
+			if ( next < optimizedPropertyIndexes.length && optimizedPropertyIndexes[next] == i ) {
+				optimizedValues[next++] = values[i];
+			}
+			else {
+				setters[i].set( object, values[i], getFactory() );
+			}
+		}
+		optimizer.getAccessOptimizer().setPropertyValues( object, optimizedValues );
 	}
 
 	protected Object[] getPropertyValuesWithOptimizer(Object object) {
-		return optimizer.getAccessOptimizer().getPropertyValues( object );
+		final Object[] optimizedValues = optimizer.getAccessOptimizer().getPropertyValues( object );
+		if ( optimizedPropertyIndexes == null ) {
+			return optimizedValues;
+		}
+		final Object[] result = new Object[propertySpan];
+		int next = 0;
+		for ( int i = 0; i < propertySpan; i++ ) {
+			if ( next < optimizedPropertyIndexes.length && optimizedPropertyIndexes[next] == i ) {
+				result[i] = optimizedValues[next++];
+			}
+			else {
+				result[i] = getters[i].get( object );
+			}
+		}
+		return result;
 	}
 
 	@Override
@@ -216,6 +216,15 @@ public abstract class EntityType extends AbstractType implements AssociationType
 		return referenceToPrimaryKey;
 	}
 
+	/**
+	 * Is the associated entity fetched eagerly, rather than through a proxy, when resolving the association?
+	 *
+	 * @return True if the association is eagerly resolved.
+	 */
+	protected boolean isEager() {
+		return eager;
+	}
+
 	@Override
 	public String getRHSUniqueKeyPropertyName() {
 		// Return null if this type references a PK.  This is important for
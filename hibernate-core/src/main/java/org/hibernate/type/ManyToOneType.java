@@ -36,6 +36,7 @@ import org.hibernate.engine.internal.ForeignKeys;
 import org.hibernate.engine.jdbc.Size;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.persister.entity.EntityPersister;
 
@@ -137,6 +138,23 @@ public class ManyToOneType extends EntityType {
 		return isLogicalOneToOne;
 	}
 
+	/**
+	 * Can resolving this association be deferred to the first access of the attribute, by the interceptor of an
+	 * enhanced owner, instead of resolving it to a proxy?  Only lazy references to the primary key of an entity
+	 * that would otherwise be proxied, and that must exist, qualify.
+	 *
+	 * @param factory The session factory
+	 *
+	 * @return True if resolution of the association can be deferred.
+	 */
+	public boolean isResolutionDeferrable(SessionFactoryImplementor factory) {
+		return !isEager()
+				&& !ignoreNotFound
+				&& !isLogicalOneToOne
+				&& isReferenceToPrimaryKey()
+				&& getAssociatedEntityPersister( factory ).hasProxy();
+	}
+
 	public int getColumnSpan(Mapping mapping) throws MappingException {
 		return requireIdentifierOrUniqueKeyType( mapping ).getColumnSpan( mapping );
 	}
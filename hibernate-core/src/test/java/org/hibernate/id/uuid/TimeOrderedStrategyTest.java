@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.uuid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeOrderedStrategyTest extends BaseUnitTestCase {
+	@Test
+	public void testVersionAndVariant() {
+		TimeOrderedStrategy strategy = new TimeOrderedStrategy();
+		UUID uuid = strategy.generateUUID( System.currentTimeMillis() );
+		assertEquals( 2, uuid.variant() );
+		assertEquals( 7, uuid.version() );
+		assertEquals( 7, strategy.getGeneratedVersion() );
+	}
+
+	@Test
+	public void testTimestampIsLeading() {
+		TimeOrderedStrategy strategy = new TimeOrderedStrategy();
+		long now = System.currentTimeMillis();
+		UUID uuid = strategy.generateUUID( now );
+		assertEquals( now, uuid.getMostSignificantBits() >>> 16 );
+	}
+
+	@Test
+	public void testOrderingWithinSameMillisecond() {
+		TimeOrderedStrategy strategy = new TimeOrderedStrategy();
+		long now = System.currentTimeMillis();
+		List<String> generated = new ArrayList<String>();
+		Set<UUID> unique = new HashSet<UUID>();
+		// more than the 4096 values the sequence can hold for a single millisecond
+		for ( int i = 0; i < 10000; i++ ) {
+			UUID uuid = strategy.generateUUID( now );
+			assertEquals( 7, uuid.version() );
+			generated.add( uuid.toString() );
+			unique.add( uuid );
+		}
+		assertEquals( generated.size(), unique.size() );
+
+		List<String> sorted = new ArrayList<String>( generated );
+		Collections.sort( sorted );
+		assertEquals( generated, sorted );
+	}
+
+	@Test
+	public void testClockGoingBackwards() {
+		TimeOrderedStrategy strategy = new TimeOrderedStrategy();
+		long now = System.currentTimeMillis();
+		UUID first = strategy.generateUUID( now );
+		UUID second = strategy.generateUUID( now - 1000 );
+		assertTrue( second.toString().compareTo( first.toString() ) > 0 );
+	}
+
+	@Test
+	public void testConcurrentGeneration() throws Exception {
+		final TimeOrderedStrategy strategy = new TimeOrderedStrategy();
+		final int threadCount = 8;
+		final int perThread = 5000;
+		final List<Set<UUID>> results = new ArrayList<Set<UUID>>();
+		final List<Thread> threads = new ArrayList<Thread>();
+		for ( int i = 0; i < threadCount; i++ ) {
+			final Set<UUID> generated = new HashSet<UUID>();
+			results.add( generated );
+			threads.add(
+					new Thread() {
+						@Override
+						public void run() {
+							for ( int j = 0; j < perThread; j++ ) {
+								generated.add( strategy.generateUUID( null ) );
+							}
+						}
+					}
+			);
+		}
+		for ( Thread thread : threads ) {
+			thread.start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+
+		Set<UUID> all = new HashSet<UUID>();
+		for ( Set<UUID> generated : results ) {
+			all.addAll( generated );
+		}
+		assertEquals( threadCount * perThread, all.size() );
+	}
+}
@@ -0,0 +1,259 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.async;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.AsyncResult;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.SessionException;
+import org.hibernate.test.multiload.SimpleEntity;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link org.hibernate.Query#listAsync} and {@link Session#getAsync}.
+ */
+public class AsyncQueryTest extends BaseCoreFunctionalTestCase {
+	private ExecutorService executor;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SimpleEntity.class };
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 3; i++ ) {
+			s.save( new SimpleEntity( i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete SimpleEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Before
+	public void startExecutor() {
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void stopExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testSessionGuardedUntilCompletion() throws Exception {
+		final BlockingInterceptor interceptor = new BlockingInterceptor();
+		final CountDownLatch notified = new CountDownLatch( 1 );
+
+		Session s = sessionFactory().withOptions().interceptor( interceptor ).openSession();
+		s.beginTransaction();
+		interceptor.block();
+		AsyncResult<List> result = s.createQuery( "from SimpleEntity" ).listAsync( executor );
+		result.addListener( countDown( notified ), executor );
+		assertTrue( interceptor.awaitBlocked() );
+
+		// the query is running on the executor thread
+		assertFalse( result.isDone() );
+		try {
+			s.get( SimpleEntity.class, 1 );
+			fail( "Session should be guarded while the query is running" );
+		}
+		catch (SessionException expected) {
+		}
+
+		interceptor.unblock();
+		assertEquals( 3, result.get( 10, TimeUnit.SECONDS ).size() );
+		assertTrue( notified.await( 10, TimeUnit.SECONDS ) );
+
+		AsyncResult<Object> entity = s.getAsync( SimpleEntity.class, 2, executor );
+		assertNotNull( entity.get( 10, TimeUnit.SECONDS ) );
+
+		// usable again
+		assertEquals( 3L, s.createQuery( "select count(*) from SimpleEntity" ).uniqueResult() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSessionCannotBeClosedOrDisconnectedWhileRunning() throws Exception {
+		final BlockingInterceptor interceptor = new BlockingInterceptor();
+
+		Session s = sessionFactory().withOptions().interceptor( interceptor ).openSession();
+		s.beginTransaction();
+		interceptor.block();
+		AsyncResult<List> result = s.createQuery( "from SimpleEntity" ).listAsync( executor );
+		assertTrue( interceptor.awaitBlocked() );
+
+		try {
+			s.close();
+			fail( "Session should not be closed while the query is running" );
+		}
+		catch (SessionException expected) {
+		}
+		try {
+			s.disconnect();
+			fail( "Session should not be disconnected while the query is running" );
+		}
+		catch (SessionException expected) {
+		}
+		assertTrue( s.isOpen() );
+
+		interceptor.unblock();
+		assertEquals( 3, result.get( 10, TimeUnit.SECONDS ).size() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCancelKeepsSessionGuardedUntilRunningOperationFinishes() throws Exception {
+		final BlockingInterceptor interceptor = new BlockingInterceptor();
+		final CountDownLatch notified = new CountDownLatch( 1 );
+
+		Session s = sessionFactory().withOptions().interceptor( interceptor ).openSession();
+		s.beginTransaction();
+		interceptor.block();
+		AsyncResult<List> result = s.createQuery( "from SimpleEntity" ).listAsync( executor );
+		result.addListener( countDown( notified ), executor );
+		assertTrue( interceptor.awaitBlocked() );
+
+		assertTrue( result.cancel( true ) );
+		assertTrue( result.isDone() );
+		try {
+			s.createQuery( "from SimpleEntity" ).list();
+			fail( "Session should stay guarded until the cancelled query has finished running" );
+		}
+		catch (SessionException expected) {
+		}
+		assertEquals( 1, notified.getCount() );
+
+		// not interrupted, the query completes and only then releases the Session
+		interceptor.unblock();
+		assertTrue( notified.await( 10, TimeUnit.SECONDS ) );
+		assertEquals( 3L, s.createQuery( "select count(*) from SimpleEntity" ).uniqueResult() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCancelBeforeStartReleasesSession() throws Exception {
+		// occupy the executor so the operation cannot start
+		final CountDownLatch gate = new CountDownLatch( 1 );
+		executor.execute(
+				new Runnable() {
+					@Override
+					public void run() {
+						try {
+							gate.await( 10, TimeUnit.SECONDS );
+						}
+						catch (InterruptedException ignore) {
+						}
+					}
+				}
+		);
+
+		Session s = openSession();
+		s.beginTransaction();
+		AsyncResult<List> result = s.createQuery( "from SimpleEntity" ).listAsync( executor );
+		assertTrue( result.cancel( false ) );
+		assertEquals( 3L, s.createQuery( "select count(*) from SimpleEntity" ).uniqueResult() );
+		gate.countDown();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static Runnable countDown(final CountDownLatch latch) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				latch.countDown();
+			}
+		};
+	}
+
+	/**
+	 * Holds the thread executing a query, while blocking is enabled, at the time its statement gets prepared
+	 */
+	private static class BlockingInterceptor extends EmptyInterceptor {
+		private volatile CountDownLatch blocked;
+		private volatile CountDownLatch released;
+
+		public void block() {
+			blocked = new CountDownLatch( 1 );
+			released = new CountDownLatch( 1 );
+		}
+
+		public boolean awaitBlocked() throws InterruptedException {
+			return blocked.await( 10, TimeUnit.SECONDS );
+		}
+
+		public void unblock() {
+			final CountDownLatch toRelease = released;
+			blocked = null;
+			released = null;
+			toRelease.countDown();
+		}
+
+		@Override
+		public String onPrepareStatement(String sql) {
+			final CountDownLatch toSignal = blocked;
+			final CountDownLatch toAwait = released;
+			if ( toSignal != null && toAwait != null ) {
+				toSignal.countDown();
+				try {
+					toAwait.await( 10, TimeUnit.SECONDS );
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.loader.BatchFetchStyle;
+
+import org.hibernate.testing.RequiresDialect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the batch fetch tests binding the batched ids as a single array parameter, where the dialect allows.
+ */
+public class ArrayParameterBatchFetchTest extends BatchFetchTest {
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.BATCH_FETCH_STYLE, BatchFetchStyle.ARRAY.name() );
+	}
+
+	@Test
+	@RequiresDialect( value = { H2Dialect.class, PostgreSQL81Dialect.class } )
+	public void testBatchesOfAnySizeShareOneStatement() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 32 + 14; i++ ) {
+			s.save( new BatchLoadableEntity( i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final StatementRecorder recorder = new StatementRecorder();
+		s = sessionFactory().withOptions().interceptor( recorder ).openSession();
+		s.beginTransaction();
+		final List<BatchLoadableEntity> proxies = new ArrayList<BatchLoadableEntity>();
+		for ( int i = 0; i < 32 + 14; i++ ) {
+			proxies.add( (BatchLoadableEntity) s.load( BatchLoadableEntity.class, i ) );
+		}
+		// a batch of 32 ids, then one of the remaining 14
+		Hibernate.initialize( proxies.get( 0 ) );
+		Hibernate.initialize( proxies.get( 32 + 13 ) );
+		for ( BatchLoadableEntity proxy : proxies ) {
+			assertTrue( Hibernate.isInitialized( proxy ) );
+		}
+
+		assertEquals( 2, recorder.statements.size() );
+		assertEquals( recorder.statements.get( 0 ), recorder.statements.get( 1 ) );
+		assertEquals( 1, StringHelper.countUnquoted( recorder.statements.get( 0 ), '?' ) );
+
+		s.createQuery( "delete BatchLoadableEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class StatementRecorder extends EmptyInterceptor {
+		private final List<String> statements = new ArrayList<String>();
+
+		@Override
+		public String onPrepareStatement(String sql) {
+			statements.add( sql );
+			return sql;
+		}
+	}
+}
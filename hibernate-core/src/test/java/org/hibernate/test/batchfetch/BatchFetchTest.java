@@ -183,7 +183,8 @@ public class BatchFetchTest extends BaseCoreFunctionalTestCase {
 		if ( sessionFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.LEGACY ) {
 			expectedFetchCount = 3; // (32 + 10 + 4)
 		}
-		else if ( sessionFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.DYNAMIC ) {
+		else if ( sessionFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.DYNAMIC
+				|| sessionFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.ARRAY ) {
 			expectedFetchCount = 2;  // (32 + 14) : because we limited batch-size to 32
 		}
 		else {
@@ -200,5 +201,52 @@ public class BatchFetchTest extends BaseCoreFunctionalTestCase {
 		s.getTransaction().commit();
 		s.close();
 	}
-}
 
+	@Test
+	@SuppressWarnings( {"unchecked"})
+	public void testInitializeCollections() {
+		final int size = 150;
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < size; i++ ) {
+			ProductLine line = new ProductLine();
+			line.setDescription( "line " + i );
+			for ( int j = 0; j < 2; j++ ) {
+				Model model = new Model( line );
+				model.setName( "model " + j );
+				model.setDescription( "model " + j + " of line " + i );
+			}
+			s.save( line );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		List<ProductLine> lines = s.createQuery( "from ProductLine" ).list();
+		assertEquals( size, lines.size() );
+		for ( ProductLine line : lines ) {
+			assertFalse( Hibernate.isInitialized( line.getModels() ) );
+		}
+
+		sessionFactory().getStatistics().clear();
+		s.initializeCollections( ProductLine.class.getName() + ".models" );
+		// well beyond the mapped batch-size, in a single query
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertEquals( size, sessionFactory().getStatistics().getCollectionLoadCount() );
+		for ( ProductLine line : lines ) {
+			assertTrue( Hibernate.isInitialized( line.getModels() ) );
+			assertEquals( 2, line.getModels().size() );
+		}
+
+		// nothing left to initialize
+		s.initializeCollections( ProductLine.class.getName() + ".models" );
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+
+		for ( ProductLine line : lines ) {
+			s.delete( line );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.enhancement.lazytoone;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Transient;
+
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+
+/**
+ * Hand-written equivalent of an entity enhanced with attribute interception.
+ */
+@Entity
+public class Employee implements PersistentAttributeInterceptable {
+	@Id
+	private Long id;
+
+	private String name;
+
+	@ManyToOne( fetch = FetchType.LAZY )
+	private Department department;
+
+	@Transient
+	private transient PersistentAttributeInterceptor interceptor;
+
+	public Employee() {
+	}
+
+	public Employee(Long id, String name, Department department) {
+		this.id = id;
+		this.name = name;
+		this.department = department;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Department getDepartment() {
+		if ( interceptor != null ) {
+			this.department = (Department) interceptor.readObject( this, "department", this.department );
+		}
+		return department;
+	}
+
+	public void setDepartment(Department department) {
+		Department value = department;
+		if ( interceptor != null ) {
+			value = (Department) interceptor.writeObject( this, "department", this.department, department );
+		}
+		this.department = value;
+	}
+
+	@Override
+	public PersistentAttributeInterceptor $$_hibernate_getInterceptor() {
+		return interceptor;
+	}
+
+	@Override
+	public void $$_hibernate_setInterceptor(PersistentAttributeInterceptor interceptor) {
+		this.interceptor = interceptor;
+	}
+}
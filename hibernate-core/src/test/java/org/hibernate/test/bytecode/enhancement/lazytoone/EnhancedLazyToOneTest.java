@@ -0,0 +1,258 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.enhancement.lazytoone;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.bytecode.enhance.spi.LazyToOneAttributeInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests resolving lazy to-one associations of enhanced entities through their interceptor instead of proxies.
+ */
+public class EnhancedLazyToOneTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Department.class, Employee.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.ENHANCED_LAZY_TO_ONE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= 3; i++ ) {
+			Department department = new Department( i, "Department #" + i );
+			s.persist( department );
+			s.persist( new Employee( i, "Employee #" + i, department ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Employee" ).executeUpdate();
+		s.createQuery( "delete Department" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	@SuppressWarnings( "unchecked" )
+	public void testResolvedOnFirstReadWithoutProxies() {
+		Statistics stats = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List<Employee> employees = s.createQuery( "from Employee e order by e.id" ).list();
+		assertEquals( 3, employees.size() );
+
+		final EntityKey departmentKey = ( (SessionImplementor) s ).generateEntityKey(
+				1L,
+				sessionFactory().getEntityPersister( Department.class.getName() )
+		);
+		assertNull( ( (SessionImplementor) s ).getPersistenceContext().getProxy( departmentKey ) );
+		assertTrue( ( (LazyToOneAttributeInterceptor) employees.get( 0 ).$$_hibernate_getInterceptor() ).isUnfetched( "department" ) );
+
+		stats.clear();
+		Department department = employees.get( 0 ).getDepartment();
+		assertFalse( department instanceof HibernateProxy );
+		assertEquals( "Department #1", department.getName() );
+		// the other departments were batch-fetched along
+		assertEquals( 1, stats.getPrepareStatementCount() );
+		assertEquals( "Department #3", employees.get( 2 ).getDepartment().getName() );
+		assertEquals( 1, stats.getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testUpdateLeavesUnfetchedAssociationAlone() {
+		Session s = openSession();
+		s.beginTransaction();
+		Employee employee = (Employee) s.get( Employee.class, 1L );
+		employee.setName( "Renamed" );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		employee = (Employee) s.get( Employee.class, 1L );
+		assertEquals( "Renamed", employee.getName() );
+		assertEquals( "Department #1", employee.getDepartment().getName() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testReassignUnfetchedAssociation() {
+		Session s = openSession();
+		s.beginTransaction();
+		Employee employee = (Employee) s.get( Employee.class, 1L );
+		employee.setDepartment( (Department) s.get( Department.class, 2L ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		employee = (Employee) s.get( Employee.class, 1L );
+		assertEquals( "Department #2", employee.getDepartment().getName() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testInterceptorInstalledByApplicationIsKept() {
+		Session s = openSession();
+		s.beginTransaction();
+		Employee employee = (Employee) s.get( Employee.class, 1L );
+		PassThroughInterceptor interceptor = new PassThroughInterceptor();
+		employee.$$_hibernate_setInterceptor( interceptor );
+		s.refresh( employee );
+		assertSame( interceptor, employee.$$_hibernate_getInterceptor() );
+		// not deferred, so resolved by the refresh itself
+		assertNotNull( employee.getDepartment() );
+		assertEquals( "Department #1", employee.getDepartment().getName() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class PassThroughInterceptor implements PersistentAttributeInterceptor {
+		@Override
+		public boolean readBoolean(Object obj, String name, boolean oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public boolean writeBoolean(Object obj, String name, boolean oldValue, boolean newValue) {
+			return newValue;
+		}
+
+		@Override
+		public byte readByte(Object obj, String name, byte oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public byte writeByte(Object obj, String name, byte oldValue, byte newValue) {
+			return newValue;
+		}
+
+		@Override
+		public char readChar(Object obj, String name, char oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public char writeChar(Object obj, String name, char oldValue, char newValue) {
+			return newValue;
+		}
+
+		@Override
+		public short readShort(Object obj, String name, short oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public short writeShort(Object obj, String name, short oldValue, short newValue) {
+			return newValue;
+		}
+
+		@Override
+		public int readInt(Object obj, String name, int oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public int writeInt(Object obj, String name, int oldValue, int newValue) {
+			return newValue;
+		}
+
+		@Override
+		public float readFloat(Object obj, String name, float oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public float writeFloat(Object obj, String name, float oldValue, float newValue) {
+			return newValue;
+		}
+
+		@Override
+		public double readDouble(Object obj, String name, double oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public double writeDouble(Object obj, String name, double oldValue, double newValue) {
+			return newValue;
+		}
+
+		@Override
+		public long readLong(Object obj, String name, long oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public long writeLong(Object obj, String name, long oldValue, long newValue) {
+			return newValue;
+		}
+
+		@Override
+		public Object readObject(Object obj, String name, Object oldValue) {
+			return oldValue;
+		}
+
+		@Override
+		public Object writeObject(Object obj, String name, Object oldValue, Object newValue) {
+			return newValue;
+		}
+	}
+}
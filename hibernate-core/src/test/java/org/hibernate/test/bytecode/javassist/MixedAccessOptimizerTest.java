@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Environment;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that an entity mixing property and field access is hydrated and flushed correctly when the
+ * reflection optimizer only covers its getter/setter properties.
+ */
+public class MixedAccessOptimizerTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Item.class };
+	}
+
+	@Test
+	public void testMixedAccess() {
+		assertTrue( Environment.useReflectionOptimizer() );
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Item( 1L, "widget", 5 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		Item item = (Item) s.get( Item.class, 1L );
+		assertEquals( "widget", item.getName() );
+		assertEquals( 5, item.quantity() );
+		item.setName( "gadget" );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (Item) s.get( Item.class, 1L );
+		assertEquals( "gadget", item.getName() );
+		assertEquals( 5, item.quantity() );
+		s.delete( item );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
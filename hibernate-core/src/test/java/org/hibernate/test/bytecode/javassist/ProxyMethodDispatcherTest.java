@@ -0,0 +1,80 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import java.lang.reflect.Method;
+import java.text.ParseException;
+
+import org.junit.Test;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.pojo.javassist.ProxyMethodDispatcher;
+import org.hibernate.test.bytecode.Bean;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProxyMethodDispatcherTest extends BaseUnitTestCase {
+	@Test
+	public void testGeneratedDispatch() throws Throwable {
+		final ProxyMethodDispatcher dispatcher = ProxyMethodDispatcher.generate(
+				Bean.class,
+				new Class[] { HibernateProxy.class }
+		);
+		assertNotNull( dispatcher );
+
+		final Bean bean = new Bean();
+		final Method setter = Bean.class.getMethod( "setSomelong", long.class );
+		final Method getter = Bean.class.getMethod( "getSomelong" );
+		assertTrue( dispatcher.indexOf( setter ) >= 0 );
+		assertTrue( dispatcher.indexOf( getter ) >= 0 );
+
+		assertNull( dispatcher.dispatch( dispatcher.indexOf( setter ), bean, new Object[] { 42L } ) );
+		assertEquals( 42L, bean.getSomelong() );
+		assertEquals( 42L, dispatcher.dispatch( dispatcher.indexOf( getter ), bean, new Object[0] ) );
+
+		// methods of the proxy interfaces themselves are not implemented by the target
+		assertEquals( -1, dispatcher.indexOf( HibernateProxy.class.getMethod( "getHibernateLazyInitializer" ) ) );
+	}
+
+	@Test
+	public void testExceptionsPropagateUnwrapped() throws Throwable {
+		final ProxyMethodDispatcher dispatcher = ProxyMethodDispatcher.generate(
+				Bean.class,
+				new Class[] { HibernateProxy.class }
+		);
+		assertNotNull( dispatcher );
+		final int index = dispatcher.indexOf( Bean.class.getMethod( "throwException" ) );
+		try {
+			dispatcher.dispatch( index, new Bean(), new Object[0] );
+			fail( "expected ParseException" );
+		}
+		catch (ParseException expected) {
+		}
+	}
+}
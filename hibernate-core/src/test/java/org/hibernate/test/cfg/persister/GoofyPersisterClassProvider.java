@@ -24,6 +24,7 @@ import java.io.Serializable;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -261,6 +262,11 @@ public class GoofyPersisterClassProvider implements PersisterClassResolver {
 			return null;
 		}
 
+		@Override
+		public Serializable[] loadEntityIdsByNaturalIds(List<Object[]> naturalIdValues, SessionImplementor session) {
+			return new Serializable[ naturalIdValues.size() ];
+		}
+
 		@Override
 		public IdentifierGenerator getIdentifierGenerator() {
 			return null;
@@ -624,6 +630,10 @@ public class GoofyPersisterClassProvider implements PersisterClassResolver {
 			//To change body of implemented methods use File | Settings | File Templates.
 		}
 
+		@Override
+		public void initializeAll(Serializable[] keys, SessionImplementor session) throws HibernateException {
+		}
+
 		public boolean hasCache() {
 			return false;  //To change body of implemented methods use File | Settings | File Templates.
 		}
@@ -855,6 +865,11 @@ public class GoofyPersisterClassProvider implements PersisterClassResolver {
 			return null;  //To change body of implemented methods use File | Settings | File Templates.
 		}
 
+		@Override
+		public List getElements(Serializable key, int firstResult, int maxResults, SessionImplementor session, Object owner) {
+			return null;
+		}
+
 		@Override
 		public int getBatchSize() {
 			return 0;
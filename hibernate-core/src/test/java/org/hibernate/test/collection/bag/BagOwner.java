@@ -11,6 +11,7 @@ public class BagOwner {
 	private String name;
 	private BagOwner parent;
 	private List children = new ArrayList();
+	private List tags = new ArrayList();
 
 	public BagOwner() {
 	}
@@ -42,4 +43,12 @@ public class BagOwner {
 	public void setChildren(List children) {
 		this.children = children;
 	}
+
+	public List getTags() {
+		return tags;
+	}
+
+	public void setTags(List tags) {
+		this.tags = tags;
+	}
 }
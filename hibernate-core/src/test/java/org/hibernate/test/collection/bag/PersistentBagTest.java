@@ -23,6 +23,8 @@
  */
 package org.hibernate.test.collection.bag;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -30,6 +32,7 @@ import org.hibernate.Session;
 import org.hibernate.collection.internal.PersistentBag;
 import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -85,4 +88,69 @@ public class PersistentBagTest extends BaseCoreFunctionalTestCase {
 		session.getTransaction().commit();
 		session.close();
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testElementBagDiff() {
+		BagOwner owner = new BagOwner( "owner" );
+		for ( int i = 0; i < 2000; i++ ) {
+			owner.getTags().add( "tag" + ( i % 500 ) );
+		}
+
+		Session session = openSession();
+		session.beginTransaction();
+		session.save( owner );
+		session.getTransaction().commit();
+		session.close();
+
+		sessionFactory().getStatistics().setStatisticsEnabled( true );
+
+		// a reordered bag holding the same elements the same number of times needs no writes
+		sessionFactory().getStatistics().clear();
+		session = openSession();
+		session.beginTransaction();
+		owner = (BagOwner) session.get( BagOwner.class, "owner" );
+		Collections.reverse( owner.getTags() );
+		session.getTransaction().commit();
+		session.close();
+
+		// loading the owner and its tags
+		assertEquals( 2, sessionFactory().getStatistics().getPrepareStatementCount() );
+
+		// added occurrences are inserted without recreating the collection
+		sessionFactory().getStatistics().clear();
+		session = openSession();
+		session.beginTransaction();
+		owner = (BagOwner) session.get( BagOwner.class, "owner" );
+		owner.getTags().add( "tag1" );
+		owner.getTags().add( "tag600" );
+		session.getTransaction().commit();
+		session.close();
+
+		assertTrue( sessionFactory().getStatistics().getPrepareStatementCount() <= 4 );
+
+		// removals still recreate it
+		session = openSession();
+		session.beginTransaction();
+		owner = (BagOwner) session.get( BagOwner.class, "owner" );
+		owner.getTags().remove( "tag2" );
+		owner.getTags().add( "tag3" );
+		session.getTransaction().commit();
+		session.close();
+
+		sessionFactory().getStatistics().setStatisticsEnabled( false );
+
+		session = openSession();
+		session.beginTransaction();
+		owner = (BagOwner) session.get( BagOwner.class, "owner" );
+		final List tags = owner.getTags();
+		assertEquals( 2002, tags.size() );
+		assertEquals( 5, Collections.frequency( tags, "tag1" ) );
+		assertEquals( 3, Collections.frequency( tags, "tag2" ) );
+		assertEquals( 5, Collections.frequency( tags, "tag3" ) );
+		assertEquals( 1, Collections.frequency( tags, "tag600" ) );
+		session.delete( owner );
+		session.getTransaction().commit();
+		session.close();
+	}
 }
@@ -0,0 +1,371 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.collection.operationlog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests flushing of sets, lists and bags tracking their changes as operations, rather than through a snapshot
+ */
+public class CollectionOperationLogTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Owner.class, Item.class, Participant.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.USE_COLLECTION_OPERATION_LOG, "true" );
+	}
+
+	@Test
+	public void testSetChanges() {
+		Owner owner = new Owner( 1L );
+		owner.getTags().addAll( Arrays.asList( "a", "b", "c", "d" ) );
+		persist( owner );
+
+		Session s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		owner.getTags().add( "e" );
+		owner.getTags().remove( "a" );
+		// net no-ops
+		owner.getTags().add( "f" );
+		owner.getTags().remove( "f" );
+		owner.getTags().remove( "b" );
+		owner.getTags().add( "b" );
+		owner.getTags().removeAll( Arrays.asList( "c", "x" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( new HashSet<String>( Arrays.asList( "b", "d", "e" ) ), loadTags() );
+
+		s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		owner.getTags().retainAll( Arrays.asList( "b", "e" ) );
+		s.flush();
+		// changes after a flush are tracked against the flushed state
+		final Iterator<String> tags = owner.getTags().iterator();
+		while ( tags.hasNext() ) {
+			if ( "e".equals( tags.next() ) ) {
+				tags.remove();
+			}
+		}
+		owner.getTags().add( "g" );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( new HashSet<String>( Arrays.asList( "b", "g" ) ), loadTags() );
+
+		cleanup();
+	}
+
+	@Test
+	public void testListChanges() {
+		Owner owner = new Owner( 1L );
+		owner.getLines().addAll( Arrays.asList( "a", "b", "c", "d" ) );
+		persist( owner );
+
+		Session s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		owner.getLines().set( 1, "B" );
+		owner.getLines().add( "e" );
+		owner.getLines().remove( 2 );
+		owner.getLines().add( 0, "z" );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( Arrays.asList( "z", "a", "B", "d", "e" ), loadLines() );
+
+		s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		owner.getLines().remove( "z" );
+		owner.getLines().remove( "e" );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( Arrays.asList( "a", "B", "d" ), loadLines() );
+
+		// a write the log cannot describe
+		s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		owner.getLines().add( "x" );
+		owner.getLines().listIterator( 1 ).add( "y" );
+		owner.getLines().subList( 3, 5 ).clear();
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( Arrays.asList( "a", "y", "B" ), loadLines() );
+
+		cleanup();
+	}
+
+	@Test
+	public void testListAppends() {
+		Owner owner = new Owner( 1L );
+		owner.getLines().addAll( Arrays.asList( "a", "b" ) );
+		persist( owner );
+
+		sessionFactory().getStatistics().setStatisticsEnabled( true );
+		sessionFactory().getStatistics().clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		owner.getLines().add( "c" );
+		owner.getLines().addAll( Arrays.asList( "d", "e" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, sessionFactory().getStatistics().getCollectionUpdateCount() );
+		sessionFactory().getStatistics().setStatisticsEnabled( false );
+		assertEquals( Arrays.asList( "a", "b", "c", "d", "e" ), loadLines() );
+
+		cleanup();
+	}
+
+	@Test
+	public void testValueBagChanges() {
+		Owner owner = new Owner( 1L );
+		owner.getLabels().addAll( Arrays.asList( "a", "b", "a" ) );
+		persist( owner );
+
+		sessionFactory().getStatistics().setStatisticsEnabled( true );
+		sessionFactory().getStatistics().clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		// equal, but not the same instances as the loaded elements
+		owner.getLabels().add( new String( "a" ) );
+		owner.getLabels().add( "c" );
+		s.getTransaction().commit();
+		s.close();
+
+		// additions only are inserted, rather than recreating the bag
+		assertEquals( 1, sessionFactory().getStatistics().getCollectionUpdateCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getCollectionRecreateCount() );
+		assertEquals( Arrays.asList( "a", "a", "a", "b", "c" ), loadLabels() );
+
+		sessionFactory().getStatistics().clear();
+		s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		// a net no-op
+		owner.getLabels().remove( new String( "b" ) );
+		owner.getLabels().add( new String( "b" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 0, sessionFactory().getStatistics().getCollectionUpdateCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getCollectionRecreateCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		owner.getLabels().remove( "a" );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().setStatisticsEnabled( false );
+		assertEquals( Arrays.asList( "a", "a", "b", "c" ), loadLabels() );
+
+		cleanup();
+	}
+
+	@Test
+	public void testBagChanges() {
+		Owner owner = new Owner( 1L );
+		owner.getItems().add( new Item( 1L, "one" ) );
+		owner.getItems().add( new Item( 2L, "two" ) );
+		owner.getItems().add( new Item( 3L, "three" ) );
+		persist( owner );
+
+		Session s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		final Item two = (Item) s.get( Item.class, 2L );
+		owner.getItems().remove( two );
+		owner.getItems().add( new Item( 4L, "four" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		assertEquals( new HashSet<Long>( Arrays.asList( 1L, 3L, 4L ) ), itemIds( owner.getItems() ) );
+		// orphan removal applies to removed elements
+		assertNull( s.get( Item.class, 2L ) );
+		final Iterator<Item> items = owner.getItems().iterator();
+		while ( items.hasNext() ) {
+			if ( items.next().getId() == 1L ) {
+				items.remove();
+			}
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		assertEquals( new HashSet<Long>( Arrays.asList( 3L, 4L ) ), itemIds( owner.getItems() ) );
+		assertNull( s.get( Item.class, 1L ) );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testSetOfEntitiesWithIdentifierBasedHashCode() {
+		Owner owner = new Owner( 1L );
+		owner.getParticipants().add( new Participant( "one" ) );
+		persist( owner );
+
+		Session s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		// its hashCode() changes when the cascade assigns the identifier during flush
+		owner.getParticipants().add( new Participant( "two" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		final HashSet<String> names = new HashSet<String>();
+		for ( Participant participant : owner.getParticipants() ) {
+			names.add( participant.getName() );
+		}
+		assertEquals( new HashSet<String>( Arrays.asList( "one", "two" ) ), names );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testUnchangedCollectionsAreNotUpdated() {
+		Owner owner = new Owner( 1L );
+		owner.getTags().add( "a" );
+		owner.getLines().add( "a" );
+		owner.getItems().add( new Item( 1L, "one" ) );
+		persist( owner );
+
+		sessionFactory().getStatistics().setStatisticsEnabled( true );
+		sessionFactory().getStatistics().clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		owner = (Owner) s.get( Owner.class, 1L );
+		Hibernate.initialize( owner.getTags() );
+		Hibernate.initialize( owner.getLines() );
+		Hibernate.initialize( owner.getItems() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 0, sessionFactory().getStatistics().getCollectionUpdateCount() );
+		assertEquals( 0, sessionFactory().getStatistics().getCollectionRecreateCount() );
+		sessionFactory().getStatistics().setStatisticsEnabled( false );
+
+		cleanup();
+	}
+
+	private void persist(Owner owner) {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( owner );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private HashSet<String> loadTags() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = (Owner) s.get( Owner.class, 1L );
+		final HashSet<String> tags = new HashSet<String>( owner.getTags() );
+		s.getTransaction().commit();
+		s.close();
+		return tags;
+	}
+
+	private List<String> loadLines() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = (Owner) s.get( Owner.class, 1L );
+		final List<String> lines = new ArrayList<String>( owner.getLines() );
+		s.getTransaction().commit();
+		s.close();
+		return lines;
+	}
+
+	private List<String> loadLabels() {
+		Session s = openSession();
+		s.beginTransaction();
+		final Owner owner = (Owner) s.get( Owner.class, 1L );
+		final List<String> labels = new ArrayList<String>( owner.getLabels() );
+		s.getTransaction().commit();
+		s.close();
+		Collections.sort( labels );
+		return labels;
+	}
+
+	private static HashSet<Long> itemIds(List<Item> items) {
+		final HashSet<Long> ids = new HashSet<Long>();
+		for ( Item item : items ) {
+			ids.add( item.getId() );
+		}
+		return ids;
+	}
+
+	private void cleanup() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( Owner.class, 1L ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.collection.operationlog;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.CascadeType;
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToMany;
+import javax.persistence.OrderColumn;
+
+@Entity
+public class Owner {
+	@Id
+	private Long id;
+
+	@ElementCollection
+	@CollectionTable(name = "OWNER_TAGS")
+	private Set<String> tags = new HashSet<String>();
+
+	@ElementCollection
+	@CollectionTable(name = "OWNER_LINES")
+	@OrderColumn(name = "POSITION")
+	private List<String> lines = new ArrayList<String>();
+
+	@ElementCollection
+	@CollectionTable(name = "OWNER_LABELS")
+	private List<String> labels = new ArrayList<String>();
+
+	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+	@JoinColumn(name = "OWNER_ID")
+	private List<Item> items = new ArrayList<Item>();
+
+	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+	@JoinColumn(name = "OWNER_ID")
+	private Set<Participant> participants = new HashSet<Participant>();
+
+	public Owner() {
+	}
+
+	public Owner(Long id) {
+		this.id = id;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	public List<String> getLines() {
+		return lines;
+	}
+
+	public List<String> getLabels() {
+		return labels;
+	}
+
+	public List<Item> getItems() {
+		return items;
+	}
+
+	public Set<Participant> getParticipants() {
+		return participants;
+	}
+}
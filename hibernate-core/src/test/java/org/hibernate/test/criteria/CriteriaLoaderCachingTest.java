@@ -0,0 +1,101 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.criteria;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Criteria;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that criteria of the same structure share a cached loader when criteria loader caching is enabled.
+ */
+public class CriteriaLoaderCachingTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "criteria/Enrolment.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.QUERY_PLAN_CACHE_CRITERIA_ENABLED, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testSameStructureSharesLoader() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 3; i++ ) {
+			Course course = new Course();
+			course.setCourseCode( "course-" + i );
+			course.setDescription( "Course " + i );
+			s.persist( course );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "Course 1", findByCode( s, "course-1" ).getDescription() );
+		assertEquals( "Course 2", findByCode( s, "course-2" ).getDescription() );
+		assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+		assertEquals( 1, statistics.getQueryPlanCacheHitCount() );
+
+		// a different structure gets its own loader
+		List codes = s.createCriteria( Course.class )
+				.add( Restrictions.like( "description", "Course%" ) )
+				.setProjection( Projections.property( "courseCode" ) )
+				.addOrder( Order.desc( "courseCode" ) )
+				.list();
+		assertEquals( 3, codes.size() );
+		assertEquals( "course-3", codes.get( 0 ) );
+		assertEquals( 2, statistics.getQueryPlanCacheMissCount() );
+
+		s.createQuery( "delete Course" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private Course findByCode(Session s, String code) {
+		final Criteria criteria = s.createCriteria( Course.class )
+				.add( Restrictions.eq( "courseCode", code ) );
+		return (Course) criteria.uniqueResult();
+	}
+}
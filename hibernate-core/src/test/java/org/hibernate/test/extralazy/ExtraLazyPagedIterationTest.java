@@ -0,0 +1,105 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.extralazy;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests iterating extra-lazy collections a page at a time.
+ */
+public class ExtraLazyPagedIterationTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "extralazy/UserGroup.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.EXTRA_LAZY_COLLECTION_PAGE_SIZE, "2" );
+	}
+
+	@Test
+	public void testPagedIteration() {
+		Session s = openSession();
+		s.beginTransaction();
+		User gavin = new User( "gavin", "secret" );
+		for ( int i = 0; i < 5; i++ ) {
+			new Document( "doc" + i, "content " + i, gavin );
+		}
+		s.persist( gavin );
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().setStatisticsEnabled( true );
+		sessionFactory().getStatistics().clear();
+
+		s = openSession();
+		s.beginTransaction();
+		gavin = (User) s.get( User.class, "gavin" );
+		final Set<String> titles = new HashSet<String>();
+		for ( Object document : gavin.getDocuments() ) {
+			titles.add( ( (Document) document ).getTitle() );
+		}
+		assertEquals( 5, titles.size() );
+		assertFalse( Hibernate.isInitialized( gavin.getDocuments() ) );
+		assertEquals( 0, sessionFactory().getStatistics().getCollectionLoadCount() );
+
+		// removing through the iterator behaves like Collection.remove()
+		final Iterator documents = gavin.getDocuments().iterator();
+		while ( documents.hasNext() ) {
+			if ( "doc3".equals( ( (Document) documents.next() ).getTitle() ) ) {
+				documents.remove();
+			}
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		sessionFactory().getStatistics().setStatisticsEnabled( false );
+
+		s = openSession();
+		s.beginTransaction();
+		gavin = (User) s.get( User.class, "gavin" );
+		assertEquals( 4, gavin.getDocuments().size() );
+		assertNull( s.get( Document.class, "doc3" ) );
+		s.delete( gavin );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.List;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that an incremental flush only visits entities which might be dirty.
+ */
+public class IncrementalFlushTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { TrackedDocument.class, UnrelatedEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.INCREMENTAL_FLUSH, "true" );
+	}
+
+	@Test
+	public void testOnlyPossiblyDirtyEntitiesAreVisited() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			TrackedDocument document = new TrackedDocument( "document " + i );
+			document.getTags().add( "draft" );
+			document.getTags().add( "internal" );
+			s.save( document );
+		}
+		UnrelatedEntity unrelated = new UnrelatedEntity();
+		unrelated.setName( "untracked" );
+		s.save( unrelated );
+		s.getTransaction().commit();
+		s.close();
+
+		FlushCounter counter = new FlushCounter();
+		s = sessionFactory().withOptions().eventListeners( counter ).openSession();
+		s.beginTransaction();
+		List<TrackedDocument> documents = s.createQuery( "from TrackedDocument order by id" ).list();
+		for ( TrackedDocument document : documents ) {
+			Hibernate.initialize( document.getTags() );
+		}
+		s.get( UnrelatedEntity.class, unrelated.getId() );
+
+		s.flush();
+		// the untracked entity is always visited, the clean documents never are
+		assertEquals( 1, counter.entities );
+
+		documents.get( 2 ).setTitle( "final" );
+		s.flush();
+		assertEquals( 2, counter.entities );
+
+		s.getTransaction().commit();
+		assertEquals( 1, counter.entities );
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		documents = s.createQuery( "from TrackedDocument order by id" ).list();
+		assertEquals( "final", documents.get( 2 ).getTitle() );
+		for ( TrackedDocument document : documents ) {
+			// the collections of skipped owners must not have been dereferenced
+			assertEquals( 2, document.getTags().size() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testReattachedEntityIsVisited() {
+		Session s = openSession();
+		s.beginTransaction();
+		TrackedDocument document = new TrackedDocument( "original" );
+		s.save( document );
+		s.getTransaction().commit();
+		s.close();
+
+		document.setTitle( "detached change" );
+		// not reported by the instance itself, the reattachment alone has to cause a visit
+		document.$$_hibernate_clearDirtyAttributes();
+
+		s = openSession();
+		s.beginTransaction();
+		s.update( document );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		document = (TrackedDocument) s.get( TrackedDocument.class, document.getId() );
+		assertEquals( "detached change", document.getTitle() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	private void cleanup() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( Object document : s.createQuery( "from TrackedDocument" ).list() ) {
+			s.delete( document );
+		}
+		s.createQuery( "delete UnrelatedEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class FlushCounter extends BaseSessionEventListener {
+		private int entities;
+
+		@Override
+		public void flushEnd(int numberOfEntities, int numberOfCollections) {
+			entities = numberOfEntities;
+		}
+	}
+}
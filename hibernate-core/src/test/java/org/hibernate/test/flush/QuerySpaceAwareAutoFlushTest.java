@@ -0,0 +1,166 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that an auto-flush only visits the entities affecting the spaces of the query.
+ */
+public class QuerySpaceAwareAutoFlushTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { TrackedDocument.class, UnrelatedEntity.class, PurchaseOrder.class, Customer.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.QUERY_SPACE_AWARE_AUTO_FLUSH, "true" );
+	}
+
+	@Test
+	public void testAutoFlushSkipsUnrelatedEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		TrackedDocument document = new TrackedDocument( "draft" );
+		document.getTags().add( "internal" );
+		s.save( document );
+		UnrelatedEntity unrelated = new UnrelatedEntity();
+		unrelated.setName( "draft" );
+		s.save( unrelated );
+		s.getTransaction().commit();
+		s.close();
+
+		PartialFlushCounter counter = new PartialFlushCounter();
+		s = sessionFactory().withOptions().eventListeners( counter ).openSession();
+		s.beginTransaction();
+		document = (TrackedDocument) s.get( TrackedDocument.class, document.getId() );
+		unrelated = (UnrelatedEntity) s.get( UnrelatedEntity.class, unrelated.getId() );
+		document.setTitle( "final" );
+		document.getTags().add( "published" );
+		unrelated.setName( "final" );
+
+		Long count = (Long) s.createQuery( "select count(*) from UnrelatedEntity where name = 'final'" ).uniqueResult();
+		assertEquals( 1L, count.longValue() );
+		assertEquals( 1, counter.entities );
+
+		// the document was left alone by the previous auto-flush, but is flushed for a query on its own tables
+		count = (Long) s.createQuery( "select count(*) from TrackedDocument where title = 'final'" ).uniqueResult();
+		assertEquals( 1L, count.longValue() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		document = (TrackedDocument) s.get( TrackedDocument.class, document.getId() );
+		assertEquals( "final", document.getTitle() );
+		assertEquals( 2, document.getTags().size() );
+		s.delete( document );
+		s.delete( s.get( UnrelatedEntity.class, unrelated.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testAutoFlushCascadesFromSkippedEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		PurchaseOrder order = new PurchaseOrder();
+		s.save( order );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		order = (PurchaseOrder) s.get( PurchaseOrder.class, order.getId() );
+		order.setCustomer( new Customer( "acme" ) );
+
+		// the order is not stored in the queried table, but the customer it cascades to is
+		Long count = (Long) s.createQuery( "select count(*) from Customer" ).uniqueResult();
+		assertEquals( 1L, count.longValue() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanupOrders();
+	}
+
+	@Test
+	public void testAutoFlushOfReplacedCollection() {
+		Session s = openSession();
+		s.beginTransaction();
+		PurchaseOrder order = new PurchaseOrder();
+		order.getNotes().add( "urgent" );
+		s.save( order );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		order = (PurchaseOrder) s.get( PurchaseOrder.class, order.getId() );
+		order.setNotes( new HashSet<String>( Arrays.asList( "urgent", "fragile" ) ) );
+
+		// the new collection instance is not known to the session before the owner is flushed
+		Number count = (Number) s.createSQLQuery( "select count(*) from ORDER_NOTES" )
+				.addSynchronizedQuerySpace( "ORDER_NOTES" )
+				.uniqueResult();
+		assertEquals( 2, count.intValue() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanupOrders();
+	}
+
+	private void cleanupOrders() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( Object order : s.createQuery( "from PurchaseOrder" ).list() ) {
+			s.delete( order );
+		}
+		s.createQuery( "delete Customer" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static class PartialFlushCounter extends BaseSessionEventListener {
+		private int entities;
+
+		@Override
+		public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+			entities = numberOfEntities;
+		}
+	}
+}
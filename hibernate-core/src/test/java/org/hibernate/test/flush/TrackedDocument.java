@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Transient;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+
+/**
+ * Hand-written equivalent of an entity enhanced for dirty tracking.
+ */
+@Entity
+public class TrackedDocument implements SelfDirtinessTracker {
+	@Id
+	@GeneratedValue( generator = "increment" )
+	@GenericGenerator( name = "increment", strategy = "increment" )
+	private Long id;
+
+	private String title;
+
+	@ElementCollection
+	private Set<String> tags = new HashSet<String>();
+
+	@Transient
+	private transient Set<String> dirtyAttributes = new HashSet<String>();
+
+	public TrackedDocument() {
+	}
+
+	public TrackedDocument(String title) {
+		this.title = title;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		if ( this.title == null ? title != null : !this.title.equals( title ) ) {
+			dirtyAttributes.add( "title" );
+		}
+		this.title = title;
+	}
+
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	@Override
+	public boolean $$_hibernate_hasDirtyAttributes() {
+		return !dirtyAttributes.isEmpty();
+	}
+
+	@Override
+	public Set<String> $$_hibernate_getDirtyAttributes() {
+		return dirtyAttributes;
+	}
+
+	@Override
+	public void $$_hibernate_clearDirtyAttributes() {
+		dirtyAttributes.clear();
+	}
+}
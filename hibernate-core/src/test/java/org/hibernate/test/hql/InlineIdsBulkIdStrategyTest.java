@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.hql;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.hql.spi.InlineIdsBulkIdStrategy;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests bulk UPDATE/DELETE against a multi-table hierarchy using {@link InlineIdsBulkIdStrategy}
+ */
+public class InlineIdsBulkIdStrategyTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "hql/Vehicle.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.HQL_BULK_ID_STRATEGY, InlineIdsBulkIdStrategy.SHORT_NAME );
+	}
+
+	@Test
+	public void testInlineUpdateAndDelete() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( vehicle( new Car(), "Steve" ) );
+		s.save( vehicle( new Truck(), "Steve" ) );
+		s.save( vehicle( new SUV(), "Steve" ) );
+		s.save( vehicle( new Pickup(), "Gail" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		int count = s.createQuery( "update Vehicle set owner = :newOwner where owner = :owner" )
+				.setString( "newOwner", "Emmanuel" )
+				.setString( "owner", "Steve" )
+				.executeUpdate();
+		assertEquals( "incorrect update count", 3, count );
+		assertEquals( 3L, s.createQuery( "select count(*) from Vehicle where owner = 'Emmanuel'" ).uniqueResult() );
+
+		count = s.createQuery( "delete Vehicle where owner = :owner" ).setString( "owner", "Emmanuel" ).executeUpdate();
+		assertEquals( "incorrect delete count", 3, count );
+		count = s.createQuery( "delete Vehicle where owner = :owner" ).setString( "owner", "Emmanuel" ).executeUpdate();
+		assertEquals( "incorrect delete count", 0, count );
+		assertEquals( 1L, s.createQuery( "select count(*) from Vehicle" ).uniqueResult() );
+
+		s.createQuery( "delete Vehicle" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static Vehicle vehicle(Vehicle vehicle, String owner) {
+		vehicle.setOwner( owner );
+		return vehicle;
+	}
+}
@@ -3,6 +3,7 @@ package org.hibernate.test.legacy;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -657,6 +658,11 @@ public class CustomPersister implements EntityPersister {
 		return null;
 	}
 
+	@Override
+	public Serializable[] loadEntityIdsByNaturalIds(List<Object[]> naturalIdValues, SessionImplementor session) {
+		return new Serializable[ naturalIdValues.size() ];
+	}
+
 	@Override
 	public Comparator getVersionComparator() {
 		return null;
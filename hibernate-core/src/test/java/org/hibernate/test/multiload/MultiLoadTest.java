@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.multiload;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests {@link org.hibernate.Session#byMultipleIds}.
+ */
+public class MultiLoadTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SimpleEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 12; i++ ) {
+			s.save( new SimpleEntity( i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete SimpleEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testResultsInInputOrder() {
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 5, 99, 1, 12, 5 );
+		assertEquals( 1, stats.getPrepareStatementCount() );
+		assertEquals( 5, list.size() );
+		assertEquals( Integer.valueOf( 5 ), ( (SimpleEntity) list.get( 0 ) ).getId() );
+		assertNull( list.get( 1 ) );
+		assertEquals( Integer.valueOf( 1 ), ( (SimpleEntity) list.get( 2 ) ).getId() );
+		assertEquals( Integer.valueOf( 12 ), ( (SimpleEntity) list.get( 3 ) ).getId() );
+		assertSame( list.get( 0 ), list.get( 4 ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testChunking() {
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List list = s.byMultipleIds( SimpleEntity.class )
+				.withBatchSize( 4 )
+				.multiLoad( Arrays.asList( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 ) );
+		assertEquals( 3, stats.getPrepareStatementCount() );
+		assertEquals( 11, list.size() );
+		for ( int i = 0; i < 11; i++ ) {
+			assertEquals( Integer.valueOf( i + 1 ), ( (SimpleEntity) list.get( i ) ).getId() );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testManagedEntitiesAreNotReloaded() {
+		Statistics stats = sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		SimpleEntity first = (SimpleEntity) s.get( SimpleEntity.class, 1 );
+		SimpleEntity second = (SimpleEntity) s.get( SimpleEntity.class, 2 );
+		stats.clear();
+
+		List list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2 );
+		assertEquals( 0, stats.getPrepareStatementCount() );
+		assertSame( first, list.get( 0 ) );
+		assertSame( second, list.get( 1 ) );
+
+		list = s.byMultipleIds( SimpleEntity.class ).multiLoad( 2, 3 );
+		assertEquals( 1, stats.getPrepareStatementCount() );
+		assertSame( second, list.get( 0 ) );
+		assertEquals( Integer.valueOf( 3 ), ( (SimpleEntity) list.get( 1 ) ).getId() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.naturalid.multiload;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests resolving several natural ids at once and bounding the session natural-id resolution cache.
+ */
+@SuppressWarnings("unchecked")
+public class MultiLoadNaturalIdTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Book.class, Shelf.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.NATURAL_ID_RESOLUTION_CACHE_MAX_SIZE, "2" );
+	}
+
+	@Test
+	public void testSimpleNaturalIdMultiLoad() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Book( 1L, "isbn-1", "First" ) );
+		s.persist( new Book( 2L, "isbn-2", "Second" ) );
+		s.persist( new Book( 3L, "isbn-3", "Third" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List books = s.bySimpleNaturalId( Book.class ).multiLoad( Arrays.asList( "isbn-3", "missing", "isbn-1", "isbn-3" ) );
+		assertEquals( 4, books.size() );
+		assertEquals( "Third", ( (Book) books.get( 0 ) ).getTitle() );
+		assertNull( books.get( 1 ) );
+		assertEquals( "First", ( (Book) books.get( 2 ) ).getTitle() );
+		assertSame( books.get( 0 ), books.get( 3 ) );
+		assertEquals( 1, stats.getNaturalIdQueryExecutionCount() );
+
+		// resolutions are now known to the session; no further query needed
+		books = s.bySimpleNaturalId( Book.class ).multiLoad( Arrays.asList( "isbn-1" ) );
+		assertEquals( "First", ( (Book) books.get( 0 ) ).getTitle() );
+		assertEquals( 1, stats.getNaturalIdQueryExecutionCount() );
+
+		s.createQuery( "delete Book" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCompositeNaturalIdMultiLoad() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Shelf( 1L, "north", 1 ) );
+		s.persist( new Shelf( 2L, "north", 2 ) );
+		s.persist( new Shelf( 3L, "south", 1 ) );
+		s.getTransaction().commit();
+		s.close();
+
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List shelves = s.byNaturalId( Shelf.class ).multiLoad(
+				Arrays.asList( shelf( "south", 1 ), shelf( "south", 2 ), shelf( "north", 2 ) )
+		);
+		assertEquals( 3, shelves.size() );
+		assertEquals( Long.valueOf( 3L ), ( (Shelf) shelves.get( 0 ) ).getId() );
+		assertNull( shelves.get( 1 ) );
+		assertEquals( Long.valueOf( 2L ), ( (Shelf) shelves.get( 2 ) ).getId() );
+		assertEquals( 1, stats.getNaturalIdQueryExecutionCount() );
+
+		s.createQuery( "delete Shelf" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testBoundedResolutionCache() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Book( 1L, "isbn-1", "First" ) );
+		s.persist( new Book( 2L, "isbn-2", "Second" ) );
+		s.persist( new Book( 3L, "isbn-3", "Third" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final EntityPersister persister = sessionFactory().getEntityPersister( Book.class.getName() );
+		final PersistenceContext.NaturalIdHelper naturalIdHelper = ( (SessionImplementor) s ).getPersistenceContext()
+				.getNaturalIdHelper();
+		// resolving references does not make the entities managed, so their resolutions can be discarded
+		for ( int i = 1; i <= 3; i++ ) {
+			s.bySimpleNaturalId( Book.class ).getReference( "isbn-" + i );
+		}
+		assertEquals( 2, naturalIdHelper.getCachedPkResolutions( persister ).size() );
+
+		// an evicted resolution is simply resolved again
+		for ( int i = 1; i <= 3; i++ ) {
+			assertEquals( Long.valueOf( i ), ( (Book) s.bySimpleNaturalId( Book.class ).load( "isbn-" + i ) ).getId() );
+		}
+		// those of managed entities are kept, regardless of the bound
+		assertEquals( 3, naturalIdHelper.getCachedPkResolutions( persister ).size() );
+
+		s.createQuery( "delete Book" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static Map<String, Object> shelf(String room, int position) {
+		final Map<String, Object> naturalId = new HashMap<String, Object>();
+		naturalId.put( "room", room );
+		naturalId.put( "position", position );
+		return naturalId;
+	}
+}
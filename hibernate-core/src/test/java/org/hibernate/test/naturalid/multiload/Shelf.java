@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.naturalid.multiload;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.annotations.NaturalId;
+
+/**
+ * Entity with a natural id spanning two columns.
+ */
+@Entity
+public class Shelf {
+	@Id
+	private Long id;
+	@NaturalId
+	private String room;
+	@NaturalId
+	private int position;
+
+	public Shelf() {
+	}
+
+	public Shelf(Long id, String room, int position) {
+		this.id = id;
+		this.room = room;
+		this.position = position;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getRoom() {
+		return room;
+	}
+
+	public int getPosition() {
+		return position;
+	}
+}
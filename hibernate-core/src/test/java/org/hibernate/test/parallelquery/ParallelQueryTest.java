@@ -0,0 +1,178 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.parallelquery;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.test.multiload.SimpleEntity;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link Session#parallel}.
+ */
+public class ParallelQueryTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SimpleEntity.class, Author.class, Book.class };
+	}
+
+	@Override
+	protected void prepareTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 1; i <= 3; i++ ) {
+			s.save( new SimpleEntity( i ) );
+		}
+		final Author first = new Author( 1, "Author #1" );
+		final Author second = new Author( 2, "Author #2" );
+		s.save( first );
+		s.save( second );
+		s.save( new Book( 1, first ) );
+		s.save( new Book( 2, first ) );
+		s.save( new Book( 3, second ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Override
+	protected void cleanupTest() throws Exception {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete SimpleEntity" ).executeUpdate();
+		s.createQuery( "delete Book" ).executeUpdate();
+		s.createQuery( "delete Author" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testResultsMergedWithSessionIdentity() {
+		final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+		try {
+			Session s = openSession();
+			s.beginTransaction();
+			final SimpleEntity first = (SimpleEntity) s.get( SimpleEntity.class, 1 );
+
+			List<List> results = s.parallel(
+					executor,
+					s.createQuery( "from SimpleEntity where id <= :id order by id" ).setInteger( "id", 2 ),
+					s.createQuery( "select e, e.name from SimpleEntity e where e.id >= 2 order by e.id" )
+			);
+			assertEquals( 2, results.size() );
+
+			final List lowest = results.get( 0 );
+			assertEquals( 2, lowest.size() );
+			assertSame( first, lowest.get( 0 ) );
+
+			final List highest = results.get( 1 );
+			assertEquals( 2, highest.size() );
+			assertSame( lowest.get( 1 ), ( (Object[]) highest.get( 0 ) )[0] );
+			assertEquals( "Entity #3", ( (Object[]) highest.get( 1 ) )[1] );
+
+			final Object third = ( (Object[]) highest.get( 1 ) )[0];
+			assertTrue( s.contains( third ) );
+			assertSame( third, s.get( SimpleEntity.class, 3 ) );
+
+			s.getTransaction().commit();
+			s.close();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testAssociationsMergedWithSessionIdentity() {
+		final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+		try {
+			Session s = openSession();
+			s.beginTransaction();
+			final Author first = (Author) s.get( Author.class, 1 );
+
+			List<List> results = s.parallel(
+					executor,
+					s.createQuery( "select b from Book b join fetch b.author order by b.id" ),
+					s.createQuery( "from Book b where b.id >= 2 order by b.id" )
+			);
+
+			// fetched associations refer to the instances of the owning session
+			final List fetched = results.get( 0 );
+			assertEquals( 3, fetched.size() );
+			assertSame( first, ( (Book) fetched.get( 0 ) ).getAuthor() );
+			assertSame( first, ( (Book) fetched.get( 1 ) ).getAuthor() );
+			final Author second = ( (Book) fetched.get( 2 ) ).getAuthor();
+			assertTrue( s.contains( second ) );
+			assertSame( second, s.get( Author.class, 2 ) );
+
+			// so do the lazy ones, of books replaced by the instances of the first query
+			final List lazy = results.get( 1 );
+			assertEquals( 2, lazy.size() );
+			assertSame( fetched.get( 1 ), lazy.get( 0 ) );
+			assertSame( fetched.get( 2 ), lazy.get( 1 ) );
+
+			assertFalse( s.isDirty() );
+			s.getTransaction().commit();
+			s.close();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testLazyAssociationsReassociated() {
+		final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+		try {
+			Session s = openSession();
+			s.beginTransaction();
+			final Author first = (Author) s.get( Author.class, 1 );
+
+			final List books = s.parallel( executor, s.createQuery( "from Book b order by b.id" ) ).get( 0 );
+			assertEquals( 3, books.size() );
+			assertSame( first, ( (Book) books.get( 0 ) ).getAuthor() );
+			final Author second = ( (Book) books.get( 2 ) ).getAuthor();
+			assertFalse( Hibernate.isInitialized( second ) );
+			assertEquals( "Author #2", second.getName() );
+			assertSame( second, s.load( Author.class, 2 ) );
+
+			assertFalse( s.isDirty() );
+			s.getTransaction().commit();
+			s.close();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -23,16 +23,27 @@
  */
 package org.hibernate.test.queryplan;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
+import org.hibernate.Filter;
 import org.hibernate.Session;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
 import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
 import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -113,4 +124,46 @@ public class GetHqlQueryPlanTest extends BaseCoreFunctionalTestCase {
 
 		s.close();
 	}
+
+	@Test
+	public void testConcurrentMissesCompileOnce() throws Exception {
+		final QueryPlanCache cache = sessionFactory().getQueryPlanCache();
+		final String hql = "from Person p where p.name = :name and p.sex = 'F'";
+		final Map<String,Filter> noFilters = Collections.emptyMap();
+		sessionFactory().getStatistics().setStatisticsEnabled( true );
+		sessionFactory().getStatistics().clear();
+
+		final int threadCount = 8;
+		final CyclicBarrier barrier = new CyclicBarrier( threadCount );
+		final ExecutorService executor = Executors.newFixedThreadPool( threadCount );
+		try {
+			final List<Future<HQLQueryPlan>> plans = new ArrayList<Future<HQLQueryPlan>>();
+			for ( int i = 0; i < threadCount; i++ ) {
+				plans.add(
+						executor.submit(
+								new Callable<HQLQueryPlan>() {
+									@Override
+									public HQLQueryPlan call() throws Exception {
+										barrier.await();
+										return cache.getHQLQueryPlan( hql, false, noFilters );
+									}
+								}
+						)
+				);
+			}
+			final HQLQueryPlan plan = plans.get( 0 ).get();
+			for ( Future<HQLQueryPlan> other : plans ) {
+				assertSame( plan, other.get() );
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+		// threads which waited on the compilation in progress count as neither hit nor miss
+		assertTrue( statistics.getQueryPlanCacheHitCount() <= threadCount - 1 );
+		sessionFactory().getStatistics().setStatisticsEnabled( false );
+	}
 }
@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.queryplan;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.engine.query.internal.QueryPlanManifest;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the persisted query plan manifest used to warm up the query plan cache
+ */
+public class QueryPlanManifestTest extends BaseUnitTestCase {
+	@Test
+	public void testRoundTrip() throws Exception {
+		final File file = File.createTempFile( "query-plans", ".manifest" );
+		file.deleteOnExit();
+
+		final QueryPlanManifest manifest = new QueryPlanManifest( file, 10 );
+		manifest.record( "from Person" );
+		manifest.record( "from Person p\nwhere p.name like :name escape :escape" );
+		manifest.close();
+
+		final List<String> queries = new QueryPlanManifest( file, 10 ).read();
+		assertEquals( 2, queries.size() );
+		assertTrue( queries.contains( "from Person" ) );
+		assertTrue( queries.contains( "from Person p\nwhere p.name like :name escape :escape" ) );
+	}
+
+	@Test
+	public void testWrittenAsRecorded() throws Exception {
+		final File file = File.createTempFile( "query-plans", ".manifest" );
+		file.deleteOnExit();
+
+		final QueryPlanManifest manifest = new QueryPlanManifest( file, 10 );
+		manifest.record( "from Person" );
+		try {
+			assertEquals( Arrays.asList( "from Person" ), new QueryPlanManifest( file, 10 ).read() );
+		}
+		finally {
+			manifest.close();
+		}
+	}
+
+	@Test
+	public void testQueriesWithLiteralsNotRecorded() throws Exception {
+		final File file = File.createTempFile( "query-plans", ".manifest" );
+		file.deleteOnExit();
+
+		final QueryPlanManifest manifest = new QueryPlanManifest( file, 10 );
+		manifest.record( "from Person p where p.name = 'Gavin'" );
+		manifest.record( "from Person p where p.id = 42" );
+		manifest.record( "from Person2 p where p.id = ?1 or p.name = :name1" );
+		manifest.close();
+
+		assertEquals(
+				Arrays.asList( "from Person2 p where p.id = ?1 or p.name = :name1" ),
+				new QueryPlanManifest( file, 10 ).read()
+		);
+	}
+
+	@Test
+	public void testMaxSize() throws Exception {
+		final File file = File.createTempFile( "query-plans", ".manifest" );
+		file.deleteOnExit();
+
+		final QueryPlanManifest manifest = new QueryPlanManifest( file, 1 );
+		manifest.record( "from Person" );
+		manifest.record( "from Customer" );
+		manifest.close();
+
+		assertEquals( 1, new QueryPlanManifest( file, 1 ).read().size() );
+	}
+
+	@Test
+	public void testMissingFile() {
+		final File file = new File( System.getProperty( "java.io.tmpdir" ), "no-such-query-plans.manifest" );
+		file.delete();
+		assertTrue( new QueryPlanManifest( file, 10 ).read().isEmpty() );
+	}
+}
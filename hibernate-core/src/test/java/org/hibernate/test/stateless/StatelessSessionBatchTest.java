@@ -0,0 +1,116 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stateless;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.JDBCException;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class StatelessSessionBatchTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "stateless/Document.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, "10" );
+	}
+
+	@Test
+	public void testBatchedInsertsVisibleToQueriesAndAfterFlushBatch() {
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			ss.insert( new Document( "text " + i, "Doc" + i ) );
+		}
+		// the query executes the pending batch first
+		List docs = ss.createQuery( "from Document" ).list();
+		assertEquals( 5, docs.size() );
+
+		for ( int i = 5; i < 8; i++ ) {
+			ss.insert( new Document( "text " + i, "Doc" + i ) );
+		}
+		ss.flushBatch();
+		tx.commit();
+		ss.close();
+
+		ss = sessionFactory().openStatelessSession();
+		tx = ss.beginTransaction();
+		assertEquals( 8, ss.createQuery( "from Document" ).list().size() );
+		ss.createQuery( "delete Document" ).executeUpdate();
+		tx.commit();
+		ss.close();
+	}
+
+	@Test
+	public void testPendingBatchDiscardedOnRollback() {
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		for ( int i = 0; i < 3; i++ ) {
+			ss.insert( new Document( "text " + i, "Doc" + i ) );
+		}
+		tx.rollback();
+		ss.close();
+
+		ss = sessionFactory().openStatelessSession();
+		tx = ss.beginTransaction();
+		assertEquals( 0, ss.createQuery( "from Document" ).list().size() );
+		tx.commit();
+		ss.close();
+	}
+
+	@Test
+	public void testFailingPendingBatchOnClose() {
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		ss.beginTransaction();
+		ss.insert( new Document( "text", "Doc" ) );
+		ss.insert( new Document( "duplicate", "Doc" ) );
+		try {
+			ss.close();
+			fail( "the pending batch should have failed" );
+		}
+		catch (JDBCException expected) {
+		}
+		assertFalse( ss.isOpen() );
+
+		ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		ss.createQuery( "delete Document" ).executeUpdate();
+		tx.commit();
+		ss.close();
+	}
+}
@@ -29,6 +29,8 @@ import java.util.List;
 import org.junit.Test;
 
 import org.hibernate.FetchMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
@@ -85,6 +87,58 @@ public class StatelessSessionQueryTest extends BaseCoreFunctionalTestCase {
 		testData.cleanData();
 	}
 
+	@Test
+	public void testScrollWithRecycledEntitiesResolvesAssociations() {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		Country country = new Country();
+		session.save( country );
+		Org first = new Org();
+		first.setCountry( country );
+		session.save( first );
+		Org second = new Org();
+		second.setCountry( country );
+		session.save( second );
+		Contact firstContact = new Contact();
+		firstContact.setOrg( first );
+		session.save( firstContact );
+		Contact secondContact = new Contact();
+		secondContact.setOrg( second );
+		session.save( secondContact );
+		tx.commit();
+		session.close();
+
+		StatelessSession s = sessionFactory().openStatelessSession();
+		s.setRecycleScrolledEntities( true );
+		tx = s.beginTransaction();
+		// the org instance of each row is reused by the next one, while the contacts reference both orgs
+		ScrollableResults sr = s.createQuery( "select o, c from Org o, Contact c order by c.id, o.id" )
+				.scroll( ScrollMode.FORWARD_ONLY );
+		int rows = 0;
+		while ( sr.next() ) {
+			final Org org = (Org) sr.get( 0 );
+			final Contact contact = (Contact) sr.get( 1 );
+			assertEquals( rows % 2 == 0 ? first.getId() : second.getId(), org.getId() );
+			assertEquals(
+					rows < 2 ? first.getId() : second.getId(),
+					contact.getOrg().getId()
+			);
+			rows++;
+		}
+		sr.close();
+		assertEquals( 4, rows );
+		tx.commit();
+		s.close();
+
+		session = openSession();
+		tx = session.beginTransaction();
+		session.createQuery( "delete Contact" ).executeUpdate();
+		session.createQuery( "delete Org" ).executeUpdate();
+		session.createQuery( "delete Country" ).executeUpdate();
+		tx.commit();
+		session.close();
+	}
+
 	private class TestData{
 		List list = new ArrayList();
 		public void createData(){
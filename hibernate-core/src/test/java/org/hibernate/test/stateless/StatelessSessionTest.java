@@ -24,6 +24,7 @@
 package org.hibernate.test.stateless;
 
 import java.util.Date;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -36,6 +37,8 @@ import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Gavin King
@@ -107,6 +110,43 @@ public class StatelessSessionTest extends BaseCoreFunctionalTestCase {
 		ss.close();
 	}
 
+	@Test
+	public void testScrollRecyclingEntities() {
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		Transaction tx = ss.beginTransaction();
+		ss.insert( new Document( "first text", "Doc1" ) );
+		ss.insert( new Document( "second text", "Doc2" ) );
+		ss.insert( new Document( "third text", "Doc3" ) );
+		tx.commit();
+
+		ss.setRecycleScrolledEntities( true );
+		tx = ss.beginTransaction();
+		ScrollableResults sr = ss.createQuery( "from Document order by name" ).scroll( ScrollMode.FORWARD_ONLY );
+		assertTrue( sr.next() );
+		Document first = (Document) sr.get( 0 );
+		assertEquals( "Doc1", first.getName() );
+		assertEquals( "first text", first.getText() );
+		assertTrue( sr.next() );
+		Document second = (Document) sr.get( 0 );
+		assertSame( first, second );
+		assertEquals( "Doc2", second.getName() );
+		assertEquals( "second text", second.getText() );
+		assertTrue( sr.next() );
+		assertEquals( "Doc3", ( (Document) sr.get( 0 ) ).getName() );
+		sr.close();
+
+		// lists are unaffected
+		List docs = ss.createQuery( "from Document order by name" ).list();
+		assertEquals( 3, docs.size() );
+		assertNotSame( docs.get( 0 ), docs.get( 1 ) );
+		tx.commit();
+
+		tx = ss.beginTransaction();
+		ss.createQuery( "delete Document" ).executeUpdate();
+		tx.commit();
+		ss.close();
+	}
+
 	@Test
 	public void testHqlBulk() {
 		StatelessSession ss = sessionFactory().openStatelessSession();
@@ -454,6 +454,15 @@ public interface AvailableSettings {
 	@Deprecated
 	String CONFIGURATION_JNDI_NAME = "hibernate.ejb.configuration_jndi_name";
 
+	/**
+	 * Defines how literal values in criteria queries are rendered: {@code auto} (the default) inlines numeric
+	 * literals and binds all others as parameters, {@code bind} binds every literal outside the select clause so
+	 * that criteria queries of the same shape share one compiled query plan.
+	 *
+	 * @see org.hibernate.jpa.criteria.compile.LiteralHandlingMode
+	 */
+	String CRITERIA_LITERAL_HANDLING_MODE = "hibernate.criteria.literal_handling_mode";
+
 	/**
 	 * Used to determine flush mode.
 	 */
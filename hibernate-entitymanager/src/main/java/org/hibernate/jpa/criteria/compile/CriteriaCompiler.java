@@ -43,14 +43,21 @@ import org.hibernate.type.Type;
  * <p/>
  * NOTE : This is a temporary implementation which simply translates the criteria query into a JPAQL query string.  A
  * better, long-term solution is being implemented as part of refactoring the JPAQL/HQL translator.
+ * <p/>
+ * Every criteria query is rendered anew; there is no cache keyed by the structure of the criteria tree.  Criteria
+ * queries rendering to the same JPAQL share its translation through the
+ * {@link org.hibernate.engine.query.spi.QueryPlanCache}, which with {@link LiteralHandlingMode#BIND} also covers
+ * queries differing only in their literals.
  *
  * @author Steve Ebersole
  */
 public class CriteriaCompiler implements Serializable {
 	private final HibernateEntityManagerImplementor entityManager;
+	private final LiteralHandlingMode literalHandlingMode;
 
 	public CriteriaCompiler(HibernateEntityManagerImplementor entityManager) {
 		this.entityManager = entityManager;
+		this.literalHandlingMode = LiteralHandlingMode.interpret( entityManager.getFactory().getProperties() );
 	}
 
 	public Query compile(CompilableCriteria criteria) {
@@ -131,6 +138,11 @@ public class CriteriaCompiler implements Serializable {
 				return parameterName;
 			}
 
+			@Override
+			public LiteralHandlingMode getLiteralHandlingMode() {
+				return literalHandlingMode;
+			}
+
 			public String getCastType(Class javaType) {
 				SessionFactoryImplementor factory =
 						( SessionFactoryImplementor ) entityManager.getFactory().getSessionFactory();
@@ -0,0 +1,77 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.criteria.compile;
+
+import java.util.Map;
+
+import org.hibernate.jpa.AvailableSettings;
+
+/**
+ * Defines how literal values in a criteria query are rendered into the interpreted JPA-QL.
+ *
+ * @see AvailableSettings#CRITERIA_LITERAL_HANDLING_MODE
+ */
+public enum LiteralHandlingMode {
+	/**
+	 * Numeric literals are rendered inline; all others are bound as parameters.  This is the default.
+	 */
+	AUTO,
+
+	/**
+	 * All literals outside of the select clause are bound as parameters, so that criteria queries which differ
+	 * only in their literal values render to the same JPA-QL and share a single compiled query plan.
+	 */
+	BIND;
+
+	/**
+	 * Alias for {@link LiteralHandlingMode#valueOf(String)} using upper-case version of the incoming name.
+	 *
+	 * @param name The name to parse
+	 *
+	 * @return The matched enum value.
+	 */
+	public static LiteralHandlingMode parse(final String name) {
+		return LiteralHandlingMode.valueOf( name.trim().toUpperCase() );
+	}
+
+	/**
+	 * Resolve the literal handling mode from the given configuration values.
+	 *
+	 * @param configurationValues The configuration values
+	 *
+	 * @return The configured mode, {@link #AUTO} if none is configured.
+	 */
+	public static LiteralHandlingMode interpret(Map configurationValues) {
+		final Object setting = configurationValues == null
+				? null
+				: configurationValues.get( AvailableSettings.CRITERIA_LITERAL_HANDLING_MODE );
+		if ( setting == null ) {
+			return AUTO;
+		}
+		if ( setting instanceof LiteralHandlingMode ) {
+			return (LiteralHandlingMode) setting;
+		}
+		return parse( setting.toString() );
+	}
+}
@@ -57,6 +57,13 @@ public interface RenderingContext {
 	 */
 	public String registerLiteralParameterBinding(Object literal, Class javaType);
 
+	/**
+	 * How literal values should be rendered.
+	 *
+	 * @return The literal handling mode
+	 */
+	public LiteralHandlingMode getLiteralHandlingMode();
+
 	/**
 	 * Given a java type, determine the proper cast type name.
 	 *
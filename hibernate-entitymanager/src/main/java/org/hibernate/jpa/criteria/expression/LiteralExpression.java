@@ -28,6 +28,7 @@ import java.io.Serializable;
 import org.hibernate.jpa.criteria.CriteriaBuilderImpl;
 import org.hibernate.jpa.criteria.ParameterRegistry;
 import org.hibernate.jpa.criteria.ValueHandlerFactory;
+import org.hibernate.jpa.criteria.compile.LiteralHandlingMode;
 import org.hibernate.jpa.criteria.compile.RenderingContext;
 
 /**
@@ -63,7 +64,8 @@ public class LiteralExpression<T> extends ExpressionImpl<T> implements Serializa
 
 	@SuppressWarnings({ "unchecked" })
 	public String render(RenderingContext renderingContext) {
-		if ( ValueHandlerFactory.isNumeric( literal ) ) {
+		if ( renderingContext.getLiteralHandlingMode() == LiteralHandlingMode.AUTO
+				&& ValueHandlerFactory.isNumeric( literal ) ) {
 			return ValueHandlerFactory.determineAppropriateHandler( (Class) literal.getClass() ).render( literal );
 		}
 
@@ -0,0 +1,94 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jpa.test.criteria;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.junit.Test;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.jpa.AvailableSettings;
+import org.hibernate.jpa.internal.EntityManagerFactoryImpl;
+import org.hibernate.jpa.test.BaseEntityManagerFunctionalTestCase;
+import org.hibernate.jpa.test.metamodel.Product;
+import org.hibernate.jpa.test.metamodel.Product_;
+import org.hibernate.jpa.test.metamodel.ShelfLife;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that criteria queries differing only in numeric literals share a query plan when literals are bound.
+ */
+public class LiteralHandlingModeTest extends BaseEntityManagerFunctionalTestCase {
+	@Override
+	public Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class, ShelfLife.class };
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	protected void addConfigOptions(Map options) {
+		options.put( Environment.GENERATE_STATISTICS, "true" );
+		options.put( AvailableSettings.CRITERIA_LITERAL_HANDLING_MODE, "bind" );
+	}
+
+	@Test
+	public void testNumericLiteralsAreBound() {
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		em.persist( new Product( "p1", "Product 1", 1.0d, 1, 1L ) );
+		em.persist( new Product( "p2", "Product 2", 2.0d, 10, 2L ) );
+		em.getTransaction().commit();
+		em.close();
+
+		final Statistics statistics = ( (EntityManagerFactoryImpl) entityManagerFactory() ).getSessionFactory()
+				.getStatistics();
+		statistics.clear();
+
+		em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		assertEquals( 2, findProductsWithQuantityAbove( em, 0 ).size() );
+		assertEquals( 1, findProductsWithQuantityAbove( em, 5 ).size() );
+		assertEquals( 0, findProductsWithQuantityAbove( em, 50 ).size() );
+		assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+
+		em.createQuery( "delete from Product" ).executeUpdate();
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	private List<Product> findProductsWithQuantityAbove(EntityManager em, int quantity) {
+		final CriteriaBuilder builder = em.getCriteriaBuilder();
+		final CriteriaQuery<Product> criteria = builder.createQuery( Product.class );
+		final Root<Product> root = criteria.from( Product.class );
+		criteria.where( builder.gt( root.get( Product_.quantity ), builder.literal( quantity ) ) );
+		return em.createQuery( criteria ).getResultList();
+	}
+}
@@ -23,6 +23,7 @@ package org.hibernate.jpa.test.ejb3configuration;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.persistence.EntityManagerFactory;
@@ -287,6 +288,11 @@ public class PersisterClassProviderTest {
 				SessionImplementor session) {
 			return null;
 		}
+
+		@Override
+		public Serializable[] loadEntityIdsByNaturalIds(List<Object[]> naturalIdValues, SessionImplementor session) {
+			return new Serializable[ naturalIdValues.size() ];
+		}
 		
 		@Override
         public boolean hasNaturalIdCache() {